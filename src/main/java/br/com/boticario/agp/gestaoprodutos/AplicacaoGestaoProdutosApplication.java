@@ -4,10 +4,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import br.com.boticario.agp.gestaoprodutos.config.JwtProperties;
+import br.com.boticario.agp.gestaoprodutos.config.ProductCacheProperties;
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties;
+import br.com.boticario.agp.gestaoprodutos.config.ProductSearchProperties;
 
 @SpringBootApplication
         (scanBasePackages = "br.com.boticario.agp.gestaoprodutos")
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({JwtProperties.class, ProductImportProperties.class, ProductSearchProperties.class,
+        ProductCacheProperties.class})
 public class AplicacaoGestaoProdutosApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,121 @@
+package br.com.boticario.agp.gestaoprodutos.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuração do processamento assíncrono da aplicação.
+ */
+@Slf4j
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * Executor dedicado à importação de arquivos de produtos.
+     * A fila é limitada e, quando cheia, a tarefa é executada na thread que a submeteu,
+     * aplicando contrapressão em vez de descartar arquivos.
+     *
+     * @param importProperties Propriedades da importação
+     * @return Executor de importação
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importExecutor(ProductImportProperties importProperties) {
+        ProductImportProperties.Executor config = importProperties.executor();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.corePoolSize());
+        executor.setMaxPoolSize(config.maxPoolSize());
+        executor.setQueueCapacity(config.queueCapacity());
+        executor.setThreadNamePrefix(config.threadNamePrefix());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        log.info("Executor de importação configurado: core={}, max={}, fila={}",
+                config.corePoolSize(), config.maxPoolSize(), config.queueCapacity());
+        return executor;
+    }
+
+    /**
+     * Executor das importações por upload, separado do executor de importação para que uploads não
+     * disputem threads com a carga completa. Com as threads ocupadas e a fila cheia, a tarefa é recusada
+     * ({@link ThreadPoolExecutor.AbortPolicy}) e a requisição responde 503: rodar a importação na thread
+     * chamadora a prenderia à requisição HTTP até o fim da carga.
+     *
+     * @param importProperties Propriedades da importação
+     * @return Executor de uploads
+     */
+    @Bean
+    public ThreadPoolTaskExecutor uploadExecutor(ProductImportProperties importProperties) {
+        ProductImportProperties.Upload config = importProperties.upload();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.threads());
+        executor.setMaxPoolSize(config.threads());
+        executor.setQueueCapacity(config.queueCapacity());
+        executor.setThreadNamePrefix(importProperties.executor().threadNamePrefix() + "upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        log.info("Executor de uploads configurado: threads={}, fila={}", config.threads(), config.queueCapacity());
+        return executor;
+    }
+
+    /**
+     * Executor das threads de gravação do pipeline de importação.
+     * Cada arquivo em leitura ocupa uma thread de gravação; a fila não é limitada porque o número de
+     * tarefas pendentes não passa do número de arquivos submetidos, e rejeitar uma tarefa de gravação
+     * deixaria a leitura do arquivo esperando por uma fila que ninguém consome.
+     *
+     * @param importProperties Propriedades da importação
+     * @return Executor de gravação
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importWriterExecutor(ProductImportProperties importProperties) {
+        int writerThreads = importProperties.pipeline().writerThreads() > 0
+                ? importProperties.pipeline().writerThreads()
+                : importProperties.executor().maxPoolSize();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(writerThreads);
+        executor.setMaxPoolSize(writerThreads);
+        executor.setThreadNamePrefix(importProperties.executor().threadNamePrefix() + "writer-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        log.info("Executor de gravação da importação configurado: threads={}, lotes na fila por arquivo={}",
+                writerThreads, importProperties.pipeline().queueCapacity());
+        return executor;
+    }
+
+    /**
+     * Pool que lê em paralelo os trechos de um mesmo arquivo NDJSON ou CSV.
+     * É separado do pool comum do ForkJoin porque a leitura bloqueia em E/S e na fila de gravação.
+     *
+     * @param importProperties Propriedades da importação
+     * @return Pool de leitura por trechos
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool importParsePool(ProductImportProperties importProperties) {
+        int parseThreads = importProperties.pipeline().parseThreads();
+        String threadNamePrefix = importProperties.executor().threadNamePrefix() + "parse-";
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(threadNamePrefix + thread.getPoolIndex());
+            return thread;
+        };
+
+        log.info("Pool de leitura por trechos configurado: threads={}, tamanho mínimo do trecho={}",
+                parseThreads, importProperties.pipeline().segmentSize());
+        return new ForkJoinPool(parseThreads, threadFactory, null, false);
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.boticario.agp.gestaoprodutos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Propriedades de configuração do cache de produtos por ID ({@code GET /api/v1/products/{id}}).
+ *
+ * @param enabled Indica se os produtos são mantidos em cache
+ * @param ttl Tempo máximo de uma entrada a partir da leitura do banco: limite da defasagem para alterações
+ *            que não passam por esta instância (outras instâncias, SQL direto)
+ * @param maximumSize Quantidade máxima de produtos em cache; os menos usados são descartados primeiro
+ */
+@ConfigurationProperties(prefix = "product-cache")
+public record ProductCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    Duration ttl,
+    int maximumSize
+) {
+
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(60);
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    public ProductCacheProperties {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            ttl = DEFAULT_TTL;
+        }
+        if (maximumSize <= 0) {
+            maximumSize = DEFAULT_MAXIMUM_SIZE;
+        }
+    }
+
+    /**
+     * Cria as propriedades com os valores padrão.
+     *
+     * @return Propriedades com valores padrão
+     */
+    public static ProductCacheProperties defaults() {
+        return new ProductCacheProperties(true, null, 0);
+    }
+}
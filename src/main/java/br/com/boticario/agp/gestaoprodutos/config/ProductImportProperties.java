@@ -0,0 +1,310 @@
+package br.com.boticario.agp.gestaoprodutos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Propriedades de configuração da importação de produtos a partir de arquivos.
+ *
+ * @param chunkSize Quantidade máxima de produtos mantidos em memória antes de serem enviados para persistência
+ * @param runOnStartup Indica se a carga dos arquivos deve ser iniciada quando a aplicação ficar pronta
+ * @param requiredForReadiness Indica se a instância só deve ser considerada pronta (readiness) depois que a carga
+ *                             iniciada na subida terminar; uma carga com falha não mantém a instância fora do ar
+ * @param loader Estratégia usada para gravar os produtos importados no banco de dados
+ * @param onConflict O que fazer com produtos (nome, tipo) que já existem no banco, nas estratégias baseadas em ON CONFLICT
+ * @param skipUnchangedFiles Indica se arquivos já importados com o mesmo conteúdo (tamanho e hash) devem ser ignorados
+ * @param sources Padrões de localização dos arquivos carregados pela carga completa, como
+ *                {@code classpath:data/data_*.json} ou {@code file:/var/data/catalog/*.json}
+ * @param readMode Forma de leitura dos arquivos que estão no sistema de arquivos
+ * @param executor Configuração do pool de threads usado para processar os arquivos em paralelo
+ * @param watch Configuração do diretório monitorado para ingestão contínua de novos arquivos
+ * @param pipeline Configuração das etapas de leitura e gravação, ligadas por filas limitadas
+ * @param sync Configuração do modo de sincronização, em que a carga completa passa a ser o estado desejado do catálogo
+ * @param upload Configuração das importações de arquivos enviados por upload
+ */
+@ConfigurationProperties(prefix = "product-import")
+public record ProductImportProperties(
+    int chunkSize,
+    @DefaultValue("true") boolean runOnStartup,
+    @DefaultValue("false") boolean requiredForReadiness,
+    @DefaultValue("JDBC_BATCH") Loader loader,
+    @DefaultValue("KEEP_EXISTING") OnConflict onConflict,
+    @DefaultValue("true") boolean skipUnchangedFiles,
+    @DefaultValue(DEFAULT_SOURCE) List<String> sources,
+    @DefaultValue("STREAM") ReadMode readMode,
+    @DefaultValue Executor executor,
+    @DefaultValue Watch watch,
+    @DefaultValue Pipeline pipeline,
+    @DefaultValue Sync sync,
+    @DefaultValue Upload upload
+) {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    public static final String DEFAULT_SOURCE = "classpath:data/data_*.json";
+
+    public ProductImportProperties {
+        if (chunkSize <= 0) {
+            chunkSize = DEFAULT_CHUNK_SIZE;
+        }
+        if (loader == null) {
+            loader = Loader.JDBC_BATCH;
+        }
+        if (onConflict == null) {
+            onConflict = OnConflict.KEEP_EXISTING;
+        }
+        if (sources == null || sources.isEmpty()) {
+            sources = List.of(DEFAULT_SOURCE);
+        }
+        if (readMode == null) {
+            readMode = ReadMode.STREAM;
+        }
+        if (executor == null) {
+            executor = new Executor(0, 0, 0, null);
+        }
+        if (watch == null) {
+            watch = new Watch(false, null, null, null, null, null);
+        }
+        if (pipeline == null) {
+            pipeline = new Pipeline(true, 0, 0, 0, null);
+        }
+        if (sync == null) {
+            sync = new Sync(false, false);
+        }
+        if (upload == null) {
+            upload = new Upload(0, 0, null);
+        }
+    }
+
+    /**
+     * Cria as propriedades com os valores padrão.
+     *
+     * @return Propriedades com valores padrão
+     */
+    public static ProductImportProperties defaults() {
+        return new ProductImportProperties(DEFAULT_CHUNK_SIZE, true, false, Loader.JDBC_BATCH, OnConflict.KEEP_EXISTING, true, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Estratégias de gravação dos produtos importados.
+     */
+    public enum Loader {
+        /**
+         * Consulta os pares (nome, tipo) já existentes e insere os novos em lotes JDBC.
+         */
+        JDBC_BATCH,
+        /**
+         * Envia os produtos via COPY para uma tabela temporária e os mescla em {@code products}
+         * com INSERT ... ON CONFLICT. Indicado para recargas completas do catálogo.
+         */
+        COPY,
+        /**
+         * Grava cada lote com um único INSERT ... ON CONFLICT, sem consultar antes os produtos existentes.
+         * A unicidade fica a cargo de {@code uk_products_name_type}, o que torna a carga idempotente
+         * e segura com várias instâncias importando ao mesmo tempo.
+         */
+        UPSERT
+    }
+
+    /**
+     * Tratamento de produtos já cadastrados nas estratégias {@link Loader#COPY} e {@link Loader#UPSERT}.
+     * A estratégia {@link Loader#JDBC_BATCH} sempre mantém os valores existentes.
+     */
+    public enum OnConflict {
+        /**
+         * Mantém o produto existente sem alterações (ON CONFLICT DO NOTHING).
+         */
+        KEEP_EXISTING,
+        /**
+         * Atualiza preço e quantidade do produto existente com os valores do arquivo (ON CONFLICT DO UPDATE).
+         */
+        REFRESH
+    }
+
+    /**
+     * Formas de leitura dos arquivos de produtos.
+     * Arquivos empacotados no JAR não estão no sistema de arquivos e são sempre lidos como stream.
+     */
+    public enum ReadMode {
+        /**
+         * Lê o arquivo pelo InputStream do recurso.
+         */
+        STREAM,
+        /**
+         * Mapeia o arquivo em memória e entrega ao parser os bytes direto do cache de páginas do sistema operacional.
+         * O arquivo não pode ser truncado durante a leitura, o que tornaria as páginas mapeadas inválidas.
+         */
+        MEMORY_MAPPED
+    }
+
+    /**
+     * Configuração do executor de importação.
+     * Valores não informados assumem o número de processadores disponíveis.
+     *
+     * @param corePoolSize Número de threads mantidas no pool
+     * @param maxPoolSize Número máximo de threads no pool
+     * @param queueCapacity Capacidade da fila de tarefas pendentes; quando cheia, a tarefa roda na thread chamadora
+     * @param threadNamePrefix Prefixo do nome das threads, para identificação em logs e thread dumps
+     */
+    public record Executor(
+        int corePoolSize,
+        int maxPoolSize,
+        int queueCapacity,
+        String threadNamePrefix
+    ) {
+
+        public static final int DEFAULT_QUEUE_CAPACITY = 100;
+        public static final String DEFAULT_THREAD_NAME_PREFIX = "product-import-";
+
+        public Executor {
+            if (corePoolSize <= 0) {
+                corePoolSize = Runtime.getRuntime().availableProcessors();
+            }
+            if (maxPoolSize < corePoolSize) {
+                maxPoolSize = corePoolSize;
+            }
+            if (queueCapacity <= 0) {
+                queueCapacity = DEFAULT_QUEUE_CAPACITY;
+            }
+            if (threadNamePrefix == null || threadNamePrefix.isBlank()) {
+                threadNamePrefix = DEFAULT_THREAD_NAME_PREFIX;
+            }
+        }
+    }
+
+    /**
+     * Configuração do diretório monitorado. Arquivos que chegam ao diretório são importados assim que
+     * são criados e depois movidos para o diretório de processados ou, se não puderem ser lidos, de falhas.
+     * Os produtores devem gravar o arquivo com outro nome (por exemplo {@code .tmp}) e renomeá-lo ao final,
+     * para que arquivos incompletos não correspondam a {@code filePattern}.
+     *
+     * @param enabled Indica se o diretório deve ser monitorado
+     * @param directory Diretório de entrada monitorado
+     * @param processedDirectory Destino dos arquivos importados; por padrão {@code <directory>/processed}
+     * @param failedDirectory Destino dos arquivos com erro de leitura; por padrão {@code <directory>/failed}
+     * @param filePattern Padrão glob dos nomes de arquivo aceitos
+     * @param rescanInterval Intervalo entre as varreduras do diretório de entrada, que tentam novamente os arquivos
+     *                       mantidos por falha de banco e recuperam eventos perdidos
+     */
+    public record Watch(
+        boolean enabled,
+        String directory,
+        String processedDirectory,
+        String failedDirectory,
+        String filePattern,
+        Duration rescanInterval
+    ) {
+
+        public static final String DEFAULT_FILE_PATTERN = "*.{json,ndjson,jsonl,csv}";
+        public static final Duration DEFAULT_RESCAN_INTERVAL = Duration.ofMinutes(1);
+
+        public Watch {
+            if (directory != null && !directory.isBlank()) {
+                if (processedDirectory == null || processedDirectory.isBlank()) {
+                    processedDirectory = Path.of(directory, "processed").toString();
+                }
+                if (failedDirectory == null || failedDirectory.isBlank()) {
+                    failedDirectory = Path.of(directory, "failed").toString();
+                }
+            }
+            if (filePattern == null || filePattern.isBlank()) {
+                filePattern = DEFAULT_FILE_PATTERN;
+            }
+            if (rescanInterval == null || rescanInterval.isZero() || rescanInterval.isNegative()) {
+                rescanInterval = DEFAULT_RESCAN_INTERVAL;
+            }
+        }
+    }
+
+    /**
+     * Configuração do pipeline de importação. A thread que lê o arquivo valida os produtos e entrega
+     * cada lote a uma fila limitada, consumida por uma thread de gravação; assim o parsing do próximo
+     * lote acontece enquanto o anterior é gravado. Com a fila cheia, a leitura espera pela gravação,
+     * e a memória ocupada por arquivo fica limitada a {@code (queueCapacity + 2) * chunkSize} produtos.
+     *
+     * @param enabled Indica se leitura e gravação rodam em threads separadas; se desabilitado, cada lote
+     *                é gravado pela própria thread de leitura
+     * @param queueCapacity Lotes lidos que podem aguardar gravação, por arquivo
+     * @param writerThreads Threads de gravação; por padrão, uma para cada thread de leitura ({@code executor.max-pool-size})
+     * @param parseThreads Threads que leem em paralelo os segmentos de um mesmo arquivo NDJSON ou CSV;
+     *                     por padrão, o número de processadores disponíveis. Com 1, cada arquivo é lido por uma única thread
+     * @param segmentSize Tamanho mínimo de cada segmento; arquivos menores que dois segmentos não são divididos
+     */
+    public record Pipeline(
+        boolean enabled,
+        int queueCapacity,
+        int writerThreads,
+        int parseThreads,
+        DataSize segmentSize
+    ) {
+
+        public static final int DEFAULT_QUEUE_CAPACITY = 4;
+        public static final DataSize DEFAULT_SEGMENT_SIZE = DataSize.ofMegabytes(64);
+
+        public Pipeline {
+            if (queueCapacity <= 0) {
+                queueCapacity = DEFAULT_QUEUE_CAPACITY;
+            }
+            if (parseThreads <= 0) {
+                parseThreads = Runtime.getRuntime().availableProcessors();
+            }
+            if (segmentSize == null || segmentSize.toBytes() <= 0) {
+                segmentSize = DEFAULT_SEGMENT_SIZE;
+            }
+        }
+    }
+
+    /**
+     * Configuração do modo de sincronização do catálogo. Em vez de gravar cada lote lido, a carga completa
+     * envia todos os arquivos via COPY para uma tabela de staging e, ao final, percorre staging e
+     * {@code products} ordenados pela chave (nome, tipo), intercalando os dois lados como em um merge join.
+     * Só são gravados os produtos novos, os que tiveram algum valor alterado e, se habilitado, os removidos.
+     * Nenhum dos lados é carregado inteiro em memória.
+     *
+     * @param enabled Indica se a carga completa sincroniza o catálogo em vez de apenas acrescentar produtos
+     * @param deleteMissing Indica se produtos que não estão em nenhum arquivo devem ser removidos;
+     *                      a remoção é suspensa quando algum arquivo falha, para não apagar o catálogo por engano
+     */
+    public record Sync(
+        boolean enabled,
+        boolean deleteMissing
+    ) {
+    }
+
+    /**
+     * Configuração das importações por upload. Os uploads têm um executor próprio, separado da carga completa
+     * e do diretório monitorado: com as threads ocupadas e a fila cheia, novos uploads são recusados
+     * em vez de rodarem na thread da requisição HTTP.
+     *
+     * @param threads Número de importações por upload executadas ao mesmo tempo
+     * @param queueCapacity Uploads recebidos aguardando uma thread livre; além disso, são recusados
+     * @param jobRetention Por quanto tempo uma importação concluída continua disponível para consulta
+     */
+    public record Upload(
+        int threads,
+        int queueCapacity,
+        Duration jobRetention
+    ) {
+
+        public static final int DEFAULT_THREADS = 2;
+        public static final int DEFAULT_QUEUE_CAPACITY = 10;
+        public static final Duration DEFAULT_JOB_RETENTION = Duration.ofHours(1);
+
+        public Upload {
+            if (threads <= 0) {
+                threads = DEFAULT_THREADS;
+            }
+            if (queueCapacity <= 0) {
+                queueCapacity = DEFAULT_QUEUE_CAPACITY;
+            }
+            if (jobRetention == null || jobRetention.isNegative()) {
+                jobRetention = DEFAULT_JOB_RETENTION;
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.boticario.agp.gestaoprodutos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Propriedades de configuração da busca de produtos.
+ *
+ * @param countCache Configuração do cache das contagens exatas usadas pelo total {@code CACHED}
+ * @param resultCache Configuração do cache das páginas de resultado
+ */
+@ConfigurationProperties(prefix = "product-search")
+public record ProductSearchProperties(
+    @DefaultValue CountCache countCache,
+    @DefaultValue ResultCache resultCache
+) {
+
+    public ProductSearchProperties {
+        if (countCache == null) {
+            countCache = new CountCache(null, 0);
+        }
+        if (resultCache == null) {
+            resultCache = new ResultCache(true, null, 0);
+        }
+    }
+
+    /**
+     * Cria as propriedades com os valores padrão.
+     *
+     * @return Propriedades com valores padrão
+     */
+    public static ProductSearchProperties defaults() {
+        return new ProductSearchProperties(null, null);
+    }
+
+    /**
+     * Configuração do cache de contagens. Cada entrada é a contagem exata de um conjunto de critérios
+     * normalizados e pode ficar defasada em até {@code ttl} em relação ao banco.
+     *
+     * @param ttl Tempo de vida de cada contagem, contado a partir do cálculo
+     * @param maximumSize Quantidade máxima de critérios mantidos; os menos usados são descartados primeiro
+     */
+    public record CountCache(
+        Duration ttl,
+        int maximumSize
+    ) {
+
+        public static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+        public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+        public CountCache {
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                ttl = DEFAULT_TTL;
+            }
+            if (maximumSize <= 0) {
+                maximumSize = DEFAULT_MAXIMUM_SIZE;
+            }
+        }
+    }
+
+    /**
+     * Configuração do cache de páginas de resultado. As escritas desta instância invalidam as páginas
+     * pela versão do catálogo; o {@code ttl} limita a defasagem das alterações feitas fora dela.
+     *
+     * @param enabled Indica se as páginas são mantidas em cache
+     * @param ttl Tempo de vida de cada página, contado a partir da busca
+     * @param maximumProducts Soma máxima dos produtos de todas as páginas em cache
+     */
+    public record ResultCache(
+        @DefaultValue("true") boolean enabled,
+        Duration ttl,
+        long maximumProducts
+    ) {
+
+        public static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+        public static final long DEFAULT_MAXIMUM_PRODUCTS = 100_000;
+
+        public ResultCache {
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                ttl = DEFAULT_TTL;
+            }
+            if (maximumProducts <= 0) {
+                maximumProducts = DEFAULT_MAXIMUM_PRODUCTS;
+            }
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package br.com.boticario.agp.gestaoprodutos.controller;
 
 import br.com.boticario.agp.gestaoprodutos.dto.PageResponse;
+import br.com.boticario.agp.gestaoprodutos.dto.ProductCursor;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductRequest;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductResponse;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductSearchRequest;
+import br.com.boticario.agp.gestaoprodutos.dto.TotalKind;
 import br.com.boticario.agp.gestaoprodutos.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -50,13 +52,15 @@ public class ProductController {
             @Parameter(description = "Preço máximo para busca") @RequestParam(required = false) Double maxPrice,
             @Parameter(description = "Número da página (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Campo para ordenação (padrão: 'name')") @RequestParam(defaultValue = "name") String sort) {
+            @Parameter(description = "Campo para ordenação (padrão: 'name')") @RequestParam(defaultValue = "name") String sort,
+            @Parameter(description = "Paginação por cursor: vazio para a primeira página ou o 'nextCursor' da página anterior. "
+                    + "Quando informado, 'page' é ignorado e a ordem é sempre (nome, id)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tipo do total da paginação por página: EXACT (contagem), CACHED (contagem reaproveitada "
+                    + "por alguns segundos), ESTIMATED (estimativa do banco) ou NONE (sem total, apenas 'hasNext')")
+            @RequestParam(defaultValue = "EXACT") TotalKind total) {
         
-        log.info("Recebida requisição para buscar produtos - Nome: {}, Preço Mín: {}, Preço Máx: {}, Página: {}, Tamanho: {}", 
-                name, minPrice, maxPrice, page, size);
-        
-        // Cria o objeto de paginação
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
+        log.info("Recebida requisição para buscar produtos - Nome: {}, Preço Mín: {}, Preço Máx: {}, Página: {}, Tamanho: {}, Cursor: {}, Total: {}", 
+                name, minPrice, maxPrice, page, size, cursor, total);
         
         // Se nenhum critério for fornecido, retorna todos os produtos
         
@@ -66,9 +70,18 @@ public class ProductController {
                 .minPrice(minPrice != null ? BigDecimal.valueOf(minPrice) : null)
                 .maxPrice(maxPrice != null ? BigDecimal.valueOf(maxPrice) : null)
                 .build();
+        
+        // Paginação por cursor: cada página continua de onde a anterior parou, sem OFFSET
+        if (cursor != null) {
+            ProductCursor after = cursor.isBlank() ? null : ProductCursor.decode(cursor);
+            return ResponseEntity.ok(productService.searchProducts(searchRequest, after, size));
+        }
+        
+        // Cria o objeto de paginação
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
                 
         // Executa a busca
-        PageResponse<ProductResponse> response = productService.searchProducts(searchRequest, pageable);
+        PageResponse<ProductResponse> response = productService.searchProducts(searchRequest, pageable, total);
         
         return ResponseEntity.ok(response);
     }
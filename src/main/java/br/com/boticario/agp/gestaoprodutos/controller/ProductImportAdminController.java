@@ -0,0 +1,81 @@
+package br.com.boticario.agp.gestaoprodutos.controller;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ImportJobResponse;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportRunResponse;
+import br.com.boticario.agp.gestaoprodutos.service.ImportRunService;
+import br.com.boticario.agp.gestaoprodutos.service.ProductImportJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador REST administrativo para acompanhar e disparar a carga de produtos a partir dos arquivos.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/product-import")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Administração da Importação", description = "API para acompanhamento da carga de produtos")
+public class ProductImportAdminController {
+
+    private final ProductImportJob productImportJob;
+    private final ImportRunService importRunService;
+
+    @Operation(summary = "Consultar carga de produtos", description = "Retorna o estado da carga de produtos e do executor de importação")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estado retornado com sucesso",
+                     content = @Content(schema = @Schema(implementation = ImportJobResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    @GetMapping
+    public ResponseEntity<ImportJobResponse> getImportState() {
+        return ResponseEntity.ok(productImportJob.getState());
+    }
+
+    @Operation(summary = "Listar execuções da carga",
+               description = "Retorna as últimas execuções da carga de produtos com o relatório de validação de cada uma")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Execuções retornadas com sucesso"),
+        @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    @GetMapping("/runs")
+    public ResponseEntity<List<ImportRunResponse>> getImportRuns() {
+        return ResponseEntity.ok(importRunService.findRecent());
+    }
+
+    @Operation(summary = "Executar carga de produtos",
+               description = "Dispara novamente a carga dos arquivos de produtos em segundo plano. "
+                       + "Arquivos inalterados desde a última carga são ignorados, a menos que force=true")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Carga iniciada",
+                     content = @Content(schema = @Schema(implementation = ImportJobResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Já existe uma carga em execução"),
+        @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    @PostMapping
+    public ResponseEntity<ImportJobResponse> startImport(
+            @Parameter(description = "Importar também os arquivos inalterados desde a última carga")
+            @RequestParam(defaultValue = "false") boolean force) {
+        log.info("Recebida requisição para executar a carga de produtos (forçada: {})", force);
+
+        HttpStatus status = productImportJob.start(force) ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(productImportJob.getState());
+    }
+}
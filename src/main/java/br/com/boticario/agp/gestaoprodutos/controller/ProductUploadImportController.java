@@ -0,0 +1,115 @@
+package br.com.boticario.agp.gestaoprodutos.controller;
+
+import br.com.boticario.agp.gestaoprodutos.dto.UploadImportResponse;
+import br.com.boticario.agp.gestaoprodutos.service.UploadImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Controlador REST para importação de arquivos de produtos enviados por upload.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/products/imports")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Importação de Produtos", description = "API para importação de arquivos de produtos por upload")
+public class ProductUploadImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final UploadImportService uploadImportService;
+
+    @Operation(summary = "Enviar arquivo de produtos (multipart)",
+               description = "Recebe um arquivo JSON no campo 'file' e agenda sua importação em segundo plano")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Importação agendada",
+                     content = @Content(schema = @Schema(implementation = UploadImportResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Arquivo vazio ou acima do tamanho máximo"),
+        @ApiResponse(responseCode = "403", description = "Acesso negado"),
+        @ApiResponse(responseCode = "503", description = "Executor de uploads ocupado; tente novamente após Retry-After")
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<UploadImportResponse> uploadMultipart(@RequestPart("file") MultipartFile file) throws IOException {
+        log.info("Recebida requisição de importação por upload (multipart): {}", file.getOriginalFilename());
+        try (InputStream body = file.getInputStream()) {
+            return accepted(uploadImportService.submit(file.getOriginalFilename(), body));
+        }
+    }
+
+    @Operation(summary = "Enviar arquivo de produtos (corpo da requisição)",
+               description = "Recebe o arquivo diretamente no corpo da requisição e agenda sua importação em segundo plano. "
+                       + "O formato segue a extensão de fileName ou, sem ela, o Content-Type: JSON, NDJSON (application/x-ndjson) ou CSV (text/csv)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Importação agendada",
+                     content = @Content(schema = @Schema(implementation = UploadImportResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Arquivo vazio ou acima do tamanho máximo"),
+        @ApiResponse(responseCode = "403", description = "Acesso negado"),
+        @ApiResponse(responseCode = "503", description = "Executor de uploads ocupado; tente novamente após Retry-After")
+    })
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE,
+                             MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<UploadImportResponse> uploadRaw(
+            @Parameter(description = "Nome do arquivo, usado no relatório de validação")
+            @RequestParam(required = false) String fileName,
+            HttpServletRequest request) throws IOException {
+        log.info("Recebida requisição de importação por upload (corpo): {}", fileName);
+        if (fileName == null || fileName.isBlank()) {
+            fileName = defaultFileName(request.getContentType());
+        }
+        return accepted(uploadImportService.submit(fileName, request.getInputStream()));
+    }
+
+    @Operation(summary = "Consultar importação", description = "Retorna o andamento de uma importação enviada por upload")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Andamento retornado com sucesso",
+                     content = @Content(schema = @Schema(implementation = UploadImportResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Importação não encontrada"),
+        @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadImportResponse> getImport(@PathVariable UUID id) {
+        return ResponseEntity.ok(uploadImportService.getJob(id));
+    }
+
+    /**
+     * Nome padrão do arquivo, com a extensão que identifica o formato a partir do Content-Type.
+     */
+    private static String defaultFileName(String contentType) {
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                return "upload.ndjson";
+            }
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+                return "upload.csv";
+            }
+        }
+        return UploadImportService.DEFAULT_FILE_NAME;
+    }
+
+    private static ResponseEntity<UploadImportResponse> accepted(UploadImportResponse response) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/v1/products/imports/" + response.getId()))
+                .body(response);
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.boticario.agp.gestaoprodutos.dto;
+
+/**
+ * Resultado de uma carga em massa de produtos resolvida pelo banco com INSERT ... ON CONFLICT.
+ *
+ * @param received Linhas enviadas ao banco
+ * @param inserted Linhas inseridas como novos produtos
+ * @param updated Produtos existentes que tiveram preço ou quantidade atualizados
+ */
+public record BulkLoadResult(long received, long inserted, long updated) {
+
+    public static final BulkLoadResult EMPTY = new BulkLoadResult(0, 0, 0);
+
+    /**
+     * Linhas sem efeito: produtos existentes mantidos como estavam ou repetidos na mesma carga.
+     *
+     * @return Número de linhas ignoradas
+     */
+    public long skipped() {
+        return received - inserted - updated;
+    }
+
+    /**
+     * Linhas que alteraram o catálogo, por inserção ou atualização.
+     *
+     * @return Número de linhas gravadas
+     */
+    public long written() {
+        return inserted + updated;
+    }
+
+    /**
+     * Soma este resultado a outro.
+     *
+     * @param other O resultado a ser somado
+     * @return Um novo resultado com os totais combinados
+     */
+    public BulkLoadResult plus(BulkLoadResult other) {
+        return new BulkLoadResult(received + other.received, inserted + other.inserted, updated + other.updated);
+    }
+}
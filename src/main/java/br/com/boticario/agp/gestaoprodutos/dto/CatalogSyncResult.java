@@ -0,0 +1,22 @@
+package br.com.boticario.agp.gestaoprodutos.dto;
+
+/**
+ * Resultado da sincronização do catálogo com o conteúdo dos arquivos da carga completa.
+ *
+ * @param inserted Produtos que estavam nos arquivos e foram inseridos; chaves inseridas por outra carga durante
+ *                 a sincronização são mantidas e não contam
+ * @param updated Produtos existentes com preço, quantidade, indústria ou origem diferentes dos arquivos
+ * @param deleted Produtos removidos por não constarem em nenhum arquivo
+ * @param unchanged Produtos dos arquivos que já estavam no banco com os mesmos valores
+ */
+public record CatalogSyncResult(long inserted, long updated, long deleted, long unchanged) {
+
+    /**
+     * Linhas que alteraram o catálogo.
+     *
+     * @return Número de produtos inseridos, atualizados ou removidos
+     */
+    public long changed() {
+        return inserted + updated + deleted;
+    }
+}
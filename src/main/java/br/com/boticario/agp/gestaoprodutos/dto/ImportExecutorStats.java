@@ -0,0 +1,46 @@
+package br.com.boticario.agp.gestaoprodutos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * DTO com o estado atual do executor de importação, usado para dimensionar o pool.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportExecutorStats {
+
+    private int corePoolSize;
+    private int maxPoolSize;
+    private int poolSize;
+    private int activeWorkers;
+    private int queueDepth;
+    private int queueRemainingCapacity;
+    private long completedTasks;
+
+    /**
+     * Captura o estado atual de um executor.
+     *
+     * @param executor O executor a ser inspecionado
+     * @return Um novo objeto ImportExecutorStats com os valores atuais
+     */
+    public static ImportExecutorStats from(ThreadPoolTaskExecutor executor) {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        return ImportExecutorStats.builder()
+                .corePoolSize(pool.getCorePoolSize())
+                .maxPoolSize(pool.getMaximumPoolSize())
+                .poolSize(pool.getPoolSize())
+                .activeWorkers(pool.getActiveCount())
+                .queueDepth(pool.getQueue().size())
+                .queueRemainingCapacity(pool.getQueue().remainingCapacity())
+                .completedTasks(pool.getCompletedTaskCount())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.boticario.agp.gestaoprodutos.dto;
+
+/**
+ * Números da importação de um arquivo, registrados no histórico junto com o resumo da execução.
+ *
+ * @param file Nome do arquivo
+ * @param status Resultado do arquivo
+ * @param rowsRead Linhas lidas
+ * @param rowsRejected Linhas rejeitadas pela validação
+ * @param productsSaved Produtos inseridos ou atualizados
+ */
+public record ImportFileSummary(String file, Status status, long rowsRead, long rowsRejected, int productsSaved) {
+
+    /**
+     * Resultado da importação de um arquivo.
+     */
+    public enum Status {
+        IMPORTED,
+        UNCHANGED,
+        FAILED
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.boticario.agp.gestaoprodutos.dto;
+
+import br.com.boticario.agp.gestaoprodutos.service.ProductImportJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * DTO para retornar o estado da carga de produtos a partir dos arquivos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+
+    private ProductImportJob.Status status;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+    private Integer productsSaved;
+    private String errorMessage;
+    private ImportSummary summary;
+    private ImportExecutorStats executor;
+}
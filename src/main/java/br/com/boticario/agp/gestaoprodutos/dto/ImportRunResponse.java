@@ -0,0 +1,60 @@
+package br.com.boticario.agp.gestaoprodutos.dto;
+
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportRun;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * DTO para retornar uma execução registrada da importação de produtos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRunResponse {
+
+    private Long id;
+    private ProductImportRun.Trigger trigger;
+    private ProductImportRun.Status status;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+    private Integer filesImported;
+    private Integer filesUnchanged;
+    private Integer filesFailed;
+    private Integer productsSaved;
+    private Long rowsRead;
+    private Long rowsRejected;
+    private ImportValidationReport validation;
+    private List<ImportFileSummary> files;
+    private String errorMessage;
+
+    /**
+     * Converte uma execução registrada em DTO de resposta.
+     *
+     * @param run A execução
+     * @return O DTO correspondente
+     */
+    public static ImportRunResponse fromEntity(ProductImportRun run) {
+        return ImportRunResponse.builder()
+                .id(run.getId())
+                .trigger(run.getTrigger())
+                .status(run.getStatus())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .filesImported(run.getFilesImported())
+                .filesUnchanged(run.getFilesUnchanged())
+                .filesFailed(run.getFilesFailed())
+                .productsSaved(run.getProductsSaved())
+                .rowsRead(run.getRowsRead())
+                .rowsRejected(run.getRowsRejected())
+                .validation(run.getValidationReport())
+                .files(run.getFiles())
+                .errorMessage(run.getErrorMessage())
+                .build();
+    }
+}
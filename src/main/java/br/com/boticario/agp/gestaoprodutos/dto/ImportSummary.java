@@ -0,0 +1,31 @@
+package br.com.boticario.agp.gestaoprodutos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumo de uma importação de produtos: arquivos processados, produtos gravados e linhas rejeitadas.
+ * Na sincronização do catálogo, {@code sync} traz também os produtos removidos e os inalterados.
+ * {@code files} traz os números de cada arquivo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportSummary {
+
+    private int filesImported;
+    private int filesUnchanged;
+    private int filesFailed;
+    private int productsSaved;
+    @Builder.Default
+    private ImportValidationReport validation = new ImportValidationReport();
+    private CatalogSyncResult sync;
+    @Builder.Default
+    private List<ImportFileSummary> files = new ArrayList<>();
+}
@@ -0,0 +1,103 @@
+package br.com.boticario.agp.gestaoprodutos.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Relatório agregado das linhas rejeitadas em uma importação.
+ * Guarda a contagem por campo e código de violação e, no máximo, {@link #MAX_SAMPLES} exemplos,
+ * de modo que o tamanho do relatório não depende da quantidade de linhas inválidas.
+ * Um relatório é preenchido por uma única thread (um arquivo ou um trecho dele); relatórios de arquivos
+ * diferentes são combinados com {@link #merge(ImportValidationReport)}, e os de trechos de um mesmo arquivo,
+ * em ordem, com {@link #merge(ImportValidationReport, int)}.
+ */
+@Data
+@NoArgsConstructor
+public class ImportValidationReport {
+
+    public static final int MAX_SAMPLES = 100;
+
+    private long rowsRead;
+    private long rowsRejected;
+    private Map<String, Long> violationCounts = new TreeMap<>();
+    private List<RowViolation> samples = new ArrayList<>();
+    private boolean samplesTruncated;
+
+    /**
+     * Registra uma linha válida.
+     */
+    public void recordValid() {
+        rowsRead++;
+    }
+
+    /**
+     * Registra uma linha rejeitada.
+     *
+     * @param file Nome do arquivo
+     * @param row Posição da linha no arquivo (a partir de 1)
+     * @param field Campo violado
+     * @param code Código da violação
+     */
+    public void recordViolation(String file, int row, String field, String code) {
+        rowsRead++;
+        rowsRejected++;
+        count(field, code, 1);
+        addSample(new RowViolation(file, row, field, code));
+    }
+
+    /**
+     * Registra um erro que interrompeu a leitura do arquivo.
+     *
+     * @param file Nome do arquivo
+     * @param row Posição em que a leitura parou
+     * @param code Código do erro
+     */
+    public void recordFileError(String file, int row, String code) {
+        count(null, code, 1);
+        addSample(new RowViolation(file, row, null, code));
+    }
+
+    /**
+     * Soma a este relatório as contagens e os exemplos de outro, respeitando o limite de exemplos.
+     *
+     * @param other O relatório a ser incorporado
+     */
+    public void merge(ImportValidationReport other) {
+        merge(other, 0);
+    }
+
+    /**
+     * Incorpora o relatório de um trecho do mesmo arquivo, deslocando as posições dos seus exemplos
+     * para que fiquem relativas ao início do arquivo.
+     *
+     * @param other O relatório do trecho, com posições a partir de 1 dentro do trecho
+     * @param rowOffset Número de linhas do arquivo anteriores ao trecho
+     */
+    public void merge(ImportValidationReport other, int rowOffset) {
+        rowsRead += other.rowsRead;
+        rowsRejected += other.rowsRejected;
+        other.violationCounts.forEach((key, count) -> violationCounts.merge(key, count, Long::sum));
+        for (RowViolation sample : other.samples) {
+            addSample(rowOffset == 0 ? sample
+                    : new RowViolation(sample.getFile(), sample.getRow() + rowOffset, sample.getField(), sample.getCode()));
+        }
+        samplesTruncated |= other.samplesTruncated;
+    }
+
+    private void count(String field, String code, long increment) {
+        violationCounts.merge(field == null ? code : field + "." + code, increment, Long::sum);
+    }
+
+    private void addSample(RowViolation violation) {
+        if (samples.size() < MAX_SAMPLES) {
+            samples.add(violation);
+        } else {
+            samplesTruncated = true;
+        }
+    }
+}
@@ -10,6 +10,9 @@ import java.util.List;
 
 /**
  * Classe genérica para representar uma resposta paginada da API.
+ * {@code totalKind} informa como {@code totalElements} e {@code totalPages} foram obtidos; com
+ * {@link TotalKind#NONE} o total não é calculado e ambos valem {@value #TOTAL_NOT_COUNTED}.
+ * Na paginação por cursor, {@code nextCursor} indica a página seguinte e o total nunca é calculado.
  *
  * @param <T> O tipo dos itens na página
  */
@@ -18,6 +21,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PageResponse<T> {
+
+    public static final int TOTAL_NOT_COUNTED = -1;
     
     private List<T> content;
     private int pageNumber;
@@ -25,6 +30,9 @@ public class PageResponse<T> {
     private long totalElements;
     private int totalPages;
     private boolean last;
+    private boolean hasNext;
+    private TotalKind totalKind;
+    private String nextCursor;
     
     /**
      * Cria uma resposta paginada a partir de um objeto Page do Spring Data.
@@ -42,6 +50,66 @@ public class PageResponse<T> {
                 .totalElements(page.getTotalElements())
                 .totalPages(page.getTotalPages())
                 .last(page.isLast())
+                .hasNext(page.hasNext())
+                .totalKind(TotalKind.EXACT)
+                .build();
+    }
+
+    /**
+     * Cria uma resposta da paginação por cursor.
+     *
+     * @param content A lista de itens já convertidos para o tipo de saída
+     * @param size O tamanho de página solicitado
+     * @param nextCursor O cursor da página seguinte, ou null se esta for a última
+     * @param <T> O tipo dos itens na página
+     * @return Uma nova instância de PageResponse
+     */
+    public static <T> PageResponse<T> fromCursor(List<T> content, int size, String nextCursor) {
+        return PageResponse.<T>builder()
+                .content(content)
+                .pageSize(size)
+                .totalElements(TOTAL_NOT_COUNTED)
+                .totalPages(TOTAL_NOT_COUNTED)
+                .last(nextCursor == null)
+                .hasNext(nextCursor != null)
+                .totalKind(TotalKind.NONE)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Cria uma resposta paginada cujo total não veio de uma contagem feita junto com a página.
+     * O total informado nunca fica abaixo dos produtos que a própria página comprova existirem.
+     *
+     * @param content A lista de itens já convertidos para o tipo de saída
+     * @param pageNumber O número da página (0-based)
+     * @param pageSize O tamanho de página solicitado
+     * @param hasNext Indica se existe uma próxima página
+     * @param total O total reaproveitado ou estimado; ignorado com {@link TotalKind#NONE}
+     * @param totalKind O tipo do total
+     * @param <T> O tipo dos itens na página
+     * @return Uma nova instância de PageResponse
+     */
+    public static <T> PageResponse<T> fromSlice(List<T> content, int pageNumber, int pageSize, boolean hasNext,
+                                                long total, TotalKind totalKind) {
+        long totalElements = TOTAL_NOT_COUNTED;
+        int totalPages = TOTAL_NOT_COUNTED;
+        if (totalKind != TotalKind.NONE) {
+            // Uma estimativa ou contagem antiga pode ficar aquém do que a página já mostrou;
+            // uma página vazia não comprova nada sobre as anteriores
+            long seen = content.isEmpty() ? 0 : (long) pageNumber * pageSize + content.size() + (hasNext ? 1 : 0);
+            totalElements = Math.max(total, seen);
+            totalPages = (int) ((totalElements + pageSize - 1) / pageSize);
+        }
+        return PageResponse.<T>builder()
+                .content(content)
+                .pageNumber(pageNumber)
+                .pageSize(pageSize)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .last(!hasNext)
+                .hasNext(hasNext)
+                .totalKind(totalKind)
                 .build();
     }
 }
@@ -0,0 +1,47 @@
+package br.com.boticario.agp.gestaoprodutos.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição na paginação por cursor da busca de produtos: nome e id do último produto entregue.
+ * A próxima página começa no primeiro produto depois de (nome, id), na ordem de {@code (name, id)}.
+ *
+ * @param name Nome do último produto da página
+ * @param id Id do último produto da página
+ */
+public record ProductCursor(String name, long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Codifica o cursor como texto opaco, seguro para ser usado em URLs.
+     *
+     * @return O cursor codificado
+     */
+    public String encode() {
+        return ENCODER.encodeToString((id + ":" + name).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor gerado por {@link #encode()}.
+     *
+     * @param cursor O cursor recebido do cliente
+     * @return O cursor decodificado
+     * @throws IllegalArgumentException Se o cursor não tiver sido gerado pela API
+     */
+    public static ProductCursor decode(String cursor) {
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new ProductCursor(decoded.substring(separator + 1), Long.parseLong(decoded.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException também é uma IllegalArgumentException
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
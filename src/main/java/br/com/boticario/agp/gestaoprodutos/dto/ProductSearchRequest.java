@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.Locale;
 
 /**
  * DTO para receber os parâmetros de busca de produtos.
@@ -40,6 +41,31 @@ public class ProductSearchRequest {
                maxPrice != null;
     }
     
+    /**
+     * Retorna os critérios na forma usada pela busca: nome sem espaços nas pontas e em minúsculas
+     * (vazio vira null) e preços sem zeros à direita. Critérios que resultam na mesma consulta
+     * ficam iguais em {@code equals}/{@code hashCode} e podem ser usados como chave de cache.
+     *
+     * @return Uma nova instância com os critérios normalizados
+     */
+    public ProductSearchRequest normalized() {
+        String normalizedName = name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+        return ProductSearchRequest.builder()
+                .name(normalizedName == null || normalizedName.isEmpty() ? null : normalizedName)
+                .minPrice(normalizePrice(minPrice))
+                .maxPrice(normalizePrice(maxPrice))
+                .build();
+    }
+
+    // 10.00 e 10 viram 10 (e não 1E+1, como retornaria só o stripTrailingZeros)
+    private static BigDecimal normalizePrice(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        BigDecimal stripped = price.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+    }
+    
     /**
      * Creates a ProductSearchRequest with no criteria, which will return all products
      * @return a new ProductSearchRequest with no criteria
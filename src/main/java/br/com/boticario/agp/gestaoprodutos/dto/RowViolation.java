@@ -0,0 +1,21 @@
+package br.com.boticario.agp.gestaoprodutos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Violação encontrada em uma linha de um arquivo de importação.
+ * Erros que impedem a leitura do arquivo inteiro são registrados sem campo ({@code field} nulo),
+ * na posição em que a leitura parou.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RowViolation {
+
+    private String file;
+    private int row;
+    private String field;
+    private String code;
+}
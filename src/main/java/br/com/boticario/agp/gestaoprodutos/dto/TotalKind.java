@@ -0,0 +1,24 @@
+package br.com.boticario.agp.gestaoprodutos.dto;
+
+/**
+ * Tipo do total de produtos de uma página de busca, escolhido pelo cliente e informado na resposta.
+ */
+public enum TotalKind {
+    /**
+     * Contagem exata, feita junto com a página.
+     */
+    EXACT,
+    /**
+     * Contagem exata reaproveitada de uma busca anterior com os mesmos critérios;
+     * pode estar defasada em até {@code product-search.count-cache.ttl}.
+     */
+    CACHED,
+    /**
+     * Estimativa do planejador do PostgreSQL (EXPLAIN), a partir das estatísticas da tabela, sem ler os produtos.
+     */
+    ESTIMATED,
+    /**
+     * Sem total: {@code hasNext} indica se existe uma próxima página.
+     */
+    NONE
+}
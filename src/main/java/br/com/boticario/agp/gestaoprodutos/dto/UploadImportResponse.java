@@ -0,0 +1,37 @@
+package br.com.boticario.agp.gestaoprodutos.dto;
+
+import br.com.boticario.agp.gestaoprodutos.service.ProductImportJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * DTO para retornar o andamento da importação de um arquivo enviado por upload.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadImportResponse {
+
+    private UUID id;
+    private ProductImportJob.Status status;
+    private String fileName;
+    private long bytesReceived;
+    private OffsetDateTime submittedAt;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+    private long rowsParsed;
+    private long rowsValid;
+    private long rowsRejected;
+    private long rowsInserted;
+    private long rowsUpdated;
+    private long rowsSkipped;
+    private double rowsPerSecond;
+    private ImportValidationReport validation;
+    private String errorMessage;
+}
@@ -49,6 +49,15 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return buildErrorResponse(ex, HttpStatus.CONFLICT, request);
     }
     
+    @ExceptionHandler(ImportCapacityExceededException.class)
+    public ResponseEntity<Object> handleImportCapacityExceededException(ImportCapacityExceededException ex, WebRequest request) {
+        log.warn("Importação recusada: {}", ex.getMessage());
+        ResponseEntity<Object> response = buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE, request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(JpaSystemException.class)
     public ResponseEntity<Object> handleJpaSystemException(JpaSystemException ex, WebRequest request) {
         log.error("Erro no JPA: {}", ex.getMessage(), ex);
@@ -0,0 +1,20 @@
+package br.com.boticario.agp.gestaoprodutos.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando uma importação é recusada porque o executor está ocupado e a fila está cheia.
+ */
+@Getter
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ImportCapacityExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ImportCapacityExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.boticario.agp.gestaoprodutos.exception;
+
+/**
+ * Exceção lançada quando um arquivo CSV não está no formato esperado.
+ */
+public class InvalidCsvFormatException extends RuntimeException {
+
+    public InvalidCsvFormatException(String message) {
+        super(message);
+    }
+}
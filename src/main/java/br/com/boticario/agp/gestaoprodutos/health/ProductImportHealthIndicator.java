@@ -0,0 +1,56 @@
+package br.com.boticario.agp.gestaoprodutos.health;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportJobResponse;
+import br.com.boticario.agp.gestaoprodutos.service.ProductImportJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indicador de saúde da carga de produtos, incluído no grupo de prontidão (readiness).
+ * Por padrão a aplicação permanece pronta em qualquer estado da carga, para que o tráfego seja atendido
+ * durante o aquecimento do catálogo e uma carga com falha não retire a instância do balanceador; o resultado
+ * aparece apenas nos detalhes. Com {@code product-import.required-for-readiness=true}, a instância fica
+ * fora de serviço somente até a carga iniciada na subida terminar, com sucesso ou com falha.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductImportHealthIndicator implements HealthIndicator {
+
+    private final ProductImportJob productImportJob;
+    private final ProductImportProperties importProperties;
+
+    @Override
+    public Health health() {
+        ImportJobResponse state = productImportJob.getState();
+        Health.Builder builder = isWaitingForStartupImport()
+                ? Health.outOfService()
+                : Health.up();
+
+        builder.withDetail("status", state.getStatus());
+        if (state.getStartedAt() != null) {
+            builder.withDetail("startedAt", state.getStartedAt());
+        }
+        if (state.getFinishedAt() != null) {
+            builder.withDetail("finishedAt", state.getFinishedAt());
+        }
+        if (state.getProductsSaved() != null) {
+            builder.withDetail("productsSaved", state.getProductsSaved());
+        }
+        if (state.getSummary() != null) {
+            builder.withDetail("rowsRejected", state.getSummary().getValidation().getRowsRejected());
+        }
+        if (state.getErrorMessage() != null) {
+            builder.withDetail("error", state.getErrorMessage());
+        }
+        return builder.build();
+    }
+
+    private boolean isWaitingForStartupImport() {
+        return importProperties.requiredForReadiness()
+                && importProperties.runOnStartup()
+                && !productImportJob.isFirstRunFinished();
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.boticario.agp.gestaoprodutos.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Ponto de retomada da importação de um arquivo de produtos ainda não concluída.
+ * Guarda, para cada trecho do arquivo, quantas linhas já tiveram seus produtos gravados.
+ * Identificado pela origem e URI do arquivo e pelo conteúdo (tamanho e hash): só vale para o mesmo arquivo,
+ * com o mesmo conteúdo e a mesma divisão em trechos.
+ */
+@Entity
+@Table(name = "product_import_checkpoint",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"source_kind", "source_uri", "content_hash", "file_size", "segment_index"}),
+        schema = "public")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "source_kind", nullable = false, length = 20)
+    private String sourceKind;
+
+    @Column(name = "source_uri", nullable = false, length = 1024)
+    private String sourceUri;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "segment_index", nullable = false)
+    private Integer segmentIndex;
+
+    @Column(name = "segment_count", nullable = false)
+    private Integer segmentCount;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "rows_committed", nullable = false)
+    private Long rowsCommitted;
+
+    @Column(name = "updated_at", nullable = false, columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime updatedAt;
+}
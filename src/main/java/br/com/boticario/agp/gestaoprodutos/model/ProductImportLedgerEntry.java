@@ -0,0 +1,54 @@
+package br.com.boticario.agp.gestaoprodutos.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Registro da última carga bem-sucedida de um arquivo de produtos, identificado pela origem e pela
+ * URI (ou caminho absoluto) do arquivo. O tamanho e o hash do conteúdo permitem reconhecer arquivos
+ * que não mudaram desde então.
+ */
+@Entity
+@Table(name = "product_import_ledger",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"source_kind", "source_uri"}),
+        schema = "public")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "source_kind", nullable = false, length = 20)
+    private String sourceKind;
+
+    @Column(name = "source_uri", nullable = false, length = 1024)
+    private String sourceUri;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "products_read", nullable = false)
+    private Integer productsRead;
+
+    @Column(name = "products_saved", nullable = false)
+    private Integer productsSaved;
+
+    @Column(name = "imported_at", nullable = false, columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime importedAt;
+}
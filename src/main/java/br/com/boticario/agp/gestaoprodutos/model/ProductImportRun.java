@@ -0,0 +1,91 @@
+package br.com.boticario.agp.gestaoprodutos.model;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ImportFileSummary;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportValidationReport;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Registro de uma execução da importação de produtos, com o resumo e o relatório de validação.
+ */
+@Entity
+@Table(name = "product_import_run", schema = "public")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportRun {
+
+    /**
+     * Origem da execução.
+     */
+    public enum Trigger {
+        FULL_IMPORT,
+        WATCH,
+        UPLOAD
+    }
+
+    /**
+     * Resultado da execução.
+     */
+    public enum Status {
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "trigger_type", nullable = false, length = 20)
+    private Trigger trigger;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "started_at", nullable = false, columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime startedAt;
+
+    @Column(name = "finished_at", nullable = false, columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime finishedAt;
+
+    @Column(name = "files_imported", nullable = false)
+    private Integer filesImported;
+
+    @Column(name = "files_unchanged", nullable = false)
+    private Integer filesUnchanged;
+
+    @Column(name = "files_failed", nullable = false)
+    private Integer filesFailed;
+
+    @Column(name = "products_saved", nullable = false)
+    private Integer productsSaved;
+
+    @Column(name = "rows_read", nullable = false)
+    private Long rowsRead;
+
+    @Column(name = "rows_rejected", nullable = false)
+    private Long rowsRejected;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "validation_report", columnDefinition = "JSONB")
+    private ImportValidationReport validationReport;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "files", columnDefinition = "JSONB")
+    private List<ImportFileSummary> files;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+}
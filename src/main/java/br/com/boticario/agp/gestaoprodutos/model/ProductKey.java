@@ -0,0 +1,20 @@
+package br.com.boticario.agp.gestaoprodutos.model;
+
+/**
+ * Chave natural de um produto: a combinação de nome e tipo, única no sistema.
+ *
+ * @param name Nome do produto
+ * @param type Tipo do produto
+ */
+public record ProductKey(String name, String type) {
+
+    /**
+     * Extrai a chave natural de um produto.
+     *
+     * @param product O produto
+     * @return A chave (nome, tipo) do produto
+     */
+    public static ProductKey of(Product product) {
+        return new ProductKey(product.getName(), product.getType());
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.boticario.agp.gestaoprodutos.repository;
+
+import br.com.boticario.agp.gestaoprodutos.dto.CatalogSyncResult;
+import br.com.boticario.agp.gestaoprodutos.model.Product;
+
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * Intercalação de duas sequências de produtos ordenadas pela chave (nome, tipo): o catálogo desejado,
+ * lido dos arquivos, e o catálogo atual, lido de {@code products}. Como em um merge join, cada lado é
+ * percorrido uma única vez e só o produto corrente de cada um fica em memória.
+ * <p>
+ * A ordem esperada é a da collation {@code "C"} do PostgreSQL, que compara os bytes em UTF-8 e,
+ * portanto, coincide com a ordem dos code points reproduzida por {@link #compareText(String, String)}.
+ */
+final class CatalogMerge {
+
+    /**
+     * Destino das alterações encontradas pela intercalação.
+     */
+    interface Changes {
+
+        void insert(Product desired);
+
+        void update(Long id, Product desired);
+
+        void delete(Long id);
+    }
+
+    private CatalogMerge() {
+    }
+
+    /**
+     * Compara os dois catálogos e envia para {@code changes} apenas o que precisa ser gravado.
+     * Chaves repetidas no catálogo desejado mantêm a primeira ocorrência.
+     *
+     * @param desired Produtos dos arquivos, ordenados por (nome, tipo)
+     * @param current Produtos do banco, com id, ordenados por (nome, tipo)
+     * @param deleteMissing Indica se produtos ausentes do catálogo desejado devem ser removidos
+     * @param changes Destino das inserções, atualizações e remoções
+     * @return Contagem das alterações
+     */
+    static CatalogSyncResult merge(Iterator<Product> desired, Iterator<Product> current, boolean deleteMissing, Changes changes) {
+        long inserted = 0;
+        long updated = 0;
+        long deleted = 0;
+        long unchanged = 0;
+
+        Product wanted = next(desired);
+        Product existing = next(current);
+        while (wanted != null || existing != null) {
+            int cmp = wanted == null ? 1 : existing == null ? -1 : compareKeys(wanted, existing);
+            if (cmp < 0) {
+                changes.insert(wanted);
+                inserted++;
+                wanted = nextDistinct(desired, wanted);
+            } else if (cmp > 0) {
+                if (deleteMissing) {
+                    changes.delete(existing.getId());
+                    deleted++;
+                }
+                existing = next(current);
+            } else {
+                if (sameValues(existing, wanted)) {
+                    unchanged++;
+                } else {
+                    changes.update(existing.getId(), wanted);
+                    updated++;
+                }
+                wanted = nextDistinct(desired, wanted);
+                existing = next(current);
+            }
+        }
+
+        return new CatalogSyncResult(inserted, updated, deleted, unchanged);
+    }
+
+    static int compareKeys(Product a, Product b) {
+        int cmp = compareText(a.getName(), b.getName());
+        return cmp != 0 ? cmp : compareText(a.getType(), b.getType());
+    }
+
+    /**
+     * Compara por code point. {@link String#compareTo(String)} compara unidades UTF-16 e ordena
+     * caracteres fora do plano básico (pares substitutos) antes de U+E000..U+FFFF, ao contrário do banco.
+     */
+    static int compareText(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private static boolean sameValues(Product existing, Product wanted) {
+        return existing.getPrice().compareTo(wanted.getPrice()) == 0
+                && Objects.equals(existing.getQuantity(), wanted.getQuantity())
+                && Objects.equals(existing.getIndustry(), wanted.getIndustry())
+                && Objects.equals(existing.getOrigin(), wanted.getOrigin());
+    }
+
+    private static Product nextDistinct(Iterator<Product> products, Product previous) {
+        Product product = next(products);
+        while (product != null && compareKeys(product, previous) == 0) {
+            product = next(products);
+        }
+        return product;
+    }
+
+    private static Product next(Iterator<Product> products) {
+        return products.hasNext() ? products.next() : null;
+    }
+}
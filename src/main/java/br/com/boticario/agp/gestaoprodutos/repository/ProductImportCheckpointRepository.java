@@ -0,0 +1,69 @@
+package br.com.boticario.agp.gestaoprodutos.repository;
+
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório dos pontos de retomada das importações em andamento.
+ */
+@Repository
+public interface ProductImportCheckpointRepository extends JpaRepository<ProductImportCheckpoint, Long> {
+
+    /**
+     * Busca os pontos de retomada de um arquivo com o conteúdo e a divisão em trechos informados.
+     *
+     * @param sourceKind Origem do arquivo
+     * @param sourceUri URI ou caminho absoluto do arquivo
+     * @param contentHash Hash SHA-256 do conteúdo, em hexadecimal
+     * @param fileSize Tamanho do arquivo em bytes
+     * @param segmentCount Número de trechos em que o arquivo é lido
+     * @return Um registro por trecho com linhas já gravadas
+     */
+    List<ProductImportCheckpoint> findBySourceKindAndSourceUriAndContentHashAndFileSizeAndSegmentCount(
+            String sourceKind, String sourceUri, String contentHash, long fileSize, int segmentCount);
+
+    /**
+     * Cria ou avança o ponto de retomada de um trecho em um único comando.
+     *
+     * @param sourceKind Origem do arquivo
+     * @param sourceUri URI ou caminho absoluto do arquivo
+     * @param fileName Nome do arquivo
+     * @param fileSize Tamanho do arquivo em bytes
+     * @param contentHash Hash SHA-256 do conteúdo, em hexadecimal
+     * @param segmentIndex Posição do trecho no arquivo, a partir de 0
+     * @param segmentCount Número de trechos em que o arquivo é lido
+     * @param rowsCommitted Linhas do trecho cujos produtos já foram gravados
+     */
+    @Modifying
+    @Query(value = "INSERT INTO product_import_checkpoint (source_kind, source_uri, file_name, file_size, content_hash, "
+            + "segment_index, segment_count, rows_committed, updated_at) "
+            + "VALUES (:sourceKind, :sourceUri, :fileName, :fileSize, :contentHash, :segmentIndex, :segmentCount, :rowsCommitted, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (source_kind, source_uri, content_hash, file_size, segment_index) DO UPDATE SET "
+            + "segment_count = EXCLUDED.segment_count, rows_committed = EXCLUDED.rows_committed, updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    void upsert(@Param("sourceKind") String sourceKind,
+                @Param("sourceUri") String sourceUri,
+                @Param("fileName") String fileName,
+                @Param("fileSize") long fileSize,
+                @Param("contentHash") String contentHash,
+                @Param("segmentIndex") int segmentIndex,
+                @Param("segmentCount") int segmentCount,
+                @Param("rowsCommitted") long rowsCommitted);
+
+    /**
+     * Remove os pontos de retomada de um arquivo, de qualquer conteúdo.
+     *
+     * @param sourceKind Origem do arquivo
+     * @param sourceUri URI ou caminho absoluto do arquivo
+     */
+    @Modifying
+    @Query(value = "DELETE FROM product_import_checkpoint WHERE source_kind = :sourceKind AND source_uri = :sourceUri",
+            nativeQuery = true)
+    void deleteBySource(@Param("sourceKind") String sourceKind, @Param("sourceUri") String sourceUri);
+}
@@ -0,0 +1,53 @@
+package br.com.boticario.agp.gestaoprodutos.repository;
+
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositório do registro de arquivos de produtos já importados.
+ */
+@Repository
+public interface ProductImportLedgerRepository extends JpaRepository<ProductImportLedgerEntry, Long> {
+
+    /**
+     * Busca o registro da última carga de um arquivo.
+     *
+     * @param sourceKind Origem do arquivo
+     * @param sourceUri URI ou caminho absoluto do arquivo
+     * @return Optional contendo o registro, se o arquivo já foi importado
+     */
+    Optional<ProductImportLedgerEntry> findBySourceKindAndSourceUri(String sourceKind, String sourceUri);
+
+    /**
+     * Cria ou substitui o registro de um arquivo em um único comando, sem conflito
+     * entre instâncias que concluam a carga do mesmo arquivo ao mesmo tempo.
+     *
+     * @param sourceKind Origem do arquivo
+     * @param sourceUri URI ou caminho absoluto do arquivo
+     * @param fileName Nome do arquivo
+     * @param fileSize Tamanho do arquivo em bytes
+     * @param contentHash Hash SHA-256 do conteúdo, em hexadecimal
+     * @param productsRead Produtos válidos lidos do arquivo
+     * @param productsSaved Produtos inseridos ou atualizados no banco
+     */
+    @Modifying
+    @Query(value = "INSERT INTO product_import_ledger (source_kind, source_uri, file_name, file_size, content_hash, products_read, products_saved, imported_at) "
+            + "VALUES (:sourceKind, :sourceUri, :fileName, :fileSize, :contentHash, :productsRead, :productsSaved, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (source_kind, source_uri) DO UPDATE SET file_name = EXCLUDED.file_name, file_size = EXCLUDED.file_size, "
+            + "content_hash = EXCLUDED.content_hash, products_read = EXCLUDED.products_read, products_saved = EXCLUDED.products_saved, "
+            + "imported_at = EXCLUDED.imported_at",
+            nativeQuery = true)
+    void upsert(@Param("sourceKind") String sourceKind,
+                @Param("sourceUri") String sourceUri,
+                @Param("fileName") String fileName,
+                @Param("fileSize") long fileSize,
+                @Param("contentHash") String contentHash,
+                @Param("productsRead") int productsRead,
+                @Param("productsSaved") int productsSaved);
+}
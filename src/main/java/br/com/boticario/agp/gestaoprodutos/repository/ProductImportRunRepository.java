@@ -0,0 +1,21 @@
+package br.com.boticario.agp.gestaoprodutos.repository;
+
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório do histórico de execuções da importação de produtos.
+ */
+@Repository
+public interface ProductImportRunRepository extends JpaRepository<ProductImportRun, Long> {
+
+    /**
+     * Busca as execuções mais recentes.
+     *
+     * @return As últimas 20 execuções, da mais recente para a mais antiga
+     */
+    List<ProductImportRun> findTop20ByOrderByStartedAtDesc();
+}
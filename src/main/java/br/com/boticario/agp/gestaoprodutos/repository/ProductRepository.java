@@ -75,15 +75,6 @@ public interface ProductRepository extends JpaRepository<Product, Long>, Product
      */
     Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
     
-    /**
-     * Busca produtos pelo nome e tipo.
-     *
-     * @param names Lista de nomes de produtos
-     * @param types Lista de tipos de produtos
-     * @return Lista de produtos encontrados
-     */
-    List<Product> findByNameInAndTypeIn(List<String> names, List<String> types);
-    
     /**
      * Busca um produto pelo nome e tipo.
      *
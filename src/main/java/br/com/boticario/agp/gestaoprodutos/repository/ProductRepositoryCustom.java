@@ -1,10 +1,19 @@
 package br.com.boticario.agp.gestaoprodutos.repository;
 
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties.OnConflict;
+import br.com.boticario.agp.gestaoprodutos.dto.BulkLoadResult;
+import br.com.boticario.agp.gestaoprodutos.dto.CatalogSyncResult;
+import br.com.boticario.agp.gestaoprodutos.dto.ProductCursor;
 import br.com.boticario.agp.gestaoprodutos.model.Product;
+import br.com.boticario.agp.gestaoprodutos.model.ProductKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Interface para métodos de repositório personalizados para a entidade Product.
@@ -25,4 +34,138 @@ public interface ProductRepositoryCustom {
             BigDecimal minPrice, 
             BigDecimal maxPrice, 
             Pageable pageable);
+
+    /**
+     * Busca a página de produtos de {@link #findBySearchCriteria} sem contar o total: retorna até
+     * {@code pageable.getPageSize() + 1} produtos a partir do offset da página, e o produto excedente
+     * indica que existe uma próxima página.
+     *
+     * @param name Nome do produto (opcional, busca parcial case-insensitive)
+     * @param minPrice Preço mínimo (opcional)
+     * @param maxPrice Preço máximo (opcional)
+     * @param pageable Configuração de paginação e ordenação
+     * @return Produtos da página, mais um se houver próxima página
+     */
+    List<Product> findSliceBySearchCriteria(
+            String name,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Pageable pageable);
+
+    /**
+     * Conta os produtos que atendem aos critérios de {@link #findBySearchCriteria}.
+     *
+     * @param name Nome do produto (opcional, busca parcial case-insensitive)
+     * @param minPrice Preço mínimo (opcional)
+     * @param maxPrice Preço máximo (opcional)
+     * @return Quantidade exata de produtos
+     */
+    long countBySearchCriteria(String name, BigDecimal minPrice, BigDecimal maxPrice);
+
+    /**
+     * Estima quantos produtos atendem aos critérios de {@link #findBySearchCriteria} com o EXPLAIN do PostgreSQL,
+     * sem ler a tabela. A precisão depende das estatísticas mantidas pelo ANALYZE/autovacuum.
+     *
+     * @param name Nome do produto (opcional, busca parcial case-insensitive)
+     * @param minPrice Preço mínimo (opcional)
+     * @param maxPrice Preço máximo (opcional)
+     * @return Quantidade estimada de produtos
+     */
+    long estimateCountBySearchCriteria(String name, BigDecimal minPrice, BigDecimal maxPrice);
+
+    /**
+     * Busca produtos com os mesmos critérios de {@link #findBySearchCriteria}, paginando por cursor:
+     * os produtos são ordenados por (nome, id) e a busca começa logo depois de {@code after},
+     * sem percorrer as páginas anteriores. O custo não depende da profundidade da página, e não há contagem.
+     *
+     * @param name Nome do produto (opcional, busca parcial case-insensitive)
+     * @param minPrice Preço mínimo (opcional)
+     * @param maxPrice Preço máximo (opcional)
+     * @param after Último produto da página anterior, ou null para a primeira página
+     * @param limit Quantidade máxima de produtos
+     * @return Produtos seguintes ao cursor, na ordem de (nome, id)
+     */
+    List<Product> findBySearchCriteriaAfter(
+            String name,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            ProductCursor after,
+            int limit);
+
+    /**
+     * Retorna quais das chaves (nome, tipo) informadas já existem no banco.
+     * A verificação compara os pares exatos, em consultas com tamanho limitado, e retorna
+     * somente as chaves encontradas, sem carregar as entidades.
+     *
+     * @param keys Chaves a serem verificadas
+     * @return Subconjunto das chaves que já existem em {@code products}
+     */
+    Set<ProductKey> findExistingKeys(Collection<ProductKey> keys);
+
+    /**
+     * Insere produtos em lote via JDBC, sem passar pelo contexto de persistência do JPA.
+     * Com a propriedade {@code reWriteBatchedInserts} do driver PostgreSQL, o lote é enviado
+     * como INSERTs com múltiplas linhas em VALUES, em poucas idas ao banco.
+     * Os produtos não são verificados quanto a duplicidade: o chamador deve garantir que
+     * nenhum par (nome, tipo) já exista.
+     *
+     * @param products Produtos a serem inseridos
+     * @return Número de produtos inseridos
+     */
+    int batchInsert(List<Product> products);
+
+    /**
+     * Carrega produtos com o protocolo COPY do PostgreSQL em uma tabela temporária de
+     * staging e os mescla em {@code products} com INSERT ... ON CONFLICT (name, type).
+     * Pares (nome, tipo) repetidos no lote são descartados pelo próprio banco, sem consulta prévia.
+     *
+     * @param products Produtos a serem carregados
+     * @param onConflict O que fazer com os produtos que já existem
+     * @return Linhas copiadas, inseridas e atualizadas
+     */
+    BulkLoadResult copyMerge(List<Product> products, OnConflict onConflict);
+
+    /**
+     * Grava um lote de produtos com um único INSERT ... ON CONFLICT (name, type), em uma ida ao banco
+     * e sem consultar antes os produtos existentes. O lote não pode conter pares (nome, tipo) repetidos.
+     *
+     * @param products Produtos a serem gravados
+     * @param onConflict O que fazer com os produtos que já existem
+     * @return Linhas enviadas, inseridas e atualizadas
+     */
+    BulkLoadResult upsert(List<Product> products, OnConflict onConflict);
+
+    /**
+     * Remove da tabela de staging as linhas de uma execução da sincronização e as deixadas
+     * por execuções interrompidas há mais de um dia. As linhas de outras execuções em andamento são mantidas.
+     *
+     * @param runId Identificador da execução
+     */
+    void clearSyncStaging(UUID runId);
+
+    /**
+     * Acrescenta produtos à tabela de staging da sincronização com o protocolo COPY do PostgreSQL,
+     * identificados pela execução. Os produtos não são comparados com o catálogo nem entre si até
+     * {@link #syncFromStaging(UUID, long, boolean)}.
+     *
+     * @param runId Identificador da execução
+     * @param products Produtos lidos dos arquivos
+     * @return Número de linhas copiadas
+     */
+    long copyToSyncStaging(UUID runId, List<Product> products);
+
+    /**
+     * Torna {@code products} igual ao catálogo copiado para a staging pela execução, em uma única transação.
+     * Staging e catálogo são lidos em cursores ordenados por (nome, tipo) e intercalados, sem carregar
+     * nenhum dos dois em memória; são gravados apenas os produtos novos e os que tiveram algum valor alterado.
+     * Sincronizações de outras instâncias são serializadas por um advisory lock do PostgreSQL.
+     *
+     * @param runId Identificador da execução
+     * @param expectedRows Linhas copiadas pela execução
+     * @param deleteMissing Indica se os produtos que não estão na staging devem ser removidos
+     * @return Contagem de produtos inseridos, atualizados, removidos e inalterados
+     * @throws IllegalStateException Se a staging não tiver exatamente as linhas copiadas pela execução;
+     *         nesse caso o catálogo não é alterado
+     */
+    CatalogSyncResult syncFromStaging(UUID runId, long expectedRows, boolean deleteMissing);
 }
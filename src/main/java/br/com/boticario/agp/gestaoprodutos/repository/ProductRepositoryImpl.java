@@ -1,8 +1,14 @@
 package br.com.boticario.agp.gestaoprodutos.repository;
 
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties.OnConflict;
+import br.com.boticario.agp.gestaoprodutos.dto.BulkLoadResult;
+import br.com.boticario.agp.gestaoprodutos.dto.CatalogSyncResult;
+import br.com.boticario.agp.gestaoprodutos.dto.ProductCursor;
 import br.com.boticario.agp.gestaoprodutos.model.Product;
+import br.com.boticario.agp.gestaoprodutos.model.ProductKey;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,11 +16,37 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.UncategorizedSQLException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Implementação do repositório personalizado para a entidade Product.
@@ -24,9 +56,102 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductRepositoryImpl implements ProductRepositoryCustom {
 
+    // Os pares são enviados como dois arrays (2 parâmetros, qualquer que seja o tamanho do lote)
+    // e casados exatamente com o índice único uk_products_name_type
+    private static final String FIND_EXISTING_KEYS_SQL =
+            "SELECT p.name, p.type FROM products p "
+            + "JOIN unnest(?::text[], ?::text[]) AS k(name, type) ON p.name = k.name AND p.type = k.type";
+
+    private static final int EXISTING_KEYS_QUERY_SIZE = 5000;
+
+    private static final String INSERT_PRODUCT_SQL =
+            "INSERT INTO products (name, type, price, quantity, industry, origin, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+
+    private static final String CREATE_STAGING_TABLE_SQL =
+            "CREATE TEMPORARY TABLE IF NOT EXISTS products_import_staging ("
+            + "name VARCHAR(100), type VARCHAR(50), price NUMERIC(10, 2), quantity INTEGER, "
+            + "industry VARCHAR(100), origin VARCHAR(50)) ON COMMIT DELETE ROWS";
+
+    private static final String COPY_TO_STAGING_SQL =
+            "COPY products_import_staging (name, type, price, quantity, industry, origin) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String ON_CONFLICT_KEEP_EXISTING = "ON CONFLICT (name, type) DO NOTHING";
+
+    // O WHERE evita reescrever (e gerar nova versão da linha para) produtos cujos valores não mudaram
+    private static final String ON_CONFLICT_REFRESH =
+            "ON CONFLICT (name, type) DO UPDATE SET price = EXCLUDED.price, quantity = EXCLUDED.quantity, "
+            + "updated_at = CURRENT_TIMESTAMP "
+            + "WHERE products.price IS DISTINCT FROM EXCLUDED.price OR products.quantity IS DISTINCT FROM EXCLUDED.quantity";
+
+    // Linhas recém-inseridas têm xmax = 0; as atualizadas pelo ON CONFLICT DO UPDATE, não.
+    // Linhas mantidas como estavam não são retornadas
+    private static final String COUNT_WRITTEN_ROWS_SQL_TEMPLATE =
+            "WITH written AS (%s RETURNING (xmax = 0) AS inserted) "
+            + "SELECT count(*) FILTER (WHERE inserted), count(*) FILTER (WHERE NOT inserted) FROM written";
+
+    // DISTINCT ON descarta repetições dentro do lote; ORDER BY fixa a ordem de travamento das chaves,
+    // evitando deadlocks entre cargas concorrentes com chaves em comum
+    private static final String MERGE_FROM_STAGING_SQL =
+            "INSERT INTO products (name, type, price, quantity, industry, origin, created_at, updated_at) "
+            + "SELECT DISTINCT ON (name, type) name, type, price, quantity, industry, origin, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP "
+            + "FROM products_import_staging ORDER BY name, type ";
+
+    // O lote inteiro vai em seis arrays, portanto o número de parâmetros não depende do tamanho do lote.
+    // Assim como no COPY, o ORDER BY fixa a ordem de travamento entre instâncias concorrentes
+    private static final String UPSERT_SQL =
+            "INSERT INTO products (name, type, price, quantity, industry, origin, created_at, updated_at) "
+            + "SELECT name, type, price, quantity, industry, origin, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP "
+            + "FROM unnest(?::text[], ?::text[], ?::numeric[], ?::integer[], ?::text[], ?::text[]) "
+            + "AS t(name, type, price, quantity, industry, origin) ORDER BY name, type ";
+
+    private static final String COPY_TO_SYNC_STAGING_SQL =
+            "COPY product_sync_staging (run_id, name, type, price, quantity, industry, origin) FROM STDIN WITH (FORMAT csv)";
+
+    // Além das linhas da execução, remove as deixadas por execuções interrompidas há mais de um dia
+    private static final String DELETE_SYNC_STAGING_SQL =
+            "DELETE FROM product_sync_staging WHERE run_id = ? OR staged_at < CURRENT_TIMESTAMP - INTERVAL '1 day'";
+
+    private static final String COUNT_SYNC_STAGING_SQL = "SELECT count(*) FROM product_sync_staging WHERE run_id = ?";
+
+    // Serializa as sincronizações de todas as instâncias; liberado no fim da transação
+    private static final String SYNC_LOCK_SQL = "SELECT pg_advisory_xact_lock(?)";
+
+    private static final long SYNC_LOCK_KEY = 0x70726f6475637473L;
+
+    // Os dois lados são ordenados pelo banco com a collation "C" (ordem dos bytes), reproduzida em Java
+    // por CatalogMerge. O seq mantém à frente a primeira ocorrência de chaves repetidas nos arquivos
+    private static final String SELECT_SYNC_STAGING_SQL =
+            "SELECT name, type, price, quantity, industry, origin FROM product_sync_staging WHERE run_id = ? "
+            + "ORDER BY name COLLATE \"C\", type COLLATE \"C\", seq";
+
+    private static final String SELECT_CATALOG_SQL =
+            "SELECT id, name, type, price, quantity, industry, origin FROM products "
+            + "ORDER BY name COLLATE \"C\", type COLLATE \"C\"";
+
+    private static final String SYNC_UPDATE_SQL =
+            "UPDATE products SET price = ?, quantity = ?, industry = ?, origin = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private static final String SYNC_DELETE_SQL = "DELETE FROM products WHERE id = ANY(?)";
+
+    private static final int SYNC_FETCH_SIZE = 1000;
+
+    private static final int SYNC_WRITE_BATCH_SIZE = 500;
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    // Termos menores não formam trigramas, e o índice idx_products_name_trgm não os filtra
+    private static final int TRIGRAM_MIN_TERM_LENGTH = 3;
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final JdbcTemplate jdbcTemplate;
+
     @Override
     public Page<Product> findBySearchCriteria(
             String name, 
@@ -40,84 +165,12 @@ public class ProductRepositoryImpl implements ProductRepositoryCustom {
                 pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
         
         try {
-            // Criação do CriteriaBuilder e CriteriaQuery
-            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-            
-            // Query para os resultados
-            CriteriaQuery<Product> query = cb.createQuery(Product.class);
-            Root<Product> product = query.from(Product.class);
-            query.select(product);
-            
-            // Lista para armazenar as condições de busca
-            List<Predicate> predicates = new ArrayList<>();
-            
-            // Adiciona condições de busca se os parâmetros forem fornecidos
-            if (name != null && !name.trim().isEmpty()) {
-                String searchName = "%" + name.toLowerCase() + "%";
-                log.info("Adding name filter: {}", searchName);
-                predicates.add(cb.like(cb.lower(product.get("name")), searchName));
-            }
-            
-            if (minPrice != null) {
-                log.info("Adding minPrice filter: {}", minPrice);
-                predicates.add(cb.greaterThanOrEqualTo(product.get("price"), minPrice));
-            }
-            
-            if (maxPrice != null) {
-                log.info("Adding maxPrice filter: {}", maxPrice);
-                predicates.add(cb.lessThanOrEqualTo(product.get("price"), maxPrice));
-            }
-            
-            // Aplica os predicados à consulta
-            if (!predicates.isEmpty()) {
-                log.info("Applying {} predicates to query", predicates.size());
-                query.where(cb.and(predicates.toArray(new Predicate[0])));
-            } else {
-                log.info("No filters applied, will return all products");
-            }
-            
-            // Aplica a ordenação
-            List<Order> orders = new ArrayList<>();
-            if (pageable.getSort().isSorted()) {
-                log.info("Applying sorting: {}", pageable.getSort());
-                for (Sort.Order order : pageable.getSort()) {
-                    String property = order.getProperty();
-                    if (order.getDirection().isAscending()) {
-                        orders.add(cb.asc(product.get(property)));
-                        log.info("Added ASC sort for property: {}", property);
-                    } else {
-                        orders.add(cb.desc(product.get(property)));
-                        log.info("Added DESC sort for property: {}", property);
-                    }
-                }
-                query.orderBy(orders);
-            } else {
-                log.info("No sorting specified, using default");
-            }
-            
-            // Executa a consulta para obter os resultados
-            log.info("Executing paginated query with offset: {}, max results: {}", 
-                    pageable.getOffset(), pageable.getPageSize());
-            
-            List<Product> result = entityManager.createQuery(query)
-                    .setFirstResult((int) pageable.getOffset())
-                    .setMaxResults(pageable.getPageSize())
-                    .getResultList();
-            
+            List<Product> result = selectPage(name, minPrice, maxPrice, pageable, pageable.getPageSize());
             log.info("Found {} products in current page", result.size());
             
-            // Cria uma consulta para contar o total de resultados
-            log.info("Executing count query");
-            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-            // Reutiliza o mesmo Root da query principal para a contagem
-            countQuery.select(cb.count(product));
-            // Reutiliza a mesma cláusula 'where' da query principal
-            if (query.getRestriction() != null) {
-                countQuery.where(query.getRestriction());
-            }
-
             // Executa a consulta de contagem
-            Long total = entityManager.createQuery(countQuery).getSingleResult();
+            log.info("Executing count query");
+            long total = countBySearchCriteria(name, minPrice, maxPrice);
             log.info("Total products matching criteria: {}", total);
             
             // Retorna uma página com os resultados e informações de paginação
@@ -132,4 +185,583 @@ public class ProductRepositoryImpl implements ProductRepositoryCustom {
             throw e;
         }
     }
+
+    @Override
+    public List<Product> findSliceBySearchCriteria(
+            String name,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Pageable pageable) {
+
+        log.info("Slice search - name: '{}', minPrice: {}, maxPrice: {}, page: {}, size: {}",
+                name, minPrice, maxPrice, pageable.getPageNumber(), pageable.getPageSize());
+
+        // Um produto além do tamanho da página indica se existe uma próxima página, sem contagem
+        List<Product> result = selectPage(name, minPrice, maxPrice, pageable, pageable.getPageSize() + 1);
+        log.info("Found {} products in current slice", result.size());
+        return result;
+    }
+
+    @Override
+    public long countBySearchCriteria(String name, BigDecimal minPrice, BigDecimal maxPrice) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        // O Hibernate 6 não aceita um Root de outra consulta: a contagem tem o seu, com as mesmas condições
+        Root<Product> countRoot = countQuery.from(Product.class);
+        countQuery.select(cb.count(countRoot));
+        List<Predicate> countPredicates = buildPredicates(cb, countRoot, name, minPrice, maxPrice);
+        if (!countPredicates.isEmpty()) {
+            countQuery.where(cb.and(countPredicates.toArray(new Predicate[0])));
+        }
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+
+    @Override
+    public long estimateCountBySearchCriteria(String name, BigDecimal minPrice, BigDecimal maxPrice) {
+        // As mesmas condições de buildPredicates, em SQL: o EXPLAIN não executa a consulta,
+        // só a planeja a partir das estatísticas de products (pg_class.reltuples e pg_stats)
+        StringBuilder sql = new StringBuilder("EXPLAIN SELECT 1 FROM products WHERE true");
+        List<Object> args = new ArrayList<>();
+        if (name != null && !name.trim().isEmpty()) {
+            sql.append(" AND lower(name) LIKE ? ESCAPE '").append(LIKE_ESCAPE).append("'");
+            args.add(namePattern(name));
+        }
+        if (minPrice != null) {
+            sql.append(" AND price >= ?");
+            args.add(minPrice);
+        }
+        if (maxPrice != null) {
+            sql.append(" AND price <= ?");
+            args.add(maxPrice);
+        }
+
+        // A primeira linha do plano é o nó raiz, cuja estimativa "rows=" é a do resultado inteiro
+        List<String> plan = jdbcTemplate.queryForList(sql.toString(), String.class, args.toArray());
+        Matcher rows = PLAN_ROWS.matcher(plan.isEmpty() ? "" : plan.get(0));
+        if (!rows.find()) {
+            throw new IllegalStateException("Plano sem estimativa de linhas: " + plan);
+        }
+        long estimate = Long.parseLong(rows.group(1));
+        log.info("Estimated {} products matching name: '{}', minPrice: {}, maxPrice: {}", estimate, name, minPrice, maxPrice);
+        return estimate;
+    }
+
+    /**
+     * Busca até {@code limit} produtos a partir do offset de {@code pageable}, na ordem de {@code pageable}.
+     */
+    private List<Product> selectPage(String name, BigDecimal minPrice, BigDecimal maxPrice,
+                                     Pageable pageable, int limit) {
+        // Criação do CriteriaBuilder e CriteriaQuery
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        
+        // Query para os resultados
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(product);
+        
+        // Condições de busca para os parâmetros fornecidos
+        List<Predicate> predicates = buildPredicates(cb, product, name, minPrice, maxPrice);
+        
+        // Aplica os predicados à consulta
+        if (!predicates.isEmpty()) {
+            log.info("Applying {} predicates to query", predicates.size());
+            query.where(cb.and(predicates.toArray(new Predicate[0])));
+        } else {
+            log.info("No filters applied, will return all products");
+        }
+        
+        // Aplica a ordenação
+        List<Order> orders = new ArrayList<>();
+        if (pageable.getSort().isSorted()) {
+            log.info("Applying sorting: {}", pageable.getSort());
+            boolean trigramSearch = isTrigramSearch(name);
+            for (Sort.Order order : pageable.getSort()) {
+                String property = order.getProperty();
+                Expression<Object> sortKey = product.get(property);
+                if (trigramSearch) {
+                    // Com ORDER BY ... LIMIT, o planejador prefere percorrer o B-tree da coluna de ordenação
+                    // filtrando o nome linha a linha, o que lê quase a tabela inteira quando os produtos
+                    // encontrados ficam no fim da ordem. coalesce(x, x) ordena igual, mas não corresponde
+                    // a nenhum índice: o filtro usa idx_products_name_trgm e só os encontrados são ordenados
+                    sortKey = cb.coalesce(sortKey, sortKey);
+                }
+                if (order.getDirection().isAscending()) {
+                    orders.add(cb.asc(sortKey));
+                    log.info("Added ASC sort for property: {}", property);
+                } else {
+                    orders.add(cb.desc(sortKey));
+                    log.info("Added DESC sort for property: {}", property);
+                }
+            }
+            query.orderBy(orders);
+        } else {
+            log.info("No sorting specified, using default");
+        }
+        
+        // Executa a consulta para obter os resultados
+        log.info("Executing paginated query with offset: {}, max results: {}", 
+                pageable.getOffset(), limit);
+        
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Monta as condições de busca dos parâmetros fornecidos sobre o Root informado.
+     */
+    private List<Predicate> buildPredicates(CriteriaBuilder cb, Root<Product> product,
+                                            String name, BigDecimal minPrice, BigDecimal maxPrice) {
+        List<Predicate> predicates = new ArrayList<>();
+        
+        if (name != null && !name.trim().isEmpty()) {
+            // lower(name) LIKE '%termo%' é a expressão do índice idx_products_name_trgm (pg_trgm);
+            // curingas digitados pelo usuário são escapados para que o termo seja buscado literalmente
+            predicates.add(cb.like(cb.lower(product.get("name")), namePattern(name), LIKE_ESCAPE));
+        }
+        
+        if (minPrice != null) {
+            predicates.add(cb.greaterThanOrEqualTo(product.get("price"), minPrice));
+        }
+        
+        if (maxPrice != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("price"), maxPrice));
+        }
+        
+        return predicates;
+    }
+
+    @Override
+    public List<Product> findBySearchCriteriaAfter(
+            String name,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            ProductCursor after,
+            int limit) {
+
+        log.info("Keyset search - name: '{}', minPrice: {}, maxPrice: {}, after: {}, limit: {}",
+                name, minPrice, maxPrice, after, limit);
+
+        // A comparação de tuplas (row value) vira um intervalo do índice idx_products_name_id;
+        // a Criteria API do JPA não tem como expressá-la, por isso a consulta é montada em HQL
+        StringBuilder hql = new StringBuilder("select p from Product p where 1 = 1");
+        boolean nameFilter = name != null && !name.trim().isEmpty();
+        if (nameFilter) {
+            hql.append(" and lower(p.name) like :name escape '").append(LIKE_ESCAPE).append("'");
+        }
+        if (minPrice != null) {
+            hql.append(" and p.price >= :minPrice");
+        }
+        if (maxPrice != null) {
+            hql.append(" and p.price <= :maxPrice");
+        }
+        if (after != null) {
+            hql.append(" and (p.name, p.id) > (:afterName, :afterId)");
+        }
+        // Mesmo desvio do índice B-tree de findBySearchCriteria quando o nome é filtrado por trigramas
+        hql.append(isTrigramSearch(name) ? " order by coalesce(p.name, p.name), p.id" : " order by p.name, p.id");
+
+        TypedQuery<Product> query = entityManager.createQuery(hql.toString(), Product.class)
+                .setMaxResults(limit);
+        if (nameFilter) {
+            query.setParameter("name", namePattern(name));
+        }
+        if (minPrice != null) {
+            query.setParameter("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            query.setParameter("maxPrice", maxPrice);
+        }
+        if (after != null) {
+            query.setParameter("afterName", after.name());
+            query.setParameter("afterId", after.id());
+        }
+
+        List<Product> result = query.getResultList();
+        log.info("Found {} products after cursor", result.size());
+        return result;
+    }
+
+    /**
+     * Padrão do LIKE para o termo de busca: sem espaços nas pontas, em minúsculas e com os curingas escapados,
+     * para que o termo seja buscado literalmente em qualquer posição do nome.
+     */
+    private static String namePattern(String name) {
+        return "%" + escapeLike(name.trim().toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    private static boolean isTrigramSearch(String name) {
+        return name != null && name.trim().length() >= TRIGRAM_MIN_TERM_LENGTH;
+    }
+
+    /**
+     * Escapa os curingas do LIKE com {@link #LIKE_ESCAPE}.
+     */
+    static String escapeLike(String term) {
+        StringBuilder escaped = new StringBuilder(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    @Override
+    public Set<ProductKey> findExistingKeys(Collection<ProductKey> keys) {
+        Set<ProductKey> existingKeys = new HashSet<>();
+        List<ProductKey> keyList = new ArrayList<>(keys);
+
+        for (int start = 0; start < keyList.size(); start += EXISTING_KEYS_QUERY_SIZE) {
+            List<ProductKey> slice = keyList.subList(start, Math.min(keyList.size(), start + EXISTING_KEYS_QUERY_SIZE));
+            String[] names = new String[slice.size()];
+            String[] types = new String[slice.size()];
+            for (int i = 0; i < slice.size(); i++) {
+                names[i] = slice.get(i).name();
+                types[i] = slice.get(i).type();
+            }
+
+            jdbcTemplate.query(FIND_EXISTING_KEYS_SQL,
+                    ps -> {
+                        ps.setArray(1, ps.getConnection().createArrayOf("text", names));
+                        ps.setArray(2, ps.getConnection().createArrayOf("text", types));
+                    },
+                    (RowCallbackHandler) rs -> existingKeys.add(new ProductKey(rs.getString(1), rs.getString(2))));
+        }
+
+        return existingKeys;
+    }
+
+    @Override
+    public int batchInsert(List<Product> products) {
+        if (products.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Product product = products.get(i);
+                ps.setString(1, product.getName());
+                ps.setString(2, product.getType());
+                ps.setBigDecimal(3, product.getPrice());
+                ps.setInt(4, product.getQuantity());
+                ps.setString(5, product.getIndustry());
+                ps.setString(6, product.getOrigin());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return products.size();
+            }
+        });
+
+        // Com reWriteBatchedInserts o driver não informa a contagem por linha (SUCCESS_NO_INFO);
+        // qualquer falha já teria lançado exceção
+        return products.size();
+    }
+
+    @Override
+    @Transactional
+    public BulkLoadResult copyMerge(List<Product> products, OnConflict onConflict) {
+        if (products.isEmpty()) {
+            return BulkLoadResult.EMPTY;
+        }
+
+        // A tabela temporária pertence à sessão e é esvaziada a cada commit,
+        // portanto a conexão do pool pode reutilizá-la entre lotes
+        jdbcTemplate.execute(CREATE_STAGING_TABLE_SQL);
+
+        long copied = copyIn(COPY_TO_STAGING_SQL, products);
+
+        return countWrittenRows(MERGE_FROM_STAGING_SQL + onConflictClause(onConflict), copied, null);
+    }
+
+    @Override
+    @Transactional
+    public BulkLoadResult upsert(List<Product> products, OnConflict onConflict) {
+        if (products.isEmpty()) {
+            return BulkLoadResult.EMPTY;
+        }
+
+        int size = products.size();
+        String[] names = new String[size];
+        String[] types = new String[size];
+        BigDecimal[] prices = new BigDecimal[size];
+        Integer[] quantities = new Integer[size];
+        String[] industries = new String[size];
+        String[] origins = new String[size];
+        for (int i = 0; i < size; i++) {
+            Product product = products.get(i);
+            names[i] = product.getName();
+            types[i] = product.getType();
+            prices[i] = product.getPrice();
+            quantities[i] = product.getQuantity();
+            industries[i] = product.getIndustry();
+            origins[i] = product.getOrigin();
+        }
+
+        return countWrittenRows(UPSERT_SQL + onConflictClause(onConflict), size, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("text", names));
+            ps.setArray(2, connection.createArrayOf("text", types));
+            ps.setArray(3, connection.createArrayOf("numeric", prices));
+            ps.setArray(4, connection.createArrayOf("int4", quantities));
+            ps.setArray(5, connection.createArrayOf("text", industries));
+            ps.setArray(6, connection.createArrayOf("text", origins));
+        });
+    }
+
+    @Override
+    public void clearSyncStaging(UUID runId) {
+        int deleted = jdbcTemplate.update(DELETE_SYNC_STAGING_SQL, runId);
+        log.debug("Sync staging cleared for run {}: {} rows", runId, deleted);
+    }
+
+    @Override
+    public long copyToSyncStaging(UUID runId, List<Product> products) {
+        if (products.isEmpty()) {
+            return 0;
+        }
+        return copyIn(COPY_TO_SYNC_STAGING_SQL, runId.toString(), products);
+    }
+
+    @Override
+    @Transactional
+    public CatalogSyncResult syncFromStaging(UUID runId, long expectedRows, boolean deleteMissing) {
+        jdbcTemplate.queryForList(SYNC_LOCK_SQL, SYNC_LOCK_KEY);
+        // Sem as linhas copiadas por esta execução, o merge removeria (ou deixaria de atualizar) produtos válidos
+        Long staged = jdbcTemplate.queryForObject(COUNT_SYNC_STAGING_SQL, Long.class, runId);
+        if (staged == null || staged == 0 || staged != expectedRows) {
+            throw new IllegalStateException(String.format(
+                    "Staging da sincronização %s com %d linhas, esperadas %d; catálogo não alterado", runId, staged, expectedRows));
+        }
+
+        // Os cursores só buscam as linhas aos poucos (fetch size) dentro de uma transação; as gravações
+        // usam a mesma conexão, e o cursor de products enxerga o catálogo como estava no início
+        return jdbcTemplate.execute((ConnectionCallback<CatalogSyncResult>) connection -> {
+            try (PreparedStatement desiredQuery = openCursor(connection, SELECT_SYNC_STAGING_SQL);
+                 PreparedStatement currentQuery = openCursor(connection, SELECT_CATALOG_SQL)) {
+                desiredQuery.setObject(1, runId);
+                try (ResultSet desiredRows = desiredQuery.executeQuery();
+                     ResultSet currentRows = currentQuery.executeQuery()) {
+                    SyncWriter writer = new SyncWriter();
+                    CatalogSyncResult result = CatalogMerge.merge(
+                            new ProductRows(desiredRows, SELECT_SYNC_STAGING_SQL, false),
+                            new ProductRows(currentRows, SELECT_CATALOG_SQL, true),
+                            deleteMissing, writer);
+                    writer.flush();
+                    return new CatalogSyncResult(writer.inserted, result.updated(), result.deleted(), result.unchanged());
+                }
+            }
+        });
+    }
+
+    private static PreparedStatement openCursor(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(SYNC_FETCH_SIZE);
+        return statement;
+    }
+
+    private long copyIn(String copySql, List<Product> products) {
+        return copyIn(copySql, null, products);
+    }
+
+    /**
+     * Envia os produtos via COPY; {@code leadingValue}, se informado, vai na primeira coluna de todas as linhas.
+     */
+    private long copyIn(String copySql, String leadingValue, List<Product> products) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            PGCopyOutputStream copyOut = new PGCopyOutputStream(pgConnection, copySql, COPY_BUFFER_SIZE);
+            // O writer não é fechado: endCopy() finaliza o COPY e um close posterior tentaria gravar nele
+            Writer writer = new OutputStreamWriter(copyOut, StandardCharsets.UTF_8);
+            try {
+                for (Product product : products) {
+                    if (leadingValue != null) {
+                        writeCsvText(writer, leadingValue);
+                        writer.write(',');
+                    }
+                    writeCsvRow(writer, product);
+                }
+                writer.flush();
+                return copyOut.endCopy();
+            } catch (IOException | SQLException e) {
+                if (copyOut.isActive()) {
+                    copyOut.cancelCopy();
+                }
+                throw new SQLException("Erro ao enviar produtos via COPY: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private static String onConflictClause(OnConflict onConflict) {
+        return onConflict == OnConflict.REFRESH ? ON_CONFLICT_REFRESH : ON_CONFLICT_KEEP_EXISTING;
+    }
+
+    private BulkLoadResult countWrittenRows(String insertSql, long received, PreparedStatementSetter setter) {
+        return jdbcTemplate.query(String.format(COUNT_WRITTEN_ROWS_SQL_TEMPLATE, insertSql), setter,
+                rs -> {
+                    rs.next();
+                    return new BulkLoadResult(received, rs.getLong(1), rs.getLong(2));
+                });
+    }
+
+    /**
+     * Escreve um produto como uma linha CSV do COPY. Valores nulos ficam sem aspas,
+     * o que o PostgreSQL interpreta como NULL.
+     */
+    private static void writeCsvRow(Writer writer, Product product) throws IOException {
+        writeCsvText(writer, product.getName());
+        writer.write(',');
+        writeCsvText(writer, product.getType());
+        writer.write(',');
+        writer.write(product.getPrice().toPlainString());
+        writer.write(',');
+        writer.write(Integer.toString(product.getQuantity()));
+        writer.write(',');
+        writeCsvText(writer, product.getIndustry());
+        writer.write(',');
+        writeCsvText(writer, product.getOrigin());
+        writer.write('\n');
+    }
+
+    private static void writeCsvText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Percorre um ResultSet de produtos como {@link Iterator}, convertendo uma linha por vez.
+     */
+    private static final class ProductRows implements Iterator<Product> {
+
+        private final ResultSet rows;
+        private final String sql;
+        private final boolean withId;
+        private Boolean hasNext;
+
+        private ProductRows(ResultSet rows, String sql, boolean withId) {
+            this.rows = rows;
+            this.sql = sql;
+            this.withId = withId;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                try {
+                    hasNext = rows.next();
+                } catch (SQLException e) {
+                    throw new UncategorizedSQLException("syncFromStaging", sql, e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Product next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            try {
+                int column = withId ? 2 : 1;
+                return Product.builder()
+                        .id(withId ? rows.getLong(1) : null)
+                        .name(rows.getString(column))
+                        .type(rows.getString(column + 1))
+                        .price(rows.getBigDecimal(column + 2))
+                        .quantity(rows.getInt(column + 3))
+                        .industry(rows.getString(column + 4))
+                        .origin(rows.getString(column + 5))
+                        .build();
+            } catch (SQLException e) {
+                throw new UncategorizedSQLException("syncFromStaging", sql, e);
+            }
+        }
+    }
+
+    /**
+     * Acumula as alterações da sincronização e as grava em lotes JDBC de {@value #SYNC_WRITE_BATCH_SIZE}.
+     */
+    private final class SyncWriter implements CatalogMerge.Changes {
+
+        private final List<Product> inserts = new ArrayList<>(SYNC_WRITE_BATCH_SIZE);
+        private final List<Product> updates = new ArrayList<>(SYNC_WRITE_BATCH_SIZE);
+        private final List<Long> deletes = new ArrayList<>(SYNC_WRITE_BATCH_SIZE);
+        private long inserted;
+
+        @Override
+        public void insert(Product desired) {
+            inserts.add(desired);
+            if (inserts.size() == SYNC_WRITE_BATCH_SIZE) {
+                flushInserts();
+            }
+        }
+
+        @Override
+        public void update(Long id, Product desired) {
+            desired.setId(id);
+            updates.add(desired);
+            if (updates.size() == SYNC_WRITE_BATCH_SIZE) {
+                flushUpdates();
+            }
+        }
+
+        @Override
+        public void delete(Long id) {
+            deletes.add(id);
+            if (deletes.size() == SYNC_WRITE_BATCH_SIZE) {
+                flushDeletes();
+            }
+        }
+
+        void flush() {
+            flushInserts();
+            flushUpdates();
+            flushDeletes();
+        }
+
+        private void flushInserts() {
+            if (inserts.isEmpty()) {
+                return;
+            }
+            // Uma carga concorrente (diretório monitorado, upload) pode ter inserido a chave depois da leitura
+            // de products; o INSERT ... ON CONFLICT DO NOTHING a mantém e só as linhas realmente inseridas são
+            // contadas, o que um batchUpdate não informa com reWriteBatchedInserts
+            inserted += upsert(inserts, OnConflict.KEEP_EXISTING).inserted();
+            inserts.clear();
+        }
+
+        private void flushUpdates() {
+            if (updates.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(SYNC_UPDATE_SQL, updates, updates.size(), (ps, product) -> {
+                ps.setBigDecimal(1, product.getPrice());
+                ps.setInt(2, product.getQuantity());
+                ps.setString(3, product.getIndustry());
+                ps.setString(4, product.getOrigin());
+                ps.setLong(5, product.getId());
+            });
+            updates.clear();
+        }
+
+        private void flushDeletes() {
+            if (deletes.isEmpty()) {
+                return;
+            }
+            Long[] ids = deletes.toArray(new Long[0]);
+            jdbcTemplate.update(SYNC_DELETE_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("int8", ids)));
+            deletes.clear();
+        }
+    }
 }
@@ -42,6 +42,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             "/webjars/**"
     );
 
+    // Health probes are public, but a valid token still authenticates the request so that details are shown
+    private static final List<String> OPTIONAL_AUTH_URLS = Arrays.asList(
+            "/actuator/health",
+            "/actuator/health/liveness",
+            "/actuator/health/readiness"
+    );
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -58,8 +65,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String jwt;
         final String username;
 
-        // If no Authorization header or not a Bearer token, return 401
+        // If no Authorization header or not a Bearer token, return 401 (or proceed anonymously on health probes)
         if (!StringUtils.hasText(authHeader) || !authHeader.startsWith(BEARER_PREFIX)) {
+            if (matches(OPTIONAL_AUTH_URLS, request)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
             response.getWriter().write("{\"message\": \"Token de autenticação ausente ou inválido.\"}");
@@ -91,7 +102,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     private boolean isPublicUrl(HttpServletRequest request) {
+        return matches(PUBLIC_URLS, request);
+    }
+
+    private boolean matches(List<String> patterns, HttpServletRequest request) {
         String requestUri = request.getRequestURI();
-        return PUBLIC_URLS.stream().anyMatch(pattern -> pathMatcher.match(pattern, requestUri));
+        return patterns.stream().anyMatch(pattern -> pathMatcher.match(pattern, requestUri));
     }
 }
\ No newline at end of file
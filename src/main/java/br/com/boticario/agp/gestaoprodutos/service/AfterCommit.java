@@ -0,0 +1,33 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia ações sobre os caches até o commit da transação atual, para que nenhuma leitura concorrente
+ * volte a guardar a versão anterior dos produtos.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Executa a ação quando a transação atual for confirmada, ou imediatamente, fora de transação.
+     * Em caso de rollback, a ação não é executada.
+     *
+     * @param action Ação a ser executada
+     */
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Intervalo de bytes {@code [start, end)} de um arquivo de importação.
+ *
+ * @param start Posição do primeiro byte, inclusiva
+ * @param end Posição final, exclusiva
+ */
+record ByteRange(long start, long end) {
+
+    /**
+     * Divide um arquivo em intervalos de tamanho aproximadamente igual.
+     * Os limites não precisam coincidir com quebras de linha: {@link LineRangeInputStream}
+     * atribui cada linha ao intervalo em que ela começa.
+     *
+     * @param size Tamanho do arquivo em bytes
+     * @param parts Número de intervalos desejado
+     * @return Os intervalos, em ordem, cobrindo o arquivo inteiro
+     */
+    static List<ByteRange> split(long size, int parts) {
+        int count = (int) Math.max(1, Math.min(parts, size));
+        List<ByteRange> ranges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ranges.add(new ByteRange(size * i / count, size * (i + 1) / count));
+        }
+        return ranges;
+    }
+}
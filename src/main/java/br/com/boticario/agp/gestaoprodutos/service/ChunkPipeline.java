@@ -0,0 +1,179 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Liga a leitura de um arquivo à gravação dos seus lotes por meio de uma fila limitada.
+ * A thread de leitura entrega os lotes com {@link #accept(List)}; uma thread do executor de gravação
+ * os retira da fila, na ordem de leitura, e acumula os resultados até {@link #finish()}.
+ * Com a fila cheia, {@link #accept(List)} bloqueia até que a gravação libere espaço.
+ * Sem executor, cada lote é gravado na própria thread de leitura.
+ *
+ * @param <R> Tipo do resultado da gravação de cada lote
+ */
+final class ChunkPipeline<R> implements Consumer<List<Product>> {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+    private static final List<Product> END_OF_FILE = new ArrayList<>(0);
+
+    private final Function<List<Product>, R> writer;
+    private final BinaryOperator<R> combiner;
+    private final BlockingQueue<List<Product>> queue;
+    private final CompletableFuture<R> writing;
+    private volatile boolean aborted;
+    private R result;
+
+    private ChunkPipeline(R identity, Function<List<Product>, R> writer, BinaryOperator<R> combiner,
+                          int queueCapacity, Executor writerExecutor) {
+        this.writer = writer;
+        this.combiner = combiner;
+        this.result = identity;
+        if (writerExecutor == null) {
+            this.queue = null;
+            this.writing = null;
+        } else {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.writing = CompletableFuture.supplyAsync(this::drain, writerExecutor);
+        }
+    }
+
+    /**
+     * Cria um pipeline cujos lotes são gravados pelo executor informado.
+     *
+     * @param identity Resultado inicial, antes de qualquer lote
+     * @param writer Gravação de um lote
+     * @param combiner Combinação dos resultados de dois lotes
+     * @param queueCapacity Número máximo de lotes aguardando gravação
+     * @param writerExecutor Executor das threads de gravação
+     * @return O pipeline, com a etapa de gravação já iniciada
+     */
+    static <R> ChunkPipeline<R> async(R identity, Function<List<Product>, R> writer, BinaryOperator<R> combiner,
+                                      int queueCapacity, Executor writerExecutor) {
+        return new ChunkPipeline<>(identity, writer, combiner, queueCapacity, writerExecutor);
+    }
+
+    /**
+     * Cria um pipeline que grava cada lote na thread que o entrega.
+     *
+     * @param identity Resultado inicial, antes de qualquer lote
+     * @param writer Gravação de um lote
+     * @param combiner Combinação dos resultados de dois lotes
+     * @return O pipeline
+     */
+    static <R> ChunkPipeline<R> direct(R identity, Function<List<Product>, R> writer, BinaryOperator<R> combiner) {
+        return new ChunkPipeline<>(identity, writer, combiner, 0, null);
+    }
+
+    /**
+     * Entrega um lote para gravação. O lote não deve ser alterado depois de entregue.
+     *
+     * @param chunk Lote de produtos válidos
+     * @throws RuntimeException O erro da gravação de um lote anterior, se houver
+     */
+    @Override
+    public void accept(List<Product> chunk) {
+        if (queue == null) {
+            result = combiner.apply(result, writer.apply(chunk));
+        } else {
+            enqueue(chunk);
+        }
+    }
+
+    /**
+     * Sinaliza o fim do arquivo e aguarda a gravação dos lotes pendentes.
+     *
+     * @return Os resultados de todos os lotes combinados
+     * @throws RuntimeException O erro da gravação, se algum lote falhou
+     */
+    R finish() {
+        if (queue == null) {
+            return result;
+        }
+        enqueue(END_OF_FILE);
+        try {
+            return writing.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Interrompe a gravação depois de uma falha na leitura, quando {@link #finish()} não será chamado.
+     * Os lotes ainda na fila são descartados e a thread de gravação é liberada.
+     */
+    void abort() {
+        if (queue == null) {
+            return;
+        }
+        aborted = true;
+        // Acorda a gravação sem esperar pelo intervalo de espera da fila; se ela estiver cheia, o aviso é dispensável
+        queue.offer(END_OF_FILE);
+    }
+
+    private void enqueue(List<Product> chunk) {
+        try {
+            // Espera em intervalos para não ficar bloqueado se a gravação falhar com a fila cheia
+            while (!queue.offer(chunk, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                failIfWriterStopped();
+            }
+            failIfWriterStopped();
+        } catch (InterruptedException e) {
+            aborted = true;
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Leitura interrompida enquanto aguardava a gravação dos produtos", e);
+        }
+    }
+
+    private void failIfWriterStopped() {
+        if (writing.isCompletedExceptionally()) {
+            try {
+                writing.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+    }
+
+    private R drain() {
+        R total = result;
+        try {
+            while (true) {
+                List<Product> chunk = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (aborted) {
+                    throw new IllegalStateException("Leitura do arquivo interrompida");
+                }
+                if (chunk == END_OF_FILE) {
+                    return total;
+                }
+                if (chunk != null) {
+                    total = combiner.apply(total, writer.apply(chunk));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Gravação dos produtos interrompida", e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,239 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ProductImportDto;
+import br.com.boticario.agp.gestaoprodutos.exception.InvalidCsvFormatException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Leitor de arquivos CSV separados por vírgula, em UTF-8, com cabeçalho na primeira linha.
+ * As colunas são identificadas pelo cabeçalho ({@code product}, {@code type}, {@code price},
+ * {@code quantity}, {@code industry}, {@code origin}), em qualquer ordem; colunas desconhecidas são ignoradas.
+ * Campos podem estar entre aspas, com aspas internas duplicadas, mas não podem conter quebras de linha,
+ * para que o arquivo possa ser dividido por linhas.
+ */
+final class CsvRecordReader implements ProductRecordReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final BufferedReader reader;
+    private final Header header;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private String malformedField;
+
+    /**
+     * @param inputStream Conteúdo do arquivo ou de um intervalo dele
+     * @param filename Nome do arquivo, usado nas mensagens de erro
+     * @param header Cabeçalho já lido do arquivo, ou null se a primeira linha do conteúdo é o cabeçalho
+     */
+    CsvRecordReader(InputStream inputStream, String filename, Header header) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (header == null) {
+            String line = reader.readLine();
+            if (line == null) {
+                reader.close();
+                throw new InvalidCsvFormatException("Formato CSV inválido no arquivo " + filename + ": cabeçalho ausente");
+            }
+            header = Header.parse(line, filename);
+        }
+        this.header = header;
+    }
+
+    @Override
+    public ProductImportDto next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        split(line, fields, field);
+        malformedField = null;
+        ProductImportDto dto = new ProductImportDto();
+        dto.setProduct(header.value(fields, Header.PRODUCT));
+        dto.setType(header.value(fields, Header.TYPE));
+        dto.setPrice(header.value(fields, Header.PRICE));
+        dto.setIndustry(header.value(fields, Header.INDUSTRY));
+        dto.setOrigin(header.value(fields, Header.ORIGIN));
+
+        String quantity = header.value(fields, Header.QUANTITY);
+        if (quantity != null) {
+            long parsed = parseInt(quantity);
+            if (parsed == Long.MIN_VALUE) {
+                malformedField = ImportRowValidator.FIELD_QUANTITY;
+            } else {
+                dto.setQuantity((int) parsed);
+            }
+        }
+        return dto;
+    }
+
+    @Override
+    public String malformedField() {
+        return malformedField;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Separa os campos de uma linha. Campos sem aspas têm os espaços das extremidades removidos,
+     * e campos vazios viram null.
+     */
+    static void split(String line, List<String> fields, StringBuilder field) {
+        fields.clear();
+        int length = line.length();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            boolean quoted = false;
+            while (i < length && line.charAt(i) == ' ') {
+                i++;
+            }
+            if (i < length && line.charAt(i) == QUOTE) {
+                quoted = true;
+                i++;
+                while (i < length) {
+                    char c = line.charAt(i++);
+                    if (c == QUOTE) {
+                        if (i < length && line.charAt(i) == QUOTE) {
+                            field.append(QUOTE);
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+            }
+            while (i < length && line.charAt(i) != SEPARATOR) {
+                field.append(line.charAt(i++));
+            }
+            String value = quoted ? field.toString() : field.toString().strip();
+            fields.add(value.isEmpty() && !quoted ? null : value);
+            if (i >= length) {
+                return;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Converte um inteiro sem lançar exceção.
+     *
+     * @return O valor, ou {@link Long#MIN_VALUE} se o texto não for um inteiro de 32 bits
+     */
+    static long parseInt(String text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        if (i == length || length - i > 10) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + (c - '0');
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+    }
+
+    /**
+     * Posição de cada coluna conhecida no cabeçalho do arquivo.
+     */
+    static final class Header {
+
+        static final int PRODUCT = 0;
+        static final int TYPE = 1;
+        static final int PRICE = 2;
+        static final int QUANTITY = 3;
+        static final int INDUSTRY = 4;
+        static final int ORIGIN = 5;
+        private static final String[] NAMES = {"product", "type", "price", "quantity", "industry", "origin"};
+        private static final int REQUIRED_COLUMNS = 4;
+
+        private final int[] positions;
+
+        private Header(int[] positions) {
+            this.positions = positions;
+        }
+
+        /**
+         * Lê o cabeçalho na primeira linha de um arquivo.
+         *
+         * @param file O arquivo
+         * @return O cabeçalho
+         * @throws IOException Se o arquivo não puder ser lido
+         */
+        static Header read(Path file) throws IOException {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line = reader.readLine();
+                if (line == null) {
+                    throw new InvalidCsvFormatException("Formato CSV inválido no arquivo " + file.getFileName() + ": cabeçalho ausente");
+                }
+                return parse(line, file.getFileName().toString());
+            }
+        }
+
+        static Header parse(String line, String filename) {
+            if (!line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK) {
+                line = line.substring(1);
+            }
+            List<String> columns = new ArrayList<>();
+            split(line, columns, new StringBuilder());
+
+            int[] positions = {-1, -1, -1, -1, -1, -1};
+            for (int column = 0; column < columns.size(); column++) {
+                String name = columns.get(column) == null ? "" : columns.get(column).toLowerCase(Locale.ROOT);
+                for (int known = 0; known < NAMES.length; known++) {
+                    if (NAMES[known].equals(name) && positions[known] == -1) {
+                        positions[known] = column;
+                    }
+                }
+            }
+
+            List<String> missing = new ArrayList<>();
+            for (int known = 0; known < REQUIRED_COLUMNS; known++) {
+                if (positions[known] == -1) {
+                    missing.add(NAMES[known]);
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new InvalidCsvFormatException(String.format(
+                        "Formato CSV inválido no arquivo %s: colunas obrigatórias ausentes no cabeçalho: %s", filename, missing));
+            }
+            return new Header(positions);
+        }
+
+        String value(List<String> fields, int column) {
+            int position = positions[column];
+            return position >= 0 && position < fields.size() ? fields.get(position) : null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.model.Product;
+
+import java.util.ArrayList;
+
+/**
+ * Lote de produtos válidos que sabe de qual trecho do arquivo veio e até que linha do trecho foi lido.
+ * A gravação usa essa posição para avançar o ponto de retomada no mesmo commit do lote.
+ */
+final class ImportChunk extends ArrayList<Product> {
+
+    private final int segmentIndex;
+    private final int segmentCount;
+    private long endRow;
+
+    /**
+     * @param segmentIndex Posição do trecho no arquivo, a partir de 0
+     * @param segmentCount Número de trechos em que o arquivo é lido (1 se for lido inteiro)
+     * @param capacity Capacidade inicial do lote
+     */
+    ImportChunk(int segmentIndex, int segmentCount, int capacity) {
+        super(capacity);
+        this.segmentIndex = segmentIndex;
+        this.segmentCount = segmentCount;
+    }
+
+    int segmentIndex() {
+        return segmentIndex;
+    }
+
+    int segmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * @return Linhas do trecho lidas até o fim do lote, inclusive as rejeitadas
+     */
+    long endRow() {
+        return endRow;
+    }
+
+    void endAt(long row) {
+        endRow = row;
+    }
+}
@@ -0,0 +1,265 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties;
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportRun;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Monitora um diretório de entrada e importa os arquivos de produtos assim que eles são criados,
+ * sem depender de reinícios da aplicação. Cada arquivo passa pelo mesmo fluxo de leitura, validação
+ * e persistência da carga completa e, ao final, é movido para o diretório de processados
+ * ou, se não puder ser lido, para o de falhas, com a data e hora da movimentação no nome.
+ * Falhas de banco de dados mantêm o arquivo no diretório de entrada, para nova tentativa
+ * na próxima varredura periódica ({@code product-import.watch.rescan-interval}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportDirectoryWatcher {
+
+    private static final String WATCHER_THREAD_NAME = "product-import-watcher";
+    private static final String RESCAN_THREAD_NAME = "product-import-rescan";
+    private static final DateTimeFormatter MOVED_AT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private final JsonFileProcessorService jsonFileProcessorService;
+    private final ProductImportProperties importProperties;
+    private final ImportRunService importRunService;
+
+    // Um arquivo pode ser visto pela varredura inicial e por um evento ao mesmo tempo
+    private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+
+    private Path inbox;
+    private Path processedDirectory;
+    private Path failedDirectory;
+    private PathMatcher fileMatcher;
+    private volatile WatchService watchService;
+    private volatile ScheduledExecutorService rescanScheduler;
+
+    /**
+     * Inicia o monitoramento quando a aplicação estiver pronta, se habilitado.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ProductImportProperties.Watch watch = importProperties.watch();
+        if (!watch.enabled()) {
+            return;
+        }
+        if (watch.directory() == null || watch.directory().isBlank()) {
+            log.warn("Monitoramento de arquivos habilitado sem diretório (product-import.watch.directory); ignorado");
+            return;
+        }
+        try {
+            start();
+        } catch (IOException e) {
+            log.error("Erro ao iniciar o monitoramento do diretório {}: {}", watch.directory(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cria os diretórios, importa os arquivos já presentes na entrada e inicia a thread de monitoramento
+     * e a varredura periódica.
+     *
+     * @throws IOException Se os diretórios não puderem ser criados ou monitorados
+     */
+    void start() throws IOException {
+        ProductImportProperties.Watch watch = importProperties.watch();
+        inbox = Path.of(watch.directory()).toAbsolutePath();
+        processedDirectory = Path.of(watch.processedDirectory()).toAbsolutePath();
+        failedDirectory = Path.of(watch.failedDirectory()).toAbsolutePath();
+        fileMatcher = inbox.getFileSystem().getPathMatcher("glob:" + watch.filePattern());
+
+        Files.createDirectories(inbox);
+        Files.createDirectories(processedDirectory);
+        Files.createDirectories(failedDirectory);
+
+        // O registro precede a varredura para que arquivos criados entre as duas etapas não sejam perdidos
+        watchService = inbox.getFileSystem().newWatchService();
+        inbox.register(watchService, ENTRY_CREATE);
+        scanInbox();
+
+        Thread watcherThread = new Thread(this::watchLoop, WATCHER_THREAD_NAME);
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+
+        long rescanMillis = watch.rescanInterval().toMillis();
+        rescanScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, RESCAN_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        rescanScheduler.scheduleWithFixedDelay(this::scanInbox, rescanMillis, rescanMillis, TimeUnit.MILLISECONDS);
+        log.info("Monitorando o diretório {} (arquivos {}, varredura a cada {})", inbox, watch.filePattern(), watch.rescanInterval());
+    }
+
+    /**
+     * Encerra o monitoramento. Importações já submetidas continuam no executor de importação.
+     */
+    @PreDestroy
+    public void stop() {
+        ScheduledExecutorService scheduler = rescanScheduler;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        WatchService current = watchService;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.close();
+        } catch (IOException e) {
+            log.warn("Erro ao encerrar o monitoramento do diretório {}: {}", inbox, e.getMessage());
+        }
+    }
+
+    private void watchLoop() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    // Eventos foram descartados pelo sistema operacional; a varredura recupera os arquivos perdidos
+                    scanInbox();
+                } else {
+                    ingest(inbox.resolve((Path) event.context()));
+                }
+            }
+
+            if (!key.reset()) {
+                log.error("Diretório {} não está mais acessível; monitoramento encerrado", inbox);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Importa todos os arquivos presentes no diretório de entrada, exceto os que já estão em importação.
+     */
+    void scanInbox() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(inbox)) {
+            for (Path file : files) {
+                ingest(file);
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            log.error("Erro ao listar o diretório {}: {}", inbox, e.getMessage(), e);
+        } catch (RuntimeException e) {
+            // Uma exceção encerraria a varredura periódica
+            log.error("Erro na varredura do diretório {}: {}", inbox, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Submete um arquivo ao executor de importação e o move ao final.
+     * Com a fila do executor cheia, a importação roda na thread de monitoramento,
+     * o que desacelera a leitura de novos eventos em vez de acumular tarefas.
+     *
+     * @param file Arquivo criado no diretório de entrada
+     * @return Futuro concluído quando o arquivo tiver sido importado e movido
+     */
+    CompletableFuture<Void> ingest(Path file) {
+        if (!Files.isRegularFile(file) || !fileMatcher.matches(file.getFileName()) || !inFlight.add(file)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // A importação anterior pode ter movido o arquivo entre a listagem da varredura e a reserva acima
+        if (!Files.isRegularFile(file)) {
+            inFlight.remove(file);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        log.info("Novo arquivo de produtos detectado: {}", file);
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        CompletableFuture<JsonFileProcessorService.FileImportResult> future;
+        try {
+            future = jsonFileProcessorService.submitFile(new FileSystemResource(file), false, ImportSource.WATCH);
+        } catch (RuntimeException e) {
+            inFlight.remove(file);
+            log.error("Erro ao submeter o arquivo {}; mantido em {} para nova tentativa: {}",
+                    file.getFileName(), inbox, e.getMessage(), e);
+            importRunService.recordFailed(ProductImportRun.Trigger.WATCH, startedAt, e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        return future.handle((result, ex) -> {
+            try {
+                if (ex != null) {
+                    log.error("Erro ao importar o arquivo {}; mantido em {} para nova tentativa: {}",
+                            file.getFileName(), inbox, ex.getMessage(), ex);
+                    importRunService.recordFailed(ProductImportRun.Trigger.WATCH, startedAt, ex.getMessage());
+                } else {
+                    importRunService.recordCompleted(ProductImportRun.Trigger.WATCH, startedAt,
+                            JsonFileProcessorService.summarize(List.of(result)));
+                    moveTo(file, result.completed() ? processedDirectory : failedDirectory);
+                }
+            } finally {
+                inFlight.remove(file);
+            }
+            return null;
+        });
+    }
+
+    private void moveTo(Path file, Path directory) {
+        Path target = uniqueTarget(directory, file.getFileName().toString(), Instant.now());
+        try {
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(file, target);
+            }
+            log.info("Arquivo {} movido para {}", file.getFileName(), target);
+        } catch (IOException e) {
+            log.error("Erro ao mover o arquivo {} para {}: {}", file, directory, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Nome de destino de um arquivo movido, com a data e hora da movimentação antes da extensão
+     * ({@code data_1.json} vira {@code data_1-20261017T071500123Z.json}), para que arquivos com o mesmo nome
+     * recebidos em momentos diferentes não se sobrescrevam. Se o nome já existir, recebe também um contador.
+     *
+     * @param directory Diretório de destino
+     * @param fileName Nome original do arquivo
+     * @param movedAt Momento da movimentação
+     * @return Caminho ainda inexistente no diretório de destino
+     */
+    static Path uniqueTarget(Path directory, String fileName, Instant movedAt) {
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = dot > 0 ? fileName.substring(dot) : "";
+        String stamped = base + "-" + MOVED_AT.format(movedAt);
+        Path target = directory.resolve(stamped + extension);
+        for (int attempt = 1; Files.exists(target); attempt++) {
+            target = directory.resolve(stamped + "-" + attempt + extension);
+        }
+        return target;
+    }
+}
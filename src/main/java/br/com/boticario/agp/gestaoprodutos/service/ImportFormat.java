@@ -0,0 +1,129 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ProductImportDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Formatos aceitos nos arquivos de importação, identificados pela extensão do arquivo.
+ * Os formatos orientados a linha (NDJSON e CSV) podem ser lidos por intervalos de bytes,
+ * o que permite dividir um arquivo grande entre várias threads.
+ */
+enum ImportFormat {
+
+    /**
+     * Array JSON de produtos, ou objeto com o array no campo {@code data}. Extensão padrão.
+     */
+    JSON("INVALID_JSON") {
+        @Override
+        ProductRecordReader open(InputStream inputStream, String filename) throws IOException {
+            return new JsonArrayRecordReader(inputStream, filename);
+        }
+    },
+    /**
+     * Um objeto JSON de produto por linha ({@code .ndjson} ou {@code .jsonl}).
+     */
+    NDJSON("INVALID_JSON") {
+        @Override
+        ProductRecordReader open(InputStream inputStream, String filename) throws IOException {
+            return new NdjsonRecordReader(inputStream);
+        }
+    },
+    /**
+     * Valores separados por vírgula com cabeçalho ({@code .csv}). Campos entre aspas não podem conter quebras de linha.
+     */
+    CSV("INVALID_CSV") {
+        @Override
+        ProductRecordReader open(InputStream inputStream, String filename) throws IOException {
+            return new CsvRecordReader(inputStream, filename, null);
+        }
+    };
+
+    static final ObjectReader JSON_PRODUCT_READER = new ObjectMapper().readerFor(ProductImportDto.class);
+
+    private final String invalidFileCode;
+
+    ImportFormat(String invalidFileCode) {
+        this.invalidFileCode = invalidFileCode;
+    }
+
+    /**
+     * Abre a leitura do arquivo inteiro.
+     *
+     * @param inputStream Conteúdo do arquivo
+     * @param filename Nome do arquivo, usado nas mensagens de erro
+     * @return O leitor das linhas de produtos
+     * @throws IOException Se o início do arquivo não puder ser lido
+     */
+    abstract ProductRecordReader open(InputStream inputStream, String filename) throws IOException;
+
+    /**
+     * Abre a leitura das linhas que começam dentro de um intervalo de bytes do arquivo.
+     * Lendo todos os intervalos de {@link ByteRange#split(long, int)}, cada linha é lida exatamente uma vez.
+     *
+     * @param file Arquivo no sistema de arquivos
+     * @param range Intervalo de bytes
+     * @return O leitor das linhas do intervalo
+     * @throws IOException Se o arquivo não puder ser lido
+     * @throws UnsupportedOperationException Se o formato não for orientado a linha
+     */
+    ProductRecordReader openRange(Path file, ByteRange range) throws IOException {
+        String filename = file.getFileName().toString();
+        LineRangeInputStream inputStream = new LineRangeInputStream(file, range);
+        try {
+            return switch (this) {
+                case NDJSON -> new NdjsonRecordReader(inputStream);
+                // O cabeçalho está no primeiro intervalo; os demais usam o cabeçalho lido do início do arquivo
+                case CSV -> new CsvRecordReader(inputStream, filename,
+                        range.start() == 0 ? null : CsvRecordReader.Header.read(file));
+                case JSON -> throw new UnsupportedOperationException("Arquivos JSON não podem ser lidos por intervalos");
+            };
+        } catch (IOException | RuntimeException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Indica se as linhas do formato são delimitadas por quebras de linha, permitindo a leitura por intervalos.
+     *
+     * @return true para NDJSON e CSV
+     */
+    boolean isLineOriented() {
+        return this != JSON;
+    }
+
+    /**
+     * Código registrado no relatório de validação quando a estrutura do arquivo é inválida.
+     *
+     * @return O código do erro de formato
+     */
+    String invalidFileCode() {
+        return invalidFileCode;
+    }
+
+    /**
+     * Identifica o formato pela extensão do arquivo; arquivos sem extensão conhecida são tratados como JSON.
+     *
+     * @param filename Nome do arquivo
+     * @return O formato do arquivo
+     */
+    static ImportFormat forFileName(String filename) {
+        if (filename == null) {
+            return JSON;
+        }
+        String name = filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        return JSON;
+    }
+}
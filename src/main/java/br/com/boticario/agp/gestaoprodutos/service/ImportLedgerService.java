@@ -0,0 +1,166 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportCheckpoint;
+import br.com.boticario.agp.gestaoprodutos.repository.ProductImportCheckpointRepository;
+import br.com.boticario.agp.gestaoprodutos.repository.ProductImportLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço que mantém o registro (ledger) dos arquivos de produtos já importados.
+ * Cada arquivo é identificado pela origem e pela URI (ou caminho absoluto), de modo que arquivos com o mesmo
+ * nome em diretórios ou origens diferentes têm registros próprios, e é reconhecido como inalterado quando o tamanho
+ * e o hash SHA-256 do conteúdo coincidem com os da última carga bem-sucedida.
+ * Enquanto a carga de um arquivo não termina, cada lote gravado avança no mesmo commit um ponto de
+ * retomada (checkpoint), de modo que uma carga interrompida continua do último lote gravado.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportLedgerService {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final ProductImportLedgerRepository ledgerRepository;
+    private final ProductImportCheckpointRepository checkpointRepository;
+
+    /**
+     * Identificação de um arquivo e do seu conteúdo no momento da carga.
+     *
+     * @param source Origem do arquivo
+     * @param sourceUri URI ou caminho absoluto do arquivo; a chave do ledger junto com a origem
+     * @param fileName Nome do arquivo, usado nos logs
+     * @param size Tamanho em bytes
+     * @param contentHash Hash SHA-256 do conteúdo, em hexadecimal
+     */
+    public record FileFingerprint(ImportSource source, String sourceUri, String fileName, long size, String contentHash) {
+    }
+
+    /**
+     * Calcula a identificação de um arquivo lendo seu conteúdo uma vez.
+     *
+     * @param resource O arquivo
+     * @param source Origem do arquivo
+     * @return A origem, a URI, o nome, o tamanho e o hash do conteúdo do arquivo
+     * @throws IOException Se o arquivo não puder ser lido
+     */
+    public FileFingerprint fingerprint(Resource resource, ImportSource source) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        long size = 0;
+        try (InputStream inputStream = resource.getInputStream()) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                size += read;
+            }
+        }
+        return new FileFingerprint(source, sourceUri(resource), resource.getFilename(), size,
+                HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * URI que identifica um arquivo entre cargas. Para entradas de um jar (arquivos do classpath na aplicação
+     * empacotada), só o caminho da entrada é usado, pois o caminho do próprio jar muda entre implantações.
+     *
+     * @param resource O arquivo
+     * @return A URI do arquivo, ou a descrição do recurso se ele não tiver URI
+     */
+    static String sourceUri(Resource resource) {
+        try {
+            String uri = resource.getURI().toString();
+            int entry = uri.lastIndexOf("!/");
+            return entry >= 0 ? "classpath:" + uri.substring(entry + 2) : uri;
+        } catch (IOException e) {
+            return resource.getDescription();
+        }
+    }
+
+    /**
+     * Verifica se o arquivo já foi importado com o mesmo conteúdo.
+     *
+     * @param fingerprint A identificação atual do arquivo
+     * @return true se a última carga registrada tem o mesmo tamanho e hash
+     */
+    @Transactional(readOnly = true)
+    public boolean isUnchanged(FileFingerprint fingerprint) {
+        return ledgerRepository.findBySourceKindAndSourceUri(fingerprint.source().name(), fingerprint.sourceUri())
+                .filter(entry -> entry.getFileSize() == fingerprint.size()
+                        && entry.getContentHash().equals(fingerprint.contentHash()))
+                .isPresent();
+    }
+
+    /**
+     * Registra a carga bem-sucedida de um arquivo, substituindo o registro anterior.
+     *
+     * @param fingerprint A identificação do arquivo importado
+     * @param productsRead Produtos válidos lidos do arquivo
+     * @param productsSaved Produtos inseridos ou atualizados no banco
+     */
+    @Transactional
+    public void record(FileFingerprint fingerprint, int productsRead, int productsSaved) {
+        ledgerRepository.upsert(fingerprint.source().name(), fingerprint.sourceUri(), fingerprint.fileName(),
+                fingerprint.size(), fingerprint.contentHash(), productsRead, productsSaved);
+        checkpointRepository.deleteBySource(fingerprint.source().name(), fingerprint.sourceUri());
+        log.debug("Carga do arquivo {} registrada (hash {})", fingerprint.sourceUri(), fingerprint.contentHash());
+    }
+
+    /**
+     * Busca até onde uma carga anterior e interrompida do arquivo chegou. Pontos de retomada de outro
+     * arquivo com o mesmo nome, de outro conteúdo (tamanho ou hash) ou de outra divisão em trechos
+     * são desconsiderados e a carga recomeça do início.
+     *
+     * @param fingerprint A identificação atual do arquivo
+     * @param segmentCount Número de trechos em que o arquivo será lido
+     * @return Linhas já gravadas por posição do trecho; trechos ausentes não têm linhas gravadas
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, Long> committedRows(FileFingerprint fingerprint, int segmentCount) {
+        return checkpointRepository.findBySourceKindAndSourceUriAndContentHashAndFileSizeAndSegmentCount(
+                        fingerprint.source().name(), fingerprint.sourceUri(), fingerprint.contentHash(), fingerprint.size(),
+                        segmentCount).stream()
+                .collect(Collectors.toMap(ProductImportCheckpoint::getSegmentIndex, ProductImportCheckpoint::getRowsCommitted));
+    }
+
+    /**
+     * Grava um lote e avança o ponto de retomada do seu trecho na mesma transação: ou ambos são
+     * confirmados, ou nenhum, e a próxima carga volta a ler o lote.
+     *
+     * @param fingerprint A identificação do arquivo
+     * @param segmentIndex Posição do trecho no arquivo, a partir de 0
+     * @param segmentCount Número de trechos em que o arquivo é lido
+     * @param rowsCommitted Linhas do trecho lidas até o fim do lote, inclusive
+     * @param write Gravação do lote
+     * @return O resultado da gravação
+     */
+    @Transactional
+    public <R> R commitChunk(FileFingerprint fingerprint, int segmentIndex, int segmentCount, long rowsCommitted,
+                             Supplier<R> write) {
+        R result = write.get();
+        checkpointRepository.upsert(fingerprint.source().name(), fingerprint.sourceUri(), fingerprint.fileName(),
+                fingerprint.size(), fingerprint.contentHash(), segmentIndex, segmentCount, rowsCommitted);
+        return result;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Todo JRE é obrigado a oferecer SHA-256
+            throw new IllegalStateException(HASH_ALGORITHM + " indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Métricas Micrometer da carga de produtos, expostas em {@code /actuator/prometheus}.
+ * <ul>
+ *   <li>{@code product.import.rows}: linhas por origem, estratégia de carga e etapa (parsed, valid, rejected, inserted, updated, skipped)</li>
+ *   <li>{@code product.import.parse}: tempo de leitura e validação de cada lote, sem a espera pela gravação, por origem e estratégia</li>
+ *   <li>{@code product.import.dedup.query}: consulta dos produtos já existentes no banco</li>
+ *   <li>{@code product.import.insert}: gravação de um lote ou sublote, por estratégia de carga</li>
+ *   <li>{@code product.import.rows.in.flight}: linhas válidas lidas e ainda não gravadas</li>
+ * </ul>
+ * As séries não levam o nome do arquivo, que não tem limite de valores distintos (diretório monitorado, uploads);
+ * os números de cada arquivo ficam no relatório da execução da carga.
+ */
+@Component
+public class ImportMetrics {
+
+    private static final String ROWS = "product.import.rows";
+    private static final String PARSE = "product.import.parse";
+    private static final String INSERT = "product.import.insert";
+
+    private final MeterRegistry registry;
+    private final AtomicLong rowsInFlight = new AtomicLong();
+    private final Timer dedupQuery;
+
+    public ImportMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.dedupQuery = Timer.builder("product.import.dedup.query")
+                .description("Consulta dos produtos de um lote que já existem no banco")
+                .register(registry);
+        Gauge.builder("product.import.rows.in.flight", rowsInFlight, AtomicLong::get)
+                .description("Linhas válidas lidas e ainda não gravadas")
+                .register(registry);
+    }
+
+    /**
+     * Cria os contadores da importação de um arquivo. Arquivos com a mesma origem e estratégia de carga
+     * compartilham as mesmas séries.
+     *
+     * @param source Origem do arquivo
+     * @param loader Estratégia de carga ({@code JDBC_BATCH}, {@code COPY}, {@code UPSERT} ou {@code SYNC})
+     * @return Os contadores do arquivo
+     */
+    FileMetrics forSource(ImportSource source, String loader) {
+        return new FileMetrics(source.tag(), loader);
+    }
+
+    <T> T timeDedupQuery(Supplier<T> query) {
+        return dedupQuery.record(query);
+    }
+
+    <T> T timeInsert(String loader, Supplier<T> insert) {
+        return Timer.builder(INSERT)
+                .description("Gravação de um lote de produtos no banco")
+                .tag("loader", loader)
+                .register(registry)
+                .record(insert);
+    }
+
+    long getRowsInFlight() {
+        return rowsInFlight.get();
+    }
+
+    /**
+     * Contadores de um arquivo em importação. As linhas válidas contam como em andamento
+     * desde a leitura até a gravação, ou até {@link #close()} se a importação for interrompida.
+     */
+    final class FileMetrics {
+
+        private final Counter parsed;
+        private final Counter valid;
+        private final Counter rejected;
+        private final Counter inserted;
+        private final Counter updated;
+        private final Counter skipped;
+        private final Timer parse;
+        private final AtomicLong pending = new AtomicLong();
+
+        private FileMetrics(String source, String loader) {
+            parsed = rows(source, loader, "parsed");
+            valid = rows(source, loader, "valid");
+            rejected = rows(source, loader, "rejected");
+            inserted = rows(source, loader, "inserted");
+            updated = rows(source, loader, "updated");
+            skipped = rows(source, loader, "skipped");
+            parse = Timer.builder(PARSE)
+                    .description("Leitura, validação e conversão de um lote de linhas")
+                    .tag("source", source)
+                    .tag("loader", loader)
+                    .register(registry);
+        }
+
+        private Counter rows(String source, String loader, String stage) {
+            return Counter.builder(ROWS)
+                    .description("Linhas processadas pela carga de produtos")
+                    .tag("source", source)
+                    .tag("loader", loader)
+                    .tag("stage", stage)
+                    .register(registry);
+        }
+
+        void recordParsed(long rows, long validRows, long parseNanos) {
+            parsed.increment(rows);
+            valid.increment(validRows);
+            rejected.increment(rows - validRows);
+            parse.record(parseNanos, TimeUnit.NANOSECONDS);
+            pending.addAndGet(validRows);
+            rowsInFlight.addAndGet(validRows);
+        }
+
+        void recordWritten(long insertedRows, long updatedRows, long skippedRows) {
+            inserted.increment(insertedRows);
+            updated.increment(updatedRows);
+            skipped.increment(skippedRows);
+            long written = insertedRows + updatedRows + skippedRows;
+            pending.addAndGet(-written);
+            rowsInFlight.addAndGet(-written);
+        }
+
+        /**
+         * Retira das linhas em andamento as que foram lidas e não chegaram a ser gravadas.
+         */
+        void close() {
+            rowsInFlight.addAndGet(-pending.getAndSet(0));
+        }
+    }
+}
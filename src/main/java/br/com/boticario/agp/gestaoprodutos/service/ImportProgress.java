@@ -0,0 +1,132 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ImportValidationReport;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de andamento da importação de um arquivo, consultáveis enquanto ela acontece.
+ * As linhas lidas são atualizadas pelas threads de leitura a cada lote entregue; as gravadas,
+ * pelas threads de gravação a cada lote gravado.
+ */
+public final class ImportProgress {
+
+    private final AtomicLong rowsParsed = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final AtomicLong rowsInserted = new AtomicLong();
+    private final AtomicLong rowsUpdated = new AtomicLong();
+    private final AtomicLong rowsSkipped = new AtomicLong();
+    private volatile OffsetDateTime startedAt;
+    private volatile OffsetDateTime finishedAt;
+    private volatile ImportMetrics.FileMetrics metrics;
+
+    void start() {
+        startedAt = OffsetDateTime.now();
+    }
+
+    void finish() {
+        finishedAt = OffsetDateTime.now();
+    }
+
+    /**
+     * Passa a refletir também nas métricas do arquivo as linhas lidas e gravadas daqui em diante.
+     */
+    void track(ImportMetrics.FileMetrics fileMetrics) {
+        metrics = fileMetrics;
+    }
+
+    /**
+     * Encerra o acompanhamento nas métricas, descontando as linhas lidas que não foram gravadas.
+     */
+    void untrack() {
+        ImportMetrics.FileMetrics fileMetrics = metrics;
+        if (fileMetrics != null) {
+            fileMetrics.close();
+            metrics = null;
+        }
+    }
+
+    /**
+     * Soma as linhas lidas desde a última atualização. Pode ser chamado por várias threads
+     * quando os trechos de um mesmo arquivo são lidos em paralelo.
+     *
+     * @param rows Linhas lidas
+     * @param valid Linhas válidas entre elas
+     * @param parseNanos Tempo gasto na leitura dessas linhas
+     */
+    void addParsed(long rows, long valid, long parseNanos) {
+        rowsParsed.addAndGet(rows);
+        rowsRejected.addAndGet(rows - valid);
+        ImportMetrics.FileMetrics fileMetrics = metrics;
+        if (fileMetrics != null) {
+            fileMetrics.recordParsed(rows, valid, parseNanos);
+        }
+    }
+
+    /**
+     * Substitui as linhas lidas pelos totais do relatório de validação do arquivo, ao fim da leitura.
+     */
+    void recordParsed(ImportValidationReport report) {
+        rowsParsed.set(report.getRowsRead());
+        rowsRejected.set(report.getRowsRejected());
+    }
+
+    void recordWritten(long inserted, long updated, long skipped) {
+        rowsInserted.addAndGet(inserted);
+        rowsUpdated.addAndGet(updated);
+        rowsSkipped.addAndGet(skipped);
+        ImportMetrics.FileMetrics fileMetrics = metrics;
+        if (fileMetrics != null) {
+            fileMetrics.recordWritten(inserted, updated, skipped);
+        }
+    }
+
+    public OffsetDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public OffsetDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed.get();
+    }
+
+    public long getRowsValid() {
+        return rowsParsed.get() - rowsRejected.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted.get();
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated.get();
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped.get();
+    }
+
+    /**
+     * Linhas lidas por segundo desde o início da importação (até o fim, se já terminou).
+     *
+     * @return A vazão de leitura, ou 0 se a importação ainda não começou
+     */
+    public double getRowsPerSecond() {
+        OffsetDateTime start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        OffsetDateTime end = finishedAt != null ? finishedAt : OffsetDateTime.now();
+        long millis = Math.max(1, Duration.between(start, end).toMillis());
+        return getRowsParsed() * 1000.0 / millis;
+    }
+}
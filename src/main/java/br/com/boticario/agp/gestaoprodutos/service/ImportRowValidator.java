@@ -0,0 +1,167 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ProductImportDto;
+
+/**
+ * Validação das linhas dos arquivos de importação sem exceções no fluxo normal.
+ * O resultado é gravado em um {@link Result} reutilizado por todas as linhas de um arquivo,
+ * e a mensagem de erro só é montada quando a linha é de fato inválida.
+ * O preço é convertido uma única vez, e o valor em centavos fica disponível para a conversão em entidade.
+ */
+final class ImportRowValidator {
+
+    static final String FIELD_PRODUCT = "product";
+    static final String FIELD_TYPE = "type";
+    static final String FIELD_PRICE = "price";
+    static final String FIELD_QUANTITY = "quantity";
+
+    /**
+     * Motivos de rejeição de uma linha.
+     */
+    enum Code {
+        REQUIRED,
+        INVALID_FORMAT,
+        NOT_POSITIVE,
+        NEGATIVE,
+        OUT_OF_RANGE
+    }
+
+    private ImportRowValidator() {
+    }
+
+    /**
+     * Resultado mutável da validação de uma linha, reutilizado entre as linhas de um mesmo arquivo.
+     * Não é thread-safe: cada arquivo é lido por uma única thread.
+     */
+    static final class Result {
+
+        private String field;
+        private Code code;
+        private long priceCents;
+
+        boolean isValid() {
+            return code == null;
+        }
+
+        String field() {
+            return field;
+        }
+
+        Code code() {
+            return code;
+        }
+
+        /**
+         * Preço da linha em centavos; válido apenas quando {@link #isValid()}.
+         */
+        long priceCents() {
+            return priceCents;
+        }
+
+        private boolean reject(String field, Code code) {
+            this.field = field;
+            this.code = code;
+            return false;
+        }
+
+        private void reset() {
+            field = null;
+            code = null;
+            priceCents = 0;
+        }
+
+        /**
+         * Monta a mensagem de erro da última linha validada.
+         *
+         * @param filename Nome do arquivo
+         * @param index Posição da linha no arquivo (a partir de 1)
+         * @param dto A linha validada
+         * @return A mensagem descrevendo a violação
+         */
+        String describe(String filename, int index, ProductImportDto dto) {
+            String row = isBlank(dto.getProduct())
+                    ? String.format("Erro no arquivo %s, produto #%d: ", filename, index)
+                    : String.format("Erro no arquivo %s, produto '%s': ", filename, dto.getProduct());
+            return row + switch (code) {
+                case REQUIRED -> String.format("O campo '%s' é obrigatório.", field);
+                case INVALID_FORMAT -> FIELD_PRICE.equals(field)
+                        ? "Formato de preço inválido. Use o formato '$0.00'."
+                        : String.format("O campo '%s' não está no formato esperado.", field);
+                case NOT_POSITIVE -> String.format("O campo '%s' deve ser maior que zero.", field);
+                case NEGATIVE -> String.format("O campo '%s' não pode ser negativo.", field);
+                case OUT_OF_RANGE -> String.format("O campo '%s' excede o valor máximo permitido.", field);
+            };
+        }
+    }
+
+    /**
+     * Valida uma linha e, se válida, guarda o preço convertido em centavos.
+     *
+     * @param dto A linha lida do arquivo
+     * @param result O resultado a ser preenchido
+     * @return true se a linha é válida
+     */
+    static boolean validate(ProductImportDto dto, Result result) {
+        return validate(dto, null, result);
+    }
+
+    /**
+     * Valida uma linha cujo leitor pode não ter conseguido converter algum campo.
+     *
+     * @param dto A linha lida do arquivo
+     * @param malformedField Campo que o leitor não conseguiu converter, ou null
+     * @param result O resultado a ser preenchido
+     * @return true se a linha é válida
+     */
+    static boolean validate(ProductImportDto dto, String malformedField, Result result) {
+        result.reset();
+        if (malformedField != null) {
+            return result.reject(malformedField, Code.INVALID_FORMAT);
+        }
+        if (isBlank(dto.getProduct())) {
+            return result.reject(FIELD_PRODUCT, Code.REQUIRED);
+        }
+        if (isBlank(dto.getType())) {
+            return result.reject(FIELD_TYPE, Code.REQUIRED);
+        }
+        if (isBlank(dto.getPrice())) {
+            return result.reject(FIELD_PRICE, Code.REQUIRED);
+        }
+
+        long cents = PriceParser.parseCents(dto.getPrice());
+        if (cents == PriceParser.INVALID_FORMAT) {
+            return result.reject(FIELD_PRICE, Code.INVALID_FORMAT);
+        }
+        if (cents == PriceParser.OUT_OF_RANGE) {
+            return result.reject(FIELD_PRICE, Code.OUT_OF_RANGE);
+        }
+        if (cents == 0) {
+            return result.reject(FIELD_PRICE, Code.NOT_POSITIVE);
+        }
+
+        if (dto.getQuantity() == null) {
+            return result.reject(FIELD_QUANTITY, Code.REQUIRED);
+        }
+        if (dto.getQuantity() < 0) {
+            return result.reject(FIELD_QUANTITY, Code.NEGATIVE);
+        }
+
+        result.priceCents = cents;
+        return true;
+    }
+
+    /**
+     * Equivalente a {@code value == null || value.trim().isEmpty()}, sem criar a string aparada.
+     */
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
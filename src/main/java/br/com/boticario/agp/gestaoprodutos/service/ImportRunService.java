@@ -0,0 +1,93 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ImportRunResponse;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportSummary;
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportRun;
+import br.com.boticario.agp.gestaoprodutos.repository.ProductImportRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Serviço que registra o histórico das execuções da importação de produtos.
+ * Uma falha ao gravar o histórico é registrada no log e não altera o resultado da importação.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportRunService {
+
+    private final ProductImportRunRepository runRepository;
+
+    /**
+     * Registra uma execução concluída.
+     *
+     * @param trigger Origem da execução
+     * @param startedAt Início da execução
+     * @param summary Resumo da importação
+     */
+    public void recordCompleted(ProductImportRun.Trigger trigger, OffsetDateTime startedAt, ImportSummary summary) {
+        save(ProductImportRun.builder()
+                .trigger(trigger)
+                .status(ProductImportRun.Status.COMPLETED)
+                .startedAt(startedAt)
+                .finishedAt(OffsetDateTime.now())
+                .filesImported(summary.getFilesImported())
+                .filesUnchanged(summary.getFilesUnchanged())
+                .filesFailed(summary.getFilesFailed())
+                .productsSaved(summary.getProductsSaved())
+                .rowsRead(summary.getValidation().getRowsRead())
+                .rowsRejected(summary.getValidation().getRowsRejected())
+                .validationReport(summary.getValidation())
+                .files(summary.getFiles())
+                .build());
+    }
+
+    /**
+     * Registra uma execução interrompida por erro.
+     *
+     * @param trigger Origem da execução
+     * @param startedAt Início da execução
+     * @param errorMessage Mensagem do erro
+     */
+    public void recordFailed(ProductImportRun.Trigger trigger, OffsetDateTime startedAt, String errorMessage) {
+        save(ProductImportRun.builder()
+                .trigger(trigger)
+                .status(ProductImportRun.Status.FAILED)
+                .startedAt(startedAt)
+                .finishedAt(OffsetDateTime.now())
+                .filesImported(0)
+                .filesUnchanged(0)
+                .filesFailed(0)
+                .productsSaved(0)
+                .rowsRead(0L)
+                .rowsRejected(0L)
+                .errorMessage(errorMessage)
+                .build());
+    }
+
+    /**
+     * Lista as execuções mais recentes.
+     *
+     * @return As últimas execuções, da mais recente para a mais antiga
+     */
+    @Transactional(readOnly = true)
+    public List<ImportRunResponse> findRecent() {
+        return runRepository.findTop20ByOrderByStartedAtDesc().stream()
+                .map(ImportRunResponse::fromEntity)
+                .toList();
+    }
+
+    private void save(ProductImportRun run) {
+        try {
+            runRepository.save(run);
+        } catch (DataAccessException e) {
+            log.error("Erro ao registrar a execução da importação ({}): {}", run.getTrigger(), e.getMessage(), e);
+        }
+    }
+}
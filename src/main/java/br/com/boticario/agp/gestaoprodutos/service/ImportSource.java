@@ -0,0 +1,29 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import java.util.Locale;
+
+/**
+ * Origem de um arquivo importado. Usada como tag das métricas da carga no lugar do nome do arquivo,
+ * que não tem limite de valores distintos.
+ */
+public enum ImportSource {
+    /**
+     * Arquivos da carga completa, definidos por {@code product-import.sources}.
+     */
+    CATALOG,
+    /**
+     * Arquivos que chegam ao diretório monitorado ({@code product-import.watch.directory}).
+     */
+    WATCH,
+    /**
+     * Arquivos enviados por upload.
+     */
+    UPLOAD;
+
+    /**
+     * @return O valor da tag {@code source} das métricas
+     */
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
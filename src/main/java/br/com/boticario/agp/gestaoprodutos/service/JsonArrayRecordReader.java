@@ -0,0 +1,72 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ProductImportDto;
+import br.com.boticario.agp.gestaoprodutos.exception.InvalidJsonFormatException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Leitor de arquivos JSON com um array de produtos na raiz ou no campo {@code data} de um objeto.
+ * O arquivo é lido token a token; campos diferentes de {@code data} no objeto raiz são ignorados
+ * sem serem materializados.
+ */
+final class JsonArrayRecordReader implements ProductRecordReader {
+
+    private final JsonParser parser;
+    private final String filename;
+    private int index;
+
+    JsonArrayRecordReader(InputStream inputStream, String filename) throws IOException {
+        this.parser = ImportFormat.JSON_PRODUCT_READER.getFactory().createParser(inputStream);
+        this.filename = filename;
+        try {
+            moveToProductsArray();
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public ProductImportDto next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            index++;
+            return ImportFormat.JSON_PRODUCT_READER.readValue(parser);
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new InvalidJsonFormatException(String.format(
+                    "Formato JSON inválido no arquivo %s: esperado um objeto de produto na posição %d", filename, index + 1));
+        }
+        return null;
+    }
+
+    /**
+     * Avança o parser até o início do array de produtos.
+     */
+    private void moveToProductsArray() throws IOException {
+        JsonToken rootToken = parser.nextToken();
+        if (rootToken == JsonToken.START_ARRAY) {
+            return;
+        }
+        if (rootToken == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken valueToken = parser.nextToken();
+                if ("data".equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                    return;
+                }
+                parser.skipChildren();
+            }
+        }
+        throw new InvalidJsonFormatException("Formato JSON inválido no arquivo " + filename + ": esperado um array ou um objeto com campo 'data' contendo um array");
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -1,35 +1,52 @@
 package br.com.boticario.agp.gestaoprodutos.service;
 
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties;
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties.OnConflict;
+import br.com.boticario.agp.gestaoprodutos.dto.BulkLoadResult;
+import br.com.boticario.agp.gestaoprodutos.dto.CatalogSyncResult;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportExecutorStats;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportFileSummary;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportSummary;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportValidationReport;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductImportDto;
+import br.com.boticario.agp.gestaoprodutos.exception.InvalidCsvFormatException;
 import br.com.boticario.agp.gestaoprodutos.exception.InvalidJsonFormatException;
 import br.com.boticario.agp.gestaoprodutos.model.Product;
+import br.com.boticario.agp.gestaoprodutos.model.ProductKey;
 import br.com.boticario.agp.gestaoprodutos.repository.ProductRepository;
 import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
 import org.springframework.core.io.support.ResourcePatternResolver;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Serviço responsável por processar arquivos JSON de produtos de forma assíncrona e paralela.
+ * Os arquivos são distribuídos entre as threads do executor {@code importExecutor}, que fazem a leitura
+ * e a validação; a gravação dos lotes roda em paralelo nas threads de {@code importWriterExecutor}.
+ * Arquivos NDJSON e CSV grandes são divididos em trechos lidos em paralelo pelo {@code importParsePool}.
+ * A carga inicial é disparada por {@link ProductImportJob} após a aplicação ficar pronta.
  * Implementa estratégias para alta performance e prevenção de duplicatas.
  */
 @Slf4j
@@ -37,180 +54,752 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class JsonFileProcessorService {
 
-    private static final String DATA_FILES_PATTERN = "classpath:data/data_*.json";
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int INSERT_BATCH_SIZE = 500;
+    static final String FILE_ERROR_READ = "READ_ERROR";
+    static final String FILE_ERROR_UNEXPECTED = "UNEXPECTED_ERROR";
     private final ProductRepository productRepository;
     private final ResourcePatternResolver resourcePatternResolver;
+    private final ProductImportProperties importProperties;
+    private final ThreadPoolTaskExecutor importExecutor;
+    private final ThreadPoolTaskExecutor importWriterExecutor;
+    private final ForkJoinPool importParsePool;
+    private final ImportLedgerService importLedgerService;
+    private final ImportMetrics importMetrics;
+    private final ProductResponseCache productResponseCache;
+    private final ProductSearchCache productSearchCache;
+    private final Object persistLock = new Object();
 
     /**
-     * Inicializa o processamento dos arquivos JSON durante a inicialização da aplicação.
-     * O processamento é feito de forma assíncrona para não bloquear a inicialização.
+     * Processa os arquivos JSON em paralelo no executor de importação.
+     * Cada arquivo é lido em modo streaming por uma thread do pool e os produtos válidos são
+     * persistidos em lotes de até {@code product-import.chunk-size} itens, enquanto a leitura continua.
+     * O método não bloqueia: o futuro retornado é concluído quando todos os arquivos terminarem,
+     * ou concluído com erro se os arquivos não puderem ser localizados ou se a persistência falhar.
+     *
+     * @return CompletableFuture contendo o resumo da importação
      */
-    @PostConstruct
-    public void init() {
-        log.info("Iniciando processamento assíncrono de arquivos JSON do diretório: {}", DATA_FILES_PATTERN);
-        processJsonFiles().thenAccept(processedCount -> {
-            log.info("Processamento concluído. Total de novos produtos salvos: {}", processedCount);
-        }).exceptionally(ex -> {
-            log.error("Erro durante o processamento dos arquivos JSON: {}", ex.getMessage(), ex);
-            return null; // Retorna null para o thenAccept
-        });
+    public CompletableFuture<ImportSummary> processJsonFiles() {
+        return processJsonFiles(false);
     }
 
     /**
-     * Processa os arquivos JSON de forma paralela e assíncrona.
+     * Processa os arquivos JSON em paralelo no executor de importação.
+     * Arquivos registrados no ledger com o mesmo tamanho e hash são ignorados,
+     * a menos que {@code force} seja informado ou {@code product-import.skip-unchanged-files} esteja desabilitado.
+     * Com {@code product-import.sync.enabled}, os arquivos são sincronizados com o catálogo (ver {@link #syncCatalog(List)}).
      *
-     * @return CompletableFuture contendo o número total de produtos processados
+     * @param force Indica se os arquivos devem ser importados mesmo sem alterações desde a última carga
+     * @return CompletableFuture contendo o resumo da importação, com as linhas rejeitadas de todos os arquivos
      */
-    @Async
-    @Transactional
-    public CompletableFuture<Integer> processJsonFiles() {
+    public CompletableFuture<ImportSummary> processJsonFiles(boolean force) {
         try {
-            Resource[] resources = resourcePatternResolver.getResources(DATA_FILES_PATTERN);
-            if (resources.length == 0) {
-                log.warn("Nenhum arquivo encontrado no padrão: {}", DATA_FILES_PATTERN);
-                return CompletableFuture.completedFuture(0);
+            List<Resource> resources = resolveSources();
+            if (resources.isEmpty()) {
+                log.warn("Nenhum arquivo encontrado nos padrões: {}", importProperties.sources());
+                return CompletableFuture.completedFuture(new ImportSummary());
+            }
+            log.info("Iniciando processamento de {} arquivos encontrados: {}",
+                    resources.size(), resources.stream().map(Resource::getDescription).collect(Collectors.toList()));
+
+            if (importProperties.sync().enabled()) {
+                return syncCatalog(resources);
             }
-            log.info("Iniciando processamento de {} arquivos encontrados no diretório: {}", 
-                    resources.length, Arrays.stream(resources).map(Resource::getFilename).collect(Collectors.toList()));
 
-            // Processa os arquivos em paralelo
-            List<CompletableFuture<List<Product>>> futures = Arrays.stream(resources)
-                    .map(this::processFile)
+            // Processa os arquivos em paralelo, um por thread do executor de importação
+            List<CompletableFuture<FileImportResult>> futures = resources.stream()
+                    .map(resource -> submitFile(resource, force, ImportSource.CATALOG))
                     .collect(Collectors.toList());
+            log.debug("Arquivos submetidos ao executor de importação: {}", getExecutorStats());
 
-            // Combina os resultados de todas as tarefas assíncronas
+            // Combina os resultados de todas as tarefas quando concluídas
             return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                    .thenApply(v -> {
-                        List<Product> allProducts = futures.stream()
-                                .map(CompletableFuture::join)
-                                .flatMap(List::stream)
-                                .collect(Collectors.toList());
-
-                        // Filtra produtos duplicados e salva no banco de dados
-                        return saveUniqueProducts(allProducts);
-                    });
+                    .thenApply(v -> summarize(futures.stream().map(CompletableFuture::join).toList()));
         } catch (Exception e) {
             log.error("Erro ao processar arquivos JSON: {}", e.getMessage(), e);
-            return CompletableFuture.completedFuture(0);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Combina os resultados dos arquivos em um resumo da importação.
+     *
+     * @param results Resultados dos arquivos
+     * @return O resumo com os totais, o relatório de validação combinado e os números de cada arquivo
+     */
+    static ImportSummary summarize(List<FileImportResult> results) {
+        ImportSummary summary = new ImportSummary();
+        for (FileImportResult result : results) {
+            ImportFileSummary.Status status;
+            if (result.unchanged()) {
+                summary.setFilesUnchanged(summary.getFilesUnchanged() + 1);
+                status = ImportFileSummary.Status.UNCHANGED;
+            } else if (result.completed()) {
+                summary.setFilesImported(summary.getFilesImported() + 1);
+                status = ImportFileSummary.Status.IMPORTED;
+            } else {
+                summary.setFilesFailed(summary.getFilesFailed() + 1);
+                status = ImportFileSummary.Status.FAILED;
+            }
+            summary.setProductsSaved(summary.getProductsSaved() + result.productsSaved());
+            summary.getValidation().merge(result.validation());
+            summary.getFiles().add(new ImportFileSummary(result.file(), status, result.validation().getRowsRead(),
+                    result.validation().getRowsRejected(), result.productsSaved()));
+        }
+        return summary;
+    }
+
+    /**
+     * Sincroniza o catálogo com os arquivos: todos são copiados em paralelo para a tabela de staging e,
+     * ao final, staging e {@code products} são intercalados pela chave (nome, tipo), gravando só as diferenças.
+     * As linhas ficam identificadas pela execução, para que sincronizações de outras instâncias não as
+     * removam nem as misturem às suas, e são removidas ao final, com ou sem sucesso.
+     * O ledger e os pontos de retomada não são usados, pois o resultado depende do conjunto completo
+     * de arquivos e não de cada um isoladamente.
+     */
+    private CompletableFuture<ImportSummary> syncCatalog(List<Resource> resources) {
+        UUID runId = UUID.randomUUID();
+        AtomicLong stagedRows = new AtomicLong();
+        List<CompletableFuture<FileImportResult>> futures = resources.stream()
+                .map(resource -> CompletableFuture.supplyAsync(() -> stageFile(runId, resource, stagedRows), importExecutor))
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> applySync(runId, stagedRows.get(),
+                        summarize(futures.stream().map(CompletableFuture::join).toList())))
+                .whenComplete((summary, error) -> discardSyncStaging(runId));
+    }
+
+    /**
+     * Lê um arquivo e copia os produtos válidos para a tabela de staging da sincronização.
+     */
+    private FileImportResult stageFile(UUID runId, Resource resource, AtomicLong stagedRows) {
+        ImportProgress progress = new ImportProgress();
+        progress.track(importMetrics.forSource(ImportSource.CATALOG, "SYNC"));
+        try {
+            ImportValidationReport report = new ImportValidationReport();
+            ReadPlan plan = planRead(resource, null);
+            ChunkPipeline<Long> pipeline = newPipeline(0L,
+                    chunk -> importMetrics.timeInsert("SYNC", () -> productRepository.copyToSyncStaging(runId, chunk)), Long::sum);
+            OptionalInt read = readAbortingOnFailure(resource, pipeline, report, progress, plan);
+            progress.recordParsed(report);
+            long staged = pipeline.finish();
+            stagedRows.addAndGet(staged);
+            log.info("Arquivo {} copiado para a sincronização do catálogo: {} linhas", resource.getFilename(), staged);
+            return new FileImportResult(resource.getFilename(), read, 0, false, report);
+        } finally {
+            progress.untrack();
+        }
+    }
+
+    /**
+     * Aplica ao catálogo as diferenças em relação à staging. Se algum arquivo falhou, os produtos ausentes
+     * não são removidos, pois podem estar justamente no arquivo que não foi lido; se nenhum produto válido
+     * foi copiado, a sincronização não é feita.
+     */
+    private ImportSummary applySync(UUID runId, long stagedRows, ImportSummary summary) {
+        if (stagedRows == 0) {
+            log.warn("Nenhum produto válido nos arquivos; sincronização do catálogo ignorada");
+            return summary;
+        }
+
+        boolean deleteMissing = importProperties.sync().deleteMissing();
+        if (deleteMissing && summary.getFilesFailed() > 0) {
+            log.warn("{} arquivo(s) com erro de leitura; produtos ausentes dos arquivos não serão removidos",
+                    summary.getFilesFailed());
+            deleteMissing = false;
+        }
+
+        CatalogSyncResult result;
+        synchronized (persistLock) {
+            result = productRepository.syncFromStaging(runId, stagedRows, deleteMissing);
+        }
+        catalogChanged(result.inserted(), result.updated() + result.deleted());
+        log.info("Catálogo sincronizado: {} inseridos, {} atualizados, {} removidos, {} inalterados",
+                result.inserted(), result.updated(), result.deleted(), result.unchanged());
+        summary.setSync(result);
+        summary.setProductsSaved((int) (result.inserted() + result.updated()));
+        return summary;
+    }
+
+    private void discardSyncStaging(UUID runId) {
+        try {
+            productRepository.clearSyncStaging(runId);
+        } catch (RuntimeException e) {
+            // As linhas restantes são removidas pela próxima sincronização
+            log.warn("Erro ao limpar a staging da sincronização {}: {}", runId, e.getMessage());
+        }
+    }
+
+    /**
+     * Localiza os arquivos de todos os padrões de {@code product-import.sources}.
+     * Padrões que não correspondem a nenhum arquivo, ou apontam para diretórios inexistentes, são ignorados.
+     */
+    private List<Resource> resolveSources() throws IOException {
+        List<Resource> resources = new ArrayList<>();
+        for (String source : importProperties.sources()) {
+            Resource[] found = resourcePatternResolver.getResources(source);
+            if (found.length == 0) {
+                log.debug("Nenhum arquivo encontrado no padrão: {}", source);
+            }
+            Arrays.stream(found).filter(Resource::exists).forEach(resources::add);
+        }
+        return resources;
+    }
+
+    /**
+     * Submete a importação de um arquivo ao executor de importação.
+     *
+     * @param resource Arquivo a ser importado
+     * @param force Indica se o arquivo deve ser importado mesmo sem alterações desde a última carga
+     * @param source Origem do arquivo
+     * @return Futuro com o resultado da importação, concluído com erro se a persistência falhar
+     */
+    public CompletableFuture<FileImportResult> submitFile(Resource resource, boolean force, ImportSource source) {
+        return CompletableFuture.supplyAsync(() -> importFile(resource, force, source), importExecutor);
+    }
+
+    /**
+     * Submete a importação de um arquivo enviado por upload.
+     * O arquivo é sempre importado e não é registrado no ledger, pois não tem um nome estável entre cargas.
+     *
+     * @param resource Arquivo recebido
+     * @param progress Contadores atualizados durante a importação
+     * @param executor Executor de uploads
+     * @return Futuro com o resultado da importação, concluído com erro se a persistência falhar
+     * @throws java.util.concurrent.RejectedExecutionException Se o executor estiver ocupado e com a fila cheia
+     */
+    public CompletableFuture<FileImportResult> submitUpload(Resource resource, ImportProgress progress, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            progress.start();
+            progress.track(importMetrics.forSource(ImportSource.UPLOAD, importProperties.loader().name()));
+            try {
+                return loadFile(resource, progress, null);
+            } finally {
+                progress.untrack();
+                progress.finish();
+            }
+        }, executor);
+    }
+
+    /**
+     * Retorna o estado atual do executor de importação (threads ativas, profundidade da fila etc.).
+     *
+     * @return Estatísticas do executor de importação
+     */
+    public ImportExecutorStats getExecutorStats() {
+        return ImportExecutorStats.from(importExecutor);
+    }
+
+    /**
+     * Importa um único arquivo, a menos que ele não tenha mudado desde a última carga registrada.
+     * Executado nas threads do executor de importação.
+     *
+     * @param resource Arquivo a ser importado
+     * @param force Indica se o arquivo deve ser importado mesmo sem alterações
+     * @param source Origem do arquivo
+     * @return O resultado da importação do arquivo
+     */
+    FileImportResult importFile(Resource resource, boolean force, ImportSource source) {
+        String filename = resource.getFilename();
+        ImportLedgerService.FileFingerprint fingerprint;
+        try {
+            fingerprint = importLedgerService.fingerprint(resource, source);
+        } catch (IOException e) {
+            log.error("Erro ao ler o arquivo {}: {}", filename, e.getMessage(), e);
+            ImportValidationReport report = new ImportValidationReport();
+            report.recordFileError(filename, 0, FILE_ERROR_READ);
+            return new FileImportResult(filename, OptionalInt.empty(), 0, false, report);
+        }
+
+        if (!force && importProperties.skipUnchangedFiles() && importLedgerService.isUnchanged(fingerprint)) {
+            log.info("Arquivo {} inalterado desde a última carga; importação ignorada", filename);
+            return new FileImportResult(filename, OptionalInt.of(0), 0, true, new ImportValidationReport());
+        }
+
+        ImportProgress progress = new ImportProgress();
+        progress.track(importMetrics.forSource(source, importProperties.loader().name()));
+        FileImportResult result;
+        try {
+            result = loadFile(resource, progress, fingerprint);
+        } finally {
+            progress.untrack();
+        }
+        // Arquivos com erro de leitura não são registrados, para que sejam tentados novamente na próxima carga,
+        // a partir do último lote gravado
+        if (result.completed()) {
+            importLedgerService.record(fingerprint, result.productsRead().getAsInt(), result.productsSaved());
+        }
+        return result;
+    }
+
+    /**
+     * Lê e persiste um arquivo, gravando cada lote assim que ele é lido.
+     * A verificação de duplicatas de {@link #saveUniqueProducts(List)} também cobre
+     * produtos repetidos entre lotes, pois os lotes são gravados na ordem de leitura
+     * e os anteriores já estão no banco.
+     * Com a identificação do arquivo, cada lote é confirmado junto com o ponto de retomada, e a leitura
+     * começa depois das linhas já gravadas por uma carga interrompida do mesmo conteúdo.
+     *
+     * @param fingerprint Identificação do arquivo, ou null para importar sem pontos de retomada
+     */
+    private FileImportResult loadFile(Resource resource, ImportProgress progress, ImportLedgerService.FileFingerprint fingerprint) {
+        OnConflict onConflict = importProperties.onConflict();
+        switch (importProperties.loader()) {
+            case COPY:
+                return bulkLoadFile(resource, "COPY", chunk -> productRepository.copyMerge(chunk, onConflict), progress, fingerprint);
+            case UPSERT:
+                // ON CONFLICT DO UPDATE não aceita o mesmo par (nome, tipo) duas vezes no mesmo comando
+                return bulkLoadFile(resource, "UPSERT",
+                        chunk -> productRepository.upsert(ProductKeySet.distinct(chunk), onConflict), progress, fingerprint);
+            default:
+                ImportValidationReport report = new ImportValidationReport();
+                ReadPlan plan = planRead(resource, fingerprint);
+                ChunkPipeline<Integer> pipeline = newPipeline(0, chunk -> {
+                    int inserted = saveChunk(chunk, fingerprint);
+                    progress.recordWritten(inserted, 0, chunk.size() - inserted);
+                    return inserted;
+                }, Integer::sum);
+                OptionalInt read = readAbortingOnFailure(resource, pipeline, report, progress, plan);
+                progress.recordParsed(report);
+                int saved = pipeline.finish();
+                log.debug("Arquivo {} finalizado. Executor de importação: {}", resource.getFilename(), getExecutorStats());
+                return new FileImportResult(resource.getFilename(), read, saved, false, report);
+        }
+    }
+
+    /**
+     * Cria o pipeline que liga a leitura de um arquivo à gravação dos seus lotes,
+     * conforme {@code product-import.pipeline}.
+     */
+    private <R> ChunkPipeline<R> newPipeline(R identity, Function<List<Product>, R> writer, BinaryOperator<R> combiner) {
+        ProductImportProperties.Pipeline config = importProperties.pipeline();
+        if (!config.enabled() || importWriterExecutor == null) {
+            return ChunkPipeline.direct(identity, writer, combiner);
+        }
+        return ChunkPipeline.async(identity, writer, combiner, config.queueCapacity(), importWriterExecutor);
+    }
+
+    /**
+     * Lê o arquivo para o pipeline e, se a leitura for interrompida por um erro propagado,
+     * aborta o pipeline para que a thread de gravação não fique esperando por um fim de arquivo que não virá.
+     */
+    private OptionalInt readAbortingOnFailure(Resource resource, ChunkPipeline<?> pipeline, ImportValidationReport report,
+                                              ImportProgress progress, ReadPlan plan) {
+        try {
+            return readFileSafely(resource, pipeline, report, progress, plan);
+        } catch (RuntimeException | Error e) {
+            pipeline.abort();
+            throw e;
         }
     }
 
     /**
-     * Processa um único arquivo JSON de forma assíncrona.
+     * Carrega um arquivo delegando ao banco a resolução de produtos já existentes, sem consulta prévia
+     * e sem serializar os lotes: a concorrência fica a cargo do índice único (nome, tipo).
+     */
+    private FileImportResult bulkLoadFile(Resource resource, String loaderName, Function<List<Product>, BulkLoadResult> loader,
+                                          ImportProgress progress, ImportLedgerService.FileFingerprint fingerprint) {
+        ImportValidationReport report = new ImportValidationReport();
+        ReadPlan plan = planRead(resource, fingerprint);
+        ChunkPipeline<BulkLoadResult> pipeline = newPipeline(BulkLoadResult.EMPTY, chunk -> {
+            BulkLoadResult result = writeChunk(chunk, fingerprint,
+                    () -> importMetrics.timeInsert(loaderName, () -> loader.apply(chunk)));
+            catalogChanged(result.inserted(), result.updated());
+            // Repetidos dentro do lote não chegam ao banco e contam como ignorados
+            progress.recordWritten(result.inserted(), result.updated(), chunk.size() - result.written());
+            return result;
+        }, BulkLoadResult::plus);
+        OptionalInt read = readAbortingOnFailure(resource, pipeline, report, progress, plan);
+        progress.recordParsed(report);
+
+        BulkLoadResult total = pipeline.finish();
+        log.info("Arquivo {} carregado via {}: {} linhas recebidas, {} inseridas, {} atualizadas, {} ignoradas",
+                resource.getFilename(), loaderName, total.received(), total.inserted(), total.updated(), total.skipped());
+        return new FileImportResult(resource.getFilename(), read, (int) total.written(), false, report);
+    }
+
+    /**
+     * Resultado da importação de um arquivo.
+     *
+     * @param file Nome do arquivo
+     * @param productsRead Produtos válidos lidos, vazio se a leitura foi interrompida por erro
+     * @param productsSaved Produtos inseridos ou atualizados
+     * @param unchanged Indica se o arquivo foi ignorado por não ter mudado desde a última carga
+     * @param validation Linhas rejeitadas e erros de leitura do arquivo
+     */
+    public record FileImportResult(String file, OptionalInt productsRead, int productsSaved, boolean unchanged,
+                                   ImportValidationReport validation) {
+
+        /**
+         * Indica se o arquivo foi lido até o fim (ou ignorado por estar inalterado).
+         *
+         * @return true se não houve erro de leitura
+         */
+        public boolean completed() {
+            return productsRead.isPresent();
+        }
+    }
+
+    /**
+     * Persiste um lote lido por uma das threads de importação.
+     * A leitura e a gravação dos arquivos são paralelas, mas a gravação é serializada: a verificação de duplicatas
+     * seguida da inserção não é atômica, e duas threads gravando o mesmo par (nome, tipo)
+     * violariam a restrição de unicidade. Por isso o lote é confirmado antes de liberar a próxima gravação.
+     */
+    private int saveChunk(List<Product> chunk, ImportLedgerService.FileFingerprint fingerprint) {
+        int inserted;
+        synchronized (persistLock) {
+            inserted = writeChunk(chunk, fingerprint, () -> saveUniqueProducts(chunk));
+        }
+        catalogChanged(inserted, 0);
+        return inserted;
+    }
+
+    /**
+     * Invalida os caches de produtos depois do commit de um lote. Qualquer produto gravado muda as buscas;
+     * atualizações e remoções também invalidam os produtos por ID, que a carga não conhece.
+     */
+    private void catalogChanged(long inserted, long updatedOrDeleted) {
+        if (inserted + updatedOrDeleted > 0) {
+            productSearchCache.catalogChanged();
+        }
+        if (updatedOrDeleted > 0) {
+            productResponseCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Grava um lote na mesma transação que avança o ponto de retomada do seu trecho,
+     * ou diretamente, se o arquivo não tem identificação.
+     */
+    private <R> R writeChunk(List<Product> chunk, ImportLedgerService.FileFingerprint fingerprint, Supplier<R> write) {
+        if (fingerprint != null && chunk instanceof ImportChunk importChunk) {
+            return importLedgerService.commitChunk(fingerprint, importChunk.segmentIndex(), importChunk.segmentCount(),
+                    importChunk.endRow(), write);
+        }
+        return write.get();
+    }
+
+    /**
+     * Processa um único arquivo JSON, acumulando todos os produtos válidos em uma lista.
      * Método package-private para permitir testes unitários.
      */
-    @Async
     CompletableFuture<List<Product>> processFile(Resource resource) {
-        String filename = resource.getFilename();
-        log.debug("Iniciando processamento do arquivo: {}", filename);
+        List<Product> products = new ArrayList<>();
+        readFileSafely(resource, products::addAll, new ImportValidationReport(), new ImportProgress(), planRead(resource, null));
+        return CompletableFuture.completedFuture(products);
+    }
 
-        try (InputStream inputStream = resource.getInputStream()) {
-            // Lê o JSON como um nó para verificar a estrutura
-            com.fasterxml.jackson.databind.JsonNode rootNode = objectMapper.readTree(inputStream);
-            
-            // Verifica se o JSON tem a estrutura esperada (com campo 'data')
-            com.fasterxml.jackson.databind.JsonNode dataNode = rootNode.path("data");
-            List<ProductImportDto> productDtos;
-            
-            if (dataNode.isArray()) {
-                // Se o JSON tem um campo 'data' com um array, usa esse array
-                productDtos = objectMapper.convertValue(dataNode, new TypeReference<List<ProductImportDto>>() {});
-            } else if (rootNode.isArray()) {
-                // Se o JSON é diretamente um array, usa o rootNode
-                productDtos = objectMapper.convertValue(rootNode, new TypeReference<List<ProductImportDto>>() {});
-            } else {
-                throw new InvalidJsonFormatException("Formato JSON inválido no arquivo " + filename + ": esperado um array ou um objeto com campo 'data' contendo um array");
+    /**
+     * Executa {@link #streamFile(Resource, Consumer, ImportValidationReport, ImportProgress, ReadPlan)}
+     * tratando os erros de leitura do arquivo.
+     * Um arquivo inválido é registrado no log e no relatório e ignorado, sem interromper os demais.
+     * Falhas de acesso ao banco não são problemas do arquivo e são propagadas, assim como qualquer erro
+     * lançado pela gravação dos lotes, seja ela feita na thread de leitura ou pelo pipeline assíncrono.
+     *
+     * @return Número de produtos válidos lidos, ou vazio se a leitura do arquivo falhou
+     */
+    private OptionalInt readFileSafely(Resource resource, Consumer<List<Product>> chunkConsumer, ImportValidationReport report,
+                                       ImportProgress progress, ReadPlan plan) {
+        String filename = resource.getFilename();
+        Consumer<List<Product>> writer = chunk -> {
+            try {
+                chunkConsumer.accept(chunk);
+            } catch (RuntimeException e) {
+                throw new ChunkWriteException(e);
             }
-            
-            // Converte DTOs para entidades, filtrando os inválidos
-            List<Product> products = new ArrayList<>();
-            for (int i = 0; i < productDtos.size(); i++) {
-                ProductImportDto dto = productDtos.get(i);
-                try {
-                    validateProductDto(dto, filename, i + 1); // Valida DTO individualmente
-                    products.add(convertToEntity(dto));
-                } catch (InvalidJsonFormatException e) {
-                    log.warn("Produto inválido no arquivo {}: {}", filename, e.getMessage());
-                    // Continua processando os outros produtos
-                }
+        };
+        try {
+            int validCount = streamFile(resource, writer, report, progress, plan);
+            if (report.getRowsRejected() > 0) {
+                log.warn("Arquivo {} processado com {} produtos válidos e {} rejeitados: {}",
+                        filename, validCount, report.getRowsRejected(), report.getViolationCounts());
+            } else {
+                log.info("Arquivo {} processado com sucesso. {} produtos válidos encontrados.", filename, validCount);
             }
-
-            log.info("Arquivo {} processado com sucesso. {} produtos válidos encontrados.", filename, products.size());
-            return CompletableFuture.completedFuture(products);
-        } catch (JsonParseException | JsonMappingException e) {
-            String errorMsg = String.format("Formato JSON inválido no arquivo %s: %s", filename, e.getMessage());
+            return OptionalInt.of(validCount);
+        } catch (JsonParseException | JsonMappingException | InvalidJsonFormatException | InvalidCsvFormatException e) {
+            ImportFormat format = ImportFormat.forFileName(filename);
+            report.recordFileError(filename, (int) report.getRowsRead() + 1, format.invalidFileCode());
+            String errorMsg = String.format("Formato %s inválido no arquivo %s: %s", format, filename, e.getMessage());
             log.error(errorMsg, e);
-            return CompletableFuture.completedFuture(Collections.emptyList()); // Retorna lista vazia para arquivo inválido
         } catch (IOException e) {
+            report.recordFileError(filename, (int) report.getRowsRead() + 1, FILE_ERROR_READ);
             String errorMsg = String.format("Erro ao ler o arquivo %s: %s", filename, e.getMessage());
             log.error(errorMsg, e);
-            return CompletableFuture.completedFuture(Collections.emptyList()); // Retorna lista vazia para erro de leitura
+        } catch (ChunkWriteException e) {
+            throw e.getCause();
+        } catch (DataAccessException e) {
+            throw e;
         } catch (Exception e) { // Catch any other unexpected exceptions during file processing
+            report.recordFileError(filename, (int) report.getRowsRead() + 1, FILE_ERROR_UNEXPECTED);
             String errorMsg = String.format("Erro inesperado ao processar o arquivo %s: %s", filename, e.getMessage());
             log.error(errorMsg, e);
-            return CompletableFuture.completedFuture(Collections.emptyList()); // Retorna lista vazia para erro inesperado
         }
+        return OptionalInt.empty();
     }
 
     /**
-     * Valida um único DTO de produto.
-     * 
-     * @param dto O DTO a ser validado
-     * @param filename Nome do arquivo para mensagens de erro
-     * @param index Índice do produto no arquivo (para mensagens de erro)
-     * @throws InvalidJsonFormatException Se a validação falhar
+     * Erro lançado pela gravação de um lote, separado dos erros de leitura para não ser registrado como problema do arquivo.
      */
-    private void validateProductDto(ProductImportDto dto, String filename, int index) {
-        // Validação do campo product (nome do produto)
-        if (dto.getProduct() == null || dto.getProduct().trim().isEmpty()) {
-            throw new InvalidJsonFormatException(
-                String.format("Erro no arquivo %s, produto #%d: O campo 'product' é obrigatório.", filename, index));
-        }
-        
-        // Validação do campo type
-        if (dto.getType() == null || dto.getType().trim().isEmpty()) {
-            throw new InvalidJsonFormatException(
-                String.format("Erro no arquivo %s, produto '%s': O campo 'type' é obrigatório.", filename, dto.getProduct()));
+    private static final class ChunkWriteException extends RuntimeException {
+
+        ChunkWriteException(RuntimeException cause) {
+            super(cause);
         }
-        
-        // Validação do campo price
-        if (dto.getPrice() == null || dto.getPrice().trim().isEmpty()) {
-            throw new InvalidJsonFormatException(
-                String.format("Erro no arquivo %s, produto '%s': O campo 'price' é obrigatório.", filename, dto.getProduct()));
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
         }
-        
+    }
+
+    int streamFile(Resource resource, Consumer<List<Product>> chunkConsumer) throws IOException {
+        return streamFile(resource, chunkConsumer, new ImportValidationReport());
+    }
+
+    int streamFile(Resource resource, Consumer<List<Product>> chunkConsumer, ImportValidationReport report) throws IOException {
+        return streamFile(resource, chunkConsumer, report, new ImportProgress(), planRead(resource, null));
+    }
+
+    /**
+     * Define como o arquivo será lido: os trechos para leitura paralela e, se o arquivo tem identificação,
+     * as linhas de cada trecho já gravadas por uma carga interrompida. Deve ser chamado antes de criar o
+     * pipeline de gravação, pois a consulta aos pontos de retomada pode falhar com erro de banco.
+     *
+     * @param fingerprint Identificação do arquivo, usada para pular as linhas já gravadas; null para ler do início
+     */
+    private ReadPlan planRead(Resource resource, ImportLedgerService.FileFingerprint fingerprint) {
+        ImportFormat format = ImportFormat.forFileName(resource.getFilename());
+        List<ByteRange> segments;
         try {
-            // Tenta converter o preço para validar o formato
-            BigDecimal price = new BigDecimal(dto.getPrice().replace("$", ""));
-            if (price.compareTo(BigDecimal.ZERO) <= 0) {
-                throw new InvalidJsonFormatException(
-                    String.format("Erro no arquivo %s, produto '%s': O campo 'price' deve ser maior que zero.", filename, dto.getProduct()));
+            segments = splitIntoSegments(resource, format);
+        } catch (IOException e) {
+            // O mesmo erro se repete ao abrir o arquivo e é registrado no relatório pela leitura
+            segments = List.of();
+        }
+        Map<Integer, Long> committedRows = fingerprint != null
+                ? importLedgerService.committedRows(fingerprint, Math.max(1, segments.size()))
+                : Map.of();
+        return new ReadPlan(format, segments, committedRows);
+    }
+
+    /**
+     * Forma de leitura de um arquivo.
+     *
+     * @param segments Trechos lidos em paralelo, ou vazio para ler o arquivo em uma única thread
+     * @param committedRows Linhas já gravadas de cada trecho, pelo índice do trecho
+     */
+    private record ReadPlan(ImportFormat format, List<ByteRange> segments, Map<Integer, Long> committedRows) {
+    }
+
+    /**
+     * Lê um arquivo em streaming, sem carregá-lo inteiro em memória. O formato é identificado pela extensão:
+     * JSON (array na raiz ou objeto com o campo 'data' contendo um array), NDJSON ({@code .ndjson}, {@code .jsonl})
+     * ou CSV ({@code .csv}). Os produtos válidos são entregues ao consumidor em lotes de até {@code chunkSize} itens;
+     * produtos inválidos são registrados no relatório e ignorados.
+     * Arquivos NDJSON e CSV no sistema de arquivos com pelo menos dois segmentos de
+     * {@code product-import.pipeline.segment-size} são lidos em paralelo; nesse caso, os lotes dos trechos
+     * chegam ao consumidor intercalados, um de cada vez.
+     * Os lotes são entregues como {@link ImportChunk}, com o trecho de origem e a linha em que terminam.
+     *
+     * @param resource Arquivo a ser lido
+     * @param chunkConsumer Consumidor que recebe cada lote de produtos válidos
+     * @param report Relatório que recebe as linhas lidas e as violações
+     * @param progress Andamento atualizado a cada lote lido
+     * @param plan Trechos do arquivo e linhas já gravadas, obtidos com {@link #planRead}
+     * @return Número de produtos válidos encontrados no arquivo
+     * @throws IOException Se ocorrer erro de leitura ou o JSON estiver malformado
+     * @throws InvalidJsonFormatException Se a estrutura do JSON não for a esperada
+     * @throws InvalidCsvFormatException Se o cabeçalho do CSV não tiver as colunas obrigatórias
+     */
+    private int streamFile(Resource resource, Consumer<List<Product>> chunkConsumer, ImportValidationReport report,
+                           ImportProgress progress, ReadPlan plan) throws IOException {
+        String filename = resource.getFilename();
+        log.debug("Iniciando processamento do arquivo: {}", filename);
+
+        if (plan.segments().size() > 1) {
+            return streamSegments(resource.getFile().toPath(), plan.format(), plan.segments(), plan.committedRows(),
+                    chunkConsumer, report, progress);
+        }
+        try (InputStream inputStream = openStream(resource);
+             ProductRecordReader reader = plan.format().open(inputStream, filename)) {
+            return readRecords(reader, filename, chunkConsumer, report, progress,
+                    new ImportChunkSource(0, 1, plan.committedRows().getOrDefault(0, 0L)));
+        }
+    }
+
+    /**
+     * Divide o arquivo em trechos para leitura paralela, conforme {@code product-import.pipeline}.
+     * Apenas formatos orientados a linha podem ser divididos sem interpretar o conteúdo.
+     *
+     * @return Os trechos em ordem, ou uma lista vazia se o arquivo deve ser lido por uma única thread
+     */
+    private List<ByteRange> splitIntoSegments(Resource resource, ImportFormat format) throws IOException {
+        if (importParsePool == null || !format.isLineOriented() || !resource.isFile()) {
+            return List.of();
+        }
+        ProductImportProperties.Pipeline config = importProperties.pipeline();
+        long size = resource.contentLength();
+        long segments = Math.min(config.parseThreads(), size / config.segmentSize().toBytes());
+        return segments > 1 ? ByteRange.split(size, (int) segments) : List.of();
+    }
+
+    /**
+     * Lê os trechos de um arquivo em paralelo e combina os relatórios na ordem do arquivo, de modo que as
+     * posições das linhas rejeitadas sejam as mesmas da leitura sequencial. A verificação de duplicatas
+     * continua correta porque cada lote é gravado considerando os já gravados, qualquer que seja o trecho
+     * de origem; entre repetições em trechos diferentes, porém, a primeira gravada não é necessariamente
+     * a primeira do arquivo.
+     * Se um trecho falhar, os relatórios são combinados até ele e o erro é propagado depois que os
+     * demais terminarem.
+     */
+    private int streamSegments(Path file, ImportFormat format, List<ByteRange> segments, Map<Integer, Long> committedRows,
+                               Consumer<List<Product>> chunkConsumer, ImportValidationReport report,
+                               ImportProgress progress) throws IOException {
+        log.debug("Arquivo {} dividido em {} trechos para leitura paralela", file.getFileName(), segments.size());
+        Object consumerLock = new Object();
+        Consumer<List<Product>> sharedConsumer = chunk -> {
+            synchronized (consumerLock) {
+                chunkConsumer.accept(chunk);
             }
-        } catch (NumberFormatException e) {
-            throw new InvalidJsonFormatException(
-                String.format("Erro no arquivo %s, produto '%s': Formato de preço inválido. Use o formato '$0.00'.", filename, dto.getProduct()));
+        };
+        List<ForkJoinTask<SegmentResult>> tasks = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            ByteRange range = segments.get(i);
+            ImportChunkSource source = new ImportChunkSource(i, segments.size(), committedRows.getOrDefault(i, 0L));
+            tasks.add(importParsePool.submit(() -> readSegment(file, format, range, source, sharedConsumer, progress)));
         }
-        
-        // Validação do campo quantity
-        if (dto.getQuantity() == null) {
-            throw new InvalidJsonFormatException(
-                String.format("Erro no arquivo %s, produto '%s': O campo 'quantity' é obrigatório.", filename, dto.getProduct()));
+
+        int validCount = 0;
+        long rowOffset = 0;
+        Exception failure = null;
+        for (ForkJoinTask<SegmentResult> task : tasks) {
+            SegmentResult segment = task.join();
+            if (failure == null) {
+                report.merge(segment.report(), (int) rowOffset);
+                rowOffset += segment.skippedRows() + segment.report().getRowsRead();
+                validCount += segment.validCount();
+                failure = segment.failure();
+            }
         }
-        if (dto.getQuantity() < 0) {
-            throw new InvalidJsonFormatException(
-                String.format("Erro no arquivo %s, produto '%s': O campo 'quantity' não pode ser negativo.", filename, dto.getProduct()));
+        if (failure instanceof IOException ioException) {
+            throw ioException;
         }
-        
-        // Validação do campo industry (opcional)
-        if (dto.getIndustry() == null) {
-            dto.setIndustry(""); // Define como string vazia se for nulo
+        if (failure != null) {
+            throw (RuntimeException) failure;
         }
-        
-        // Validação do campo origin (opcional)
-        if (dto.getOrigin() == null) {
-            dto.setOrigin(""); // Define como string vazia se for nulo
+        return validCount;
+    }
+
+    /**
+     * Lê um trecho do arquivo com relatório próprio, numerando as linhas a partir do início do trecho.
+     */
+    private SegmentResult readSegment(Path file, ImportFormat format, ByteRange range, ImportChunkSource source,
+                                      Consumer<List<Product>> chunkConsumer, ImportProgress progress) {
+        String filename = file.getFileName().toString();
+        ImportValidationReport report = new ImportValidationReport();
+        try (ProductRecordReader reader = format.openRange(file, range)) {
+            int validCount = readRecords(reader, filename, chunkConsumer, report, progress, source);
+            return new SegmentResult(report, source.skipRows(), validCount, null);
+        } catch (IOException | RuntimeException e) {
+            return new SegmentResult(report, source.skipRows(), 0, e);
+        }
+    }
+
+    /**
+     * Resultado da leitura de um trecho do arquivo.
+     *
+     * @param skippedRows Linhas do início do trecho puladas por já estarem gravadas
+     * @param failure Erro que interrompeu a leitura do trecho, ou null
+     */
+    private record SegmentResult(ImportValidationReport report, long skippedRows, int validCount, Exception failure) {
+    }
+
+    /**
+     * Origem dos lotes lidos por {@link #readRecords}: o trecho do arquivo e as linhas iniciais
+     * que já foram gravadas por uma carga anterior.
+     */
+    private record ImportChunkSource(int segmentIndex, int segmentCount, long skipRows) {
+    }
+
+    /**
+     * Valida e converte as linhas de um leitor, entregando os produtos válidos em lotes.
+     * As primeiras {@code source.skipRows()} linhas são lidas sem validação e descartadas;
+     * a numeração das linhas no relatório continua contando a partir delas.
+     */
+    private int readRecords(ProductRecordReader reader, String filename, Consumer<List<Product>> chunkConsumer,
+                            ImportValidationReport report, ImportProgress progress, ImportChunkSource source) throws IOException {
+        int chunkSize = importProperties.chunkSize();
+        ImportRowValidator.Result validation = new ImportRowValidator.Result();
+        int index = skipCommittedRows(reader, filename, source);
+        ImportChunk chunk = new ImportChunk(source.segmentIndex(), source.segmentCount(), chunkSize);
+        int validCount = 0;
+        int reportedRows = index;
+        int reportedValid = 0;
+        // O tempo de leitura de cada lote não inclui a entrega ao consumidor, que pode esperar pela gravação
+        long parseStart = System.nanoTime();
+        ProductImportDto dto;
+        while ((dto = reader.next()) != null) {
+            index++;
+            if (ImportRowValidator.validate(dto, reader.malformedField(), validation)) {
+                chunk.add(convertToEntity(dto, validation.priceCents()));
+                report.recordValid();
+                validCount++;
+            } else {
+                // Linhas inválidas vão para o relatório agregado; o log por linha fica restrito ao nível DEBUG
+                report.recordViolation(filename, index, validation.field(), validation.code().name());
+                if (log.isDebugEnabled()) {
+                    log.debug("Produto inválido no arquivo {}: {}", filename, validation.describe(filename, index, dto));
+                }
+            }
+
+            if (chunk.size() >= chunkSize) {
+                progress.addParsed(index - reportedRows, validCount - reportedValid, System.nanoTime() - parseStart);
+                reportedRows = index;
+                reportedValid = validCount;
+                chunk.endAt(index);
+                chunkConsumer.accept(chunk);
+                chunk = new ImportChunk(source.segmentIndex(), source.segmentCount(), chunkSize);
+                parseStart = System.nanoTime();
+            }
         }
+
+        if (index > reportedRows) {
+            progress.addParsed(index - reportedRows, validCount - reportedValid, System.nanoTime() - parseStart);
+        }
+        if (!chunk.isEmpty()) {
+            chunk.endAt(index);
+            chunkConsumer.accept(chunk);
+        }
+        return validCount;
+    }
+
+    /**
+     * Descarta as linhas do trecho que uma carga interrompida já gravou.
+     *
+     * @return O número de linhas descartadas
+     */
+    private static int skipCommittedRows(ProductRecordReader reader, String filename, ImportChunkSource source) throws IOException {
+        int skipped = 0;
+        while (skipped < source.skipRows() && reader.next() != null) {
+            skipped++;
+        }
+        if (skipped > 0) {
+            log.info("Retomando o arquivo {} (trecho {} de {}) após {} linhas já gravadas",
+                    filename, source.segmentIndex() + 1, source.segmentCount(), skipped);
+        }
+        return skipped;
+    }
+
+    /**
+     * Abre o arquivo para leitura. Arquivos no sistema de arquivos são mapeados em memória quando
+     * {@code product-import.read-mode=MEMORY_MAPPED}; os demais (por exemplo, dentro do JAR) são lidos como stream.
+     */
+    private InputStream openStream(Resource resource) throws IOException {
+        if (importProperties.readMode() == ProductImportProperties.ReadMode.MEMORY_MAPPED && resource.isFile()) {
+            return new MappedFileInputStream(resource.getFile().toPath());
+        }
+        return resource.getInputStream();
     }
 
     /**
@@ -229,22 +818,25 @@ public class JsonFileProcessorService {
         log.debug("Verificando produtos duplicados entre {} produtos fornecidos", products.size());
         
         // Filtra para obter apenas produtos únicos na lista fornecida (com base no nome e tipo)
-        List<Product> uniqueProducts = products.stream()
-                .filter(distinctByKeys(Product::getName, Product::getType))
-                .collect(Collectors.toList());
+        List<Product> uniqueProducts = ProductKeySet.distinct(products);
 
-        // Busca produtos existentes no banco de dados
-        Set<String> existingProducts = productRepository.findByNameInAndTypeIn(
-                uniqueProducts.stream().map(Product::getName).collect(Collectors.toList()),
-                uniqueProducts.stream().map(Product::getType).collect(Collectors.toList()))
-                .stream()
-                .map(p -> p.getName() + "|" + p.getType())
-                .collect(Collectors.toSet());
-
-        // Filtra para manter apenas produtos que não existem no banco de dados
-        List<Product> newProducts = uniqueProducts.stream()
-                .filter(p -> !existingProducts.contains(p.getName() + "|" + p.getType()))
-                .collect(Collectors.toList());
+        // Busca, pelos pares exatos (nome, tipo), quais produtos já existem no banco de dados
+        List<ProductKey> uniqueKeys = new ArrayList<>(uniqueProducts.size());
+        for (Product product : uniqueProducts) {
+            uniqueKeys.add(ProductKey.of(product));
+        }
+        Set<ProductKey> existingKeys = importMetrics.timeDedupQuery(() -> productRepository.findExistingKeys(uniqueKeys));
+
+        // Filtra para manter apenas produtos que não existem no banco de dados, reaproveitando as chaves já criadas
+        List<Product> newProducts = uniqueProducts;
+        if (!existingKeys.isEmpty()) {
+            newProducts = new ArrayList<>(uniqueProducts.size() - Math.min(uniqueProducts.size(), existingKeys.size()));
+            for (int i = 0; i < uniqueProducts.size(); i++) {
+                if (!existingKeys.contains(uniqueKeys.get(i))) {
+                    newProducts.add(uniqueProducts.get(i));
+                }
+            }
+        }
 
         if (newProducts.isEmpty()) {
             log.info("Todos os produtos já existem no banco de dados. Nenhum novo produto para salvar.");
@@ -254,25 +846,23 @@ public class JsonFileProcessorService {
         log.info("Ignorando {} produtos que já existem no banco de dados", 
                 uniqueProducts.size() - newProducts.size());
 
-        // Tamanho do lote para inserção em lotes
-        final int batchSize = 100;
         int totalSaved = 0;
 
         log.info("Salvando {} novos produtos em {} lotes de até {} produtos cada", 
-                newProducts.size(), (int) Math.ceil((double) newProducts.size() / batchSize), batchSize);
+                newProducts.size(), (int) Math.ceil((double) newProducts.size() / INSERT_BATCH_SIZE), INSERT_BATCH_SIZE);
 
-        // Salva em lotes para melhor performance
-        for (int i = 0; i < newProducts.size(); i += batchSize) {
-            int end = Math.min(newProducts.size(), i + batchSize);
+        // Salva em lotes JDBC, enviados como INSERTs com múltiplas linhas
+        for (int i = 0; i < newProducts.size(); i += INSERT_BATCH_SIZE) {
+            int end = Math.min(newProducts.size(), i + INSERT_BATCH_SIZE);
             List<Product> batch = newProducts.subList(i, end);
             
-            List<Product> savedBatch = productRepository.saveAll(batch);
-            totalSaved += savedBatch.size();
+            int savedCount = importMetrics.timeInsert("JDBC_BATCH", () -> productRepository.batchInsert(batch));
+            totalSaved += savedCount;
             
             log.debug("Lote {}/{}: {} produtos salvos com sucesso", 
-                    (i / batchSize) + 1, 
-                    (int) Math.ceil((double) newProducts.size() / batchSize),
-                    savedBatch.size());
+                    (i / INSERT_BATCH_SIZE) + 1, 
+                    (int) Math.ceil((double) newProducts.size() / INSERT_BATCH_SIZE),
+                    savedCount);
         }
 
         log.info("Processo de salvamento concluído. Total de {} novos produtos salvos.", totalSaved);
@@ -284,32 +874,24 @@ public class JsonFileProcessorService {
      * Método package-private para permitir testes unitários.
      */
     Product convertToEntity(ProductImportDto dto) {
-        // Converte o preço de string (ex: "$1.99") para BigDecimal
-        BigDecimal price = dto.getPrice() != null && !dto.getPrice().trim().isEmpty() 
-                ? new BigDecimal(dto.getPrice().replace("$", "")) 
-                : BigDecimal.ZERO;
-                
+        long priceCents = dto.getPrice() != null && !dto.getPrice().isBlank() ? PriceParser.parseCents(dto.getPrice()) : 0;
+        if (priceCents < 0) {
+            throw new InvalidJsonFormatException("Formato de preço inválido: " + dto.getPrice());
+        }
+        return convertToEntity(dto, priceCents);
+    }
+
+    /**
+     * Converte um DTO já validado para a entidade Product, usando o preço convertido na validação.
+     */
+    private Product convertToEntity(ProductImportDto dto, long priceCents) {
         return Product.builder()
                 .name(dto.getProduct())  // Usa getProduct() em vez de getName()
                 .type(dto.getType())
-                .price(price)
+                .price(BigDecimal.valueOf(priceCents, 2))
                 .quantity(dto.getQuantity())
-                .industry(dto.getIndustry())
-                .origin(dto.getOrigin())
+                .industry(dto.getIndustry() != null ? dto.getIndustry() : "") // Campos opcionais gravados como vazios
+                .origin(dto.getOrigin() != null ? dto.getOrigin() : "")
                 .build();
     }
-
-    /**
-     * Método auxiliar para filtrar elementos distintos por múltiplas chaves.
-     */
-    @SafeVarargs
-    private static <T> Predicate<T> distinctByKeys(Function<? super T, ?>... keyExtractors) {
-        final Map<List<?>, Boolean> seen = new ConcurrentHashMap<>();
-        return t -> {
-            List<?> keys = Arrays.stream(keyExtractors)
-                    .map(ke -> ke.apply(t))
-                    .collect(Collectors.toList());
-            return seen.putIfAbsent(keys, Boolean.TRUE) == null;
-        };
-    }
 }
@@ -0,0 +1,86 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * InputStream com as linhas de um arquivo que começam dentro de um {@link ByteRange}.
+ * A linha que começou antes do intervalo é descartada, pois pertence ao intervalo anterior,
+ * e a última linha é lida até a quebra de linha, mesmo que ultrapasse o fim do intervalo.
+ * Assim, intervalos consecutivos entregam cada linha do arquivo exatamente uma vez.
+ */
+final class LineRangeInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream inputStream;
+    private final long end;
+    private long position;
+    private boolean done;
+
+    LineRangeInputStream(Path file, ByteRange range) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        // Começa um byte antes para saber se o intervalo começa exatamente no início de uma linha
+        long begin = range.start() == 0 ? 0 : range.start() - 1;
+        channel.position(begin);
+        this.inputStream = new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE);
+        this.end = range.end();
+        this.position = begin;
+        if (range.start() > 0) {
+            skipPastNewline();
+        }
+        done = done || position >= end;
+    }
+
+    private void skipPastNewline() throws IOException {
+        int b;
+        while ((b = inputStream.read()) != -1) {
+            position++;
+            if (b == '\n') {
+                return;
+            }
+        }
+        done = true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (done) {
+            return -1;
+        }
+        int read = inputStream.read(buffer, offset, length);
+        if (read == -1) {
+            done = true;
+            return -1;
+        }
+        // Uma quebra de linha na posição end - 1 ou depois encerra a última linha do intervalo
+        long firstCandidate = Math.max(position, end - 1);
+        if (firstCandidate < position + read) {
+            for (int i = (int) (firstCandidate - position); i < read; i++) {
+                if (buffer[offset + i] == '\n') {
+                    read = i + 1;
+                    done = true;
+                    break;
+                }
+            }
+        }
+        position += read;
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
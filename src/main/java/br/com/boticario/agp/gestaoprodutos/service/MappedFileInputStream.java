@@ -0,0 +1,117 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * InputStream que lê um arquivo por meio de mapeamento em memória ({@link MappedByteBuffer}).
+ * Os bytes são copiados diretamente das páginas do cache do sistema operacional para o buffer
+ * de quem lê, sem uma chamada de sistema {@code read} a cada bloco.
+ * Como um {@link MappedByteBuffer} é limitado a 2 GB, arquivos maiores são mapeados em segmentos
+ * consecutivos, um de cada vez.
+ * O mapeamento é liberado pelo coletor de lixo quando o segmento deixa de ser referenciado.
+ */
+final class MappedFileInputStream extends InputStream {
+
+    static final long DEFAULT_SEGMENT_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long segmentSize;
+    private long segmentStart;
+    private MappedByteBuffer segment;
+
+    MappedFileInputStream(Path path) throws IOException {
+        this(path, DEFAULT_SEGMENT_SIZE);
+    }
+
+    MappedFileInputStream(Path path, long segmentSize) throws IOException {
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamanho de segmento inválido: " + segmentSize);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.segmentSize = segmentSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        return segment.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        int count = Math.min(length, segment.remaining());
+        segment.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        long position = position();
+        long skipped = Math.min(n, size - position);
+        seek(position + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return segment == null ? (int) Math.min(size - segmentStart, Integer.MAX_VALUE) : segment.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        segment = null;
+        channel.close();
+    }
+
+    private long position() {
+        return segment == null ? segmentStart : segmentStart + segment.position();
+    }
+
+    /**
+     * Garante que o segmento atual tenha bytes a ler, mapeando o próximo quando necessário.
+     *
+     * @return false se o fim do arquivo foi atingido
+     */
+    private boolean ensureRemaining() throws IOException {
+        if (segment != null && segment.hasRemaining()) {
+            return true;
+        }
+        long next = position();
+        if (next >= size) {
+            return false;
+        }
+        seek(next);
+        return true;
+    }
+
+    private void seek(long position) throws IOException {
+        if (segment != null && position >= segmentStart && position < segmentStart + segment.capacity()) {
+            segment.position((int) (position - segmentStart));
+            return;
+        }
+        segmentStart = position;
+        if (position >= size) {
+            segment = null;
+            return;
+        }
+        segment = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(segmentSize, size - position));
+    }
+}
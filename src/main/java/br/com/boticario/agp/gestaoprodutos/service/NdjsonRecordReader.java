@@ -0,0 +1,30 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ProductImportDto;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Leitor de arquivos NDJSON: um objeto JSON de produto por linha. Linhas em branco são ignoradas.
+ * Os objetos são lidos em sequência pelo mesmo parser, sem criar uma String por linha.
+ */
+final class NdjsonRecordReader implements ProductRecordReader {
+
+    private final MappingIterator<ProductImportDto> iterator;
+
+    NdjsonRecordReader(InputStream inputStream) throws IOException {
+        this.iterator = ImportFormat.JSON_PRODUCT_READER.readValues(inputStream);
+    }
+
+    @Override
+    public ProductImportDto next() throws IOException {
+        return iterator.hasNextValue() ? iterator.nextValue() : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        iterator.close();
+    }
+}
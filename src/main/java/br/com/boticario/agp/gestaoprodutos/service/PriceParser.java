@@ -0,0 +1,106 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+/**
+ * Conversor de preços no formato dos arquivos de importação ({@code "$X.XX"}) para centavos.
+ * Percorre os caracteres uma única vez, sem criar strings intermediárias nem {@link java.math.BigDecimal}.
+ * O símbolo {@code $} é opcional e a parte decimal aceita até duas casas, como em {@code "10"}, {@code "$10.5"}
+ * ou {@code "$10.50"}. O valor máximo respeita a coluna {@code price NUMERIC(10, 2)}.
+ */
+final class PriceParser {
+
+    /**
+     * Retornado quando o texto não está no formato esperado.
+     */
+    static final long INVALID_FORMAT = -1;
+
+    /**
+     * Retornado quando o preço excede o limite da coluna {@code price}.
+     */
+    static final long OUT_OF_RANGE = -2;
+
+    static final long MAX_CENTS = 99_999_999_99L;
+
+    private PriceParser() {
+    }
+
+    /**
+     * Converte um preço para centavos.
+     *
+     * @param text O preço, por exemplo {@code "$1.99"}
+     * @return O preço em centavos (maior ou igual a zero), {@link #INVALID_FORMAT} ou {@link #OUT_OF_RANGE}
+     */
+    static long parseCents(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        if (i < length && text.charAt(i) == '$') {
+            i++;
+        }
+
+        int integerStart = i;
+        long units = 0;
+        int integerDigits = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            // Zeros à esquerda não contam para o limite de dígitos
+            if (units > 0 || c != '0') {
+                integerDigits++;
+            }
+            units = units * 10 + (c - '0');
+            i++;
+            if (integerDigits > 8) {
+                return isWellFormedRemainder(text, i) ? OUT_OF_RANGE : INVALID_FORMAT;
+            }
+        }
+        boolean hasIntegerPart = i > integerStart;
+
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (i < length && text.charAt(i) == '.') {
+            i++;
+            while (i < length) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9' || fractionDigits == 2) {
+                    return INVALID_FORMAT;
+                }
+                fraction = fraction * 10 + (c - '0');
+                fractionDigits++;
+                i++;
+            }
+            if (fractionDigits == 0) {
+                return INVALID_FORMAT;
+            }
+        }
+
+        if (i != length || !hasIntegerPart) {
+            return INVALID_FORMAT;
+        }
+        return units * 100 + (fractionDigits == 1 ? fraction * 10 : fraction);
+    }
+
+    /**
+     * Verifica se o restante do texto completa um número bem formado, para distinguir
+     * um valor grande demais de um texto inválido.
+     */
+    private static boolean isWellFormedRemainder(CharSequence text, int from) {
+        int length = text.length();
+        int i = skipDigits(text, from);
+        if (i < length && text.charAt(i) == '.') {
+            int fractionStart = i + 1;
+            i = skipDigits(text, fractionStart);
+            int fractionDigits = i - fractionStart;
+            return i == length && fractionDigits > 0 && fractionDigits <= 2;
+        }
+        return i == length;
+    }
+
+    private static int skipDigits(CharSequence text, int from) {
+        int i = from;
+        while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+}
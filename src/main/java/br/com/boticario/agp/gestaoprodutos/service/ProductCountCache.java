@@ -0,0 +1,49 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductSearchProperties;
+import br.com.boticario.agp.gestaoprodutos.dto.ProductSearchRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Cache das contagens exatas da busca de produtos, usado pelo total {@code CACHED}.
+ * A chave são os critérios normalizados ({@link ProductSearchRequest#normalized()}), portanto buscas que
+ * diferem só em maiúsculas ou espaços compartilham a contagem. Cada contagem vale por
+ * {@code product-search.count-cache.ttl} a partir do cálculo e não é invalidada por escritas:
+ * esse é o limite da defasagem do total. Acertos, faltas e descartes são publicados como
+ * {@code cache.*{cache="product.search.count"}}.
+ */
+@Component
+public class ProductCountCache {
+
+    static final String CACHE_NAME = "product.search.count";
+
+    private final Cache<ProductSearchRequest, Long> counts;
+
+    public ProductCountCache(ProductSearchProperties properties, MeterRegistry meterRegistry) {
+        ProductSearchProperties.CountCache config = properties.countCache();
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(config.maximumSize())
+                .expireAfterWrite(config.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, CACHE_NAME);
+    }
+
+    /**
+     * Retorna a contagem em cache dos critérios ou a calcula com {@code counter}. Buscas simultâneas
+     * com os mesmos critérios aguardam uma única contagem.
+     *
+     * @param criteria Critérios de busca normalizados
+     * @param counter Função que conta os produtos no banco
+     * @return Quantidade de produtos, possivelmente defasada em até o TTL configurado
+     */
+    public long get(ProductSearchRequest criteria, Function<ProductSearchRequest, Long> counter) {
+        return counts.get(criteria, counter);
+    }
+}
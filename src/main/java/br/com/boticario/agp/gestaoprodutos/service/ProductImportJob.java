@@ -0,0 +1,157 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportJobResponse;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportSummary;
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportRun;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tarefa em segundo plano que carrega os arquivos de produtos.
+ * A carga é iniciada somente após o {@link ApplicationReadyEvent}, de modo que a inicialização
+ * do contexto Spring não espera pela leitura dos arquivos nem pelo banco de dados.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportJob {
+
+    /**
+     * Estados do ciclo de vida da carga.
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final JsonFileProcessorService jsonFileProcessorService;
+    private final ProductImportProperties importProperties;
+    private final ImportRunService importRunService;
+
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.PENDING);
+    private volatile OffsetDateTime startedAt;
+    private volatile OffsetDateTime finishedAt;
+    private volatile ImportSummary summary;
+    private volatile String errorMessage;
+    private volatile boolean firstRunFinished;
+
+    /**
+     * Inicia a carga quando a aplicação estiver pronta para receber tráfego.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!importProperties.runOnStartup()) {
+            log.info("Carga inicial de produtos desabilitada (product-import.run-on-startup=false)");
+            return;
+        }
+        start();
+    }
+
+    /**
+     * Inicia a carga em segundo plano, caso ela ainda não esteja em execução.
+     * Arquivos inalterados desde a última carga são ignorados.
+     *
+     * @return true se a carga foi iniciada, false se já havia uma carga em execução
+     */
+    public boolean start() {
+        return start(false);
+    }
+
+    /**
+     * Inicia a carga em segundo plano, caso ela ainda não esteja em execução.
+     *
+     * @param force Indica se todos os arquivos devem ser importados, inclusive os inalterados desde a última carga
+     * @return true se a carga foi iniciada, false se já havia uma carga em execução
+     */
+    public boolean start(boolean force) {
+        Status previous = status.getAndUpdate(current -> current == Status.RUNNING ? current : Status.RUNNING);
+        if (previous == Status.RUNNING) {
+            log.warn("Carga de produtos já está em execução; nova solicitação ignorada");
+            return false;
+        }
+
+        startedAt = OffsetDateTime.now();
+        finishedAt = null;
+        summary = null;
+        errorMessage = null;
+        log.info("Iniciando carga de produtos em segundo plano (forçada: {})", force);
+
+        try {
+            jsonFileProcessorService.processJsonFiles(force).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    fail(ex);
+                } else {
+                    complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+        return true;
+    }
+
+    /**
+     * Retorna o estado atual da carga.
+     *
+     * @return O estado da carga e do executor de importação
+     */
+    public ImportJobResponse getState() {
+        return ImportJobResponse.builder()
+                .status(status.get())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .productsSaved(summary != null ? summary.getProductsSaved() : null)
+                .summary(summary)
+                .errorMessage(errorMessage)
+                .executor(jsonFileProcessorService.getExecutorStats())
+                .build();
+    }
+
+    /**
+     * Retorna apenas o estado do ciclo de vida da carga.
+     *
+     * @return O estado atual
+     */
+    public Status getStatus() {
+        return status.get();
+    }
+
+    /**
+     * Indica se a carga já terminou ao menos uma vez desde a subida da aplicação, com sucesso ou com falha.
+     *
+     * @return true se alguma carga já foi concluída ou falhou
+     */
+    public boolean isFirstRunFinished() {
+        return firstRunFinished;
+    }
+
+    private void complete(ImportSummary result) {
+        summary = result;
+        finishedAt = OffsetDateTime.now();
+        status.set(Status.COMPLETED);
+        firstRunFinished = true;
+        log.info("Carga de produtos concluída. Total de novos produtos salvos: {}. Linhas rejeitadas: {}",
+                result.getProductsSaved(), result.getValidation().getRowsRejected());
+        importRunService.recordCompleted(ProductImportRun.Trigger.FULL_IMPORT, startedAt, result);
+    }
+
+    private void fail(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        errorMessage = cause.getMessage();
+        finishedAt = OffsetDateTime.now();
+        status.set(Status.FAILED);
+        firstRunFinished = true;
+        log.error("Erro durante a carga de produtos: {}", cause.getMessage(), cause);
+        importRunService.recordFailed(ProductImportRun.Trigger.FULL_IMPORT, startedAt, errorMessage);
+    }
+}
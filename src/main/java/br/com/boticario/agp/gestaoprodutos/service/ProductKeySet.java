@@ -0,0 +1,131 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Conjunto de chaves (nome, tipo) de produtos usado para descartar repetidos em um lote.
+ * É uma tabela de endereçamento aberto com sondagem linear: cada posição guarda o hash de 64 bits
+ * da chave em um {@code long[]} e o produto que a originou, usado apenas para confirmar colisões.
+ * Adicionar um produto não aloca objetos; a tabela é dimensionada na criação e só cresce se a
+ * quantidade de produtos passar da prevista. Não é thread-safe.
+ */
+final class ProductKeySet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] hashes;
+    private Product[] products;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    /**
+     * @param expectedSize Quantidade prevista de produtos, usada para dimensionar a tabela com carga de até 50%
+     */
+    ProductKeySet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Remove os produtos com (nome, tipo) repetido, mantendo a primeira ocorrência de cada chave.
+     *
+     * @param products Produtos na ordem de leitura
+     * @return A própria lista, se não houver repetidos, ou uma nova lista apenas com as primeiras ocorrências
+     */
+    static List<Product> distinct(List<Product> products) {
+        ProductKeySet seen = new ProductKeySet(products.size());
+        List<Product> unique = null;
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            if (seen.add(product)) {
+                if (unique != null) {
+                    unique.add(product);
+                }
+            } else if (unique == null) {
+                // Só copia a lista a partir do primeiro repetido
+                unique = new ArrayList<>(products.subList(0, i));
+            }
+        }
+        return unique == null ? products : unique;
+    }
+
+    /**
+     * Adiciona a chave (nome, tipo) do produto.
+     *
+     * @param product O produto
+     * @return true se a chave ainda não estava no conjunto
+     */
+    boolean add(Product product) {
+        long hash = hash(product.getName(), product.getType());
+        int slot = (int) hash & mask;
+        while (products[slot] != null) {
+            if (hashes[slot] == hash && sameKey(products[slot], product)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        products[slot] = product;
+        if (++size > resizeThreshold) {
+            grow();
+        }
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Combina os hashes (já armazenados em cache pelas próprias Strings) de nome e tipo em 64 bits,
+     * espalhando os bits com o passo final do MurmurHash3 para que a máscara use bits bem distribuídos.
+     */
+    static long hash(String name, String type) {
+        long h = ((long) Objects.hashCode(name) << 32) ^ (Objects.hashCode(type) & 0xFFFFFFFFL);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static boolean sameKey(Product a, Product b) {
+        return Objects.equals(a.getName(), b.getName()) && Objects.equals(a.getType(), b.getType());
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long wanted = Math.max(MIN_CAPACITY, 2L * expectedSize);
+        if (wanted > 1 << 30) {
+            throw new IllegalArgumentException("Quantidade de produtos excede a capacidade do conjunto: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) wanted - 1) << 1;
+    }
+
+    private void allocate(int capacity) {
+        hashes = new long[capacity];
+        products = new Product[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity / 2;
+    }
+
+    private void grow() {
+        long[] oldHashes = hashes;
+        Product[] oldProducts = products;
+        allocate(capacityFor(size));
+        for (int i = 0; i < oldProducts.length; i++) {
+            if (oldProducts[i] != null) {
+                int slot = (int) oldHashes[i] & mask;
+                while (products[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = oldHashes[i];
+                products[slot] = oldProducts[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ProductImportDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Leitura em streaming das linhas de produtos de um arquivo de importação, independente do formato.
+ * Cada chamada a {@link #next()} devolve uma linha, sem carregar o arquivo inteiro em memória.
+ * Uma instância é usada por uma única thread.
+ */
+interface ProductRecordReader extends Closeable {
+
+    /**
+     * Lê a próxima linha do arquivo.
+     *
+     * @return A linha lida, ou null no fim do arquivo
+     * @throws IOException Se ocorrer erro de leitura ou o arquivo estiver malformado
+     */
+    ProductImportDto next() throws IOException;
+
+    /**
+     * Campo da última linha lida cujo valor não pôde ser convertido para o tipo esperado,
+     * por exemplo uma quantidade não numérica em um CSV. Nos formatos JSON a conversão é feita
+     * pelo Jackson e um valor inválido interrompe a leitura do arquivo.
+     *
+     * @return O nome do campo malformado, ou null se a linha foi convertida por completo
+     */
+    default String malformedField() {
+        return null;
+    }
+}
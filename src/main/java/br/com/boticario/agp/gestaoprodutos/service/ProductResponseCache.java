@@ -0,0 +1,85 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductCacheProperties;
+import br.com.boticario.agp.gestaoprodutos.dto.ProductResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Cache read-through dos produtos por ID, limitado por quantidade (os menos usados são descartados)
+ * e por {@code product-cache.ttl} a partir da leitura do banco.
+ * As escritas desta instância atualizam o cache depois do commit; a carga de uma entrada e a sua
+ * invalidação são atômicas por chave, portanto uma leitura concorrente não devolve ao cache a versão
+ * anterior ao commit. Alterações feitas fora desta instância aparecem em até {@code ttl}.
+ * Acertos, faltas e descartes são publicados como {@code cache.*{cache="product.by.id"}}.
+ */
+@Slf4j
+@Component
+public class ProductResponseCache {
+
+    static final String CACHE_NAME = "product.by.id";
+
+    private final boolean enabled;
+    private final Cache<Long, ProductResponse> products;
+
+    public ProductResponseCache(ProductCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.products = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, products, CACHE_NAME);
+    }
+
+    /**
+     * Retorna o produto em cache ou o carrega com {@code loader}. Produtos inexistentes não são mantidos:
+     * a exceção do {@code loader} é propagada e a próxima leitura consulta o banco de novo.
+     *
+     * @param id ID do produto
+     * @param loader Função que lê o produto do banco
+     * @return O produto
+     */
+    public ProductResponse get(Long id, Function<Long, ProductResponse> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return products.get(id, loader);
+    }
+
+    /**
+     * Coloca o produto no cache quando a transação atual for confirmada (ou imediatamente, fora de transação).
+     *
+     * @param product Produto gravado
+     */
+    public void putAfterCommit(ProductResponse product) {
+        if (enabled) {
+            AfterCommit.run(() -> products.put(product.getId(), product));
+        }
+    }
+
+    /**
+     * Remove o produto do cache quando a transação atual for confirmada (ou imediatamente, fora de transação).
+     * Em caso de rollback, o produto em cache continua válido.
+     *
+     * @param id ID do produto alterado ou removido
+     */
+    public void evictAfterCommit(Long id) {
+        AfterCommit.run(() -> products.invalidate(id));
+    }
+
+    /**
+     * Esvazia o cache. Usado pelas cargas em lote, que atualizam ou removem produtos sem informar os IDs;
+     * deve ser chamado depois do commit das alterações.
+     */
+    public void invalidateAll() {
+        log.debug("Invalidando {} produtos em cache", products.estimatedSize());
+        products.invalidateAll();
+    }
+}
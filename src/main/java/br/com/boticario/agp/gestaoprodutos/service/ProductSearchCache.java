@@ -0,0 +1,94 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductSearchProperties;
+import br.com.boticario.agp.gestaoprodutos.dto.PageResponse;
+import br.com.boticario.agp.gestaoprodutos.dto.ProductResponse;
+import br.com.boticario.agp.gestaoprodutos.dto.ProductSearchRequest;
+import br.com.boticario.agp.gestaoprodutos.dto.TotalKind;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache das páginas da busca de produtos, com chave formada pelos critérios normalizados, pela página
+ * e pela versão do catálogo desta instância. Cada alteração confirmada de produtos (escritas da API e lotes
+ * das cargas) incrementa a versão, e as páginas anteriores deixam de ser encontradas sem que o cache seja percorrido.
+ * A memória é limitada pela soma dos produtos das páginas ({@code product-search.result-cache.maximum-products});
+ * o Caffeine descarta primeiro as páginas pouco buscadas (W-TinyLFU), o que inclui as de versões antigas.
+ * Alterações feitas fora desta instância aparecem em até {@code product-search.result-cache.ttl}.
+ * Acertos, faltas e descartes são publicados como {@code cache.*{cache="product.search"}} e a versão,
+ * como {@code product.catalog.version}.
+ */
+@Component
+public class ProductSearchCache {
+
+    static final String CACHE_NAME = "product.search";
+
+    private final boolean enabled;
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final Cache<Key, PageResponse<ProductResponse>> pages;
+
+    public ProductSearchCache(ProductSearchProperties properties, MeterRegistry meterRegistry) {
+        ProductSearchProperties.ResultCache config = properties.resultCache();
+        this.enabled = config.enabled();
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(config.maximumProducts())
+                // Páginas vazias também ocupam uma entrada
+                .<Key, PageResponse<ProductResponse>>weigher((key, page) -> Math.max(1, page.getContent().size()))
+                .expireAfterWrite(config.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, CACHE_NAME);
+        Gauge.builder("product.catalog.version", catalogVersion, AtomicLong::get)
+                .description("Versão do catálogo, incrementada a cada alteração de produtos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retorna a página em cache para os critérios na versão atual do catálogo, ou a busca com {@code search}.
+     * Buscas simultâneas com a mesma chave aguardam uma única consulta.
+     *
+     * @param criteria Critérios de busca normalizados
+     * @param pageable Página, tamanho e ordenação efetivos da busca
+     * @param totalKind Tipo do total da página
+     * @param search Busca no banco
+     * @return A página de produtos
+     */
+    public PageResponse<ProductResponse> get(ProductSearchRequest criteria, Pageable pageable, TotalKind totalKind,
+                                             Supplier<PageResponse<ProductResponse>> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        // A versão é lida antes da busca: se um commit acontecer durante a consulta, o resultado fica
+        // guardado com a versão anterior e não é servido depois do commit
+        Key key = new Key(catalogVersion.get(), criteria, pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort(), totalKind);
+        return pages.get(key, k -> search.get());
+    }
+
+    /**
+     * Registra uma alteração de produtos já confirmada: as páginas guardadas deixam de ser servidas.
+     */
+    public void catalogChanged() {
+        catalogVersion.incrementAndGet();
+    }
+
+    /**
+     * Registra uma alteração de produtos quando a transação atual for confirmada (ou imediatamente, fora de transação).
+     */
+    public void catalogChangedAfterCommit() {
+        AfterCommit.run(this::catalogChanged);
+    }
+
+    private record Key(long catalogVersion, ProductSearchRequest criteria, int page, int size, Sort sort,
+                       TotalKind totalKind) {
+    }
+}
@@ -1,9 +1,11 @@
 package br.com.boticario.agp.gestaoprodutos.service;
 
 import br.com.boticario.agp.gestaoprodutos.dto.PageResponse;
+import br.com.boticario.agp.gestaoprodutos.dto.ProductCursor;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductRequest;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductResponse;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductSearchRequest;
+import br.com.boticario.agp.gestaoprodutos.dto.TotalKind;
 import br.com.boticario.agp.gestaoprodutos.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -23,9 +25,33 @@ public interface ProductService {
      * @return Uma página de produtos que correspondem aos critérios
      */
     PageResponse<ProductResponse> searchProducts(ProductSearchRequest searchRequest, Pageable pageable);
+
+    /**
+     * Busca produtos com base nos critérios fornecidos, escolhendo como o total é obtido.
+     * Exceto com {@link TotalKind#EXACT}, a página é buscada com um produto a mais para indicar
+     * {@code hasNext}, sem depender do total.
+     *
+     * @param searchRequest Os critérios de busca
+     * @param pageable As informações de paginação
+     * @param totalKind Contagem exata, contagem em cache, estimativa do PostgreSQL ou nenhum total
+     * @return Uma página de produtos que correspondem aos critérios
+     */
+    PageResponse<ProductResponse> searchProducts(ProductSearchRequest searchRequest, Pageable pageable, TotalKind totalKind);
+
+    /**
+     * Busca produtos com base nos critérios fornecidos, paginando por cursor na ordem de (nome, id).
+     * A resposta traz em {@code nextCursor} a posição da página seguinte e não inclui o total de produtos.
+     *
+     * @param searchRequest Os critérios de busca
+     * @param after Posição da página anterior, ou null para a primeira página
+     * @param size Tamanho da página
+     * @return Uma página de produtos que correspondem aos critérios
+     */
+    PageResponse<ProductResponse> searchProducts(ProductSearchRequest searchRequest, ProductCursor after, int size);
     
     /**
-     * Busca um produto pelo ID.
+     * Busca um produto pelo ID. O produto pode vir do cache: alterações feitas por esta instância são
+     * vistas logo após o commit; as feitas fora dela, em até {@code product-cache.ttl}.
      * 
      * @param id O ID do produto a ser buscado
      * @return O produto encontrado
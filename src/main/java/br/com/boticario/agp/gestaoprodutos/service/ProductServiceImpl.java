@@ -1,9 +1,11 @@
 package br.com.boticario.agp.gestaoprodutos.service;
 
 import br.com.boticario.agp.gestaoprodutos.dto.PageResponse;
+import br.com.boticario.agp.gestaoprodutos.dto.ProductCursor;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductRequest;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductResponse;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductSearchRequest;
+import br.com.boticario.agp.gestaoprodutos.dto.TotalKind;
 import br.com.boticario.agp.gestaoprodutos.exception.ResourceAlreadyExistsException;
 import br.com.boticario.agp.gestaoprodutos.exception.ResourceNotFoundException;
 import br.com.boticario.agp.gestaoprodutos.model.Product;
@@ -30,11 +32,19 @@ import java.util.stream.Collectors;
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductCountCache productCountCache;
+    private final ProductResponseCache productResponseCache;
+    private final ProductSearchCache productSearchCache;
 
     @Override
-    @Transactional(readOnly = true)
     public PageResponse<ProductResponse> searchProducts(ProductSearchRequest searchRequest, Pageable pageable) {
-        log.debug("Buscando produtos com critérios: {}", searchRequest);
+        return searchProducts(searchRequest, pageable, TotalKind.EXACT);
+    }
+
+    // Sem @Transactional, como em findById: uma página em cache não abre transação nem ocupa uma conexão do pool
+    @Override
+    public PageResponse<ProductResponse> searchProducts(ProductSearchRequest searchRequest, Pageable pageable, TotalKind totalKind) {
+        log.debug("Buscando produtos com critérios: {}, total: {}", searchRequest, totalKind);
         
         // Configura a ordenação padrão por nome
         Pageable sortedPageable = PageRequest.of(
@@ -42,12 +52,22 @@ public class ProductServiceImpl implements ProductService {
                 pageable.getPageSize(),
                 Sort.by("name").ascending()
         );
+        ProductSearchRequest criteria = searchRequest.normalized();
         
+        return productSearchCache.get(criteria, sortedPageable, totalKind, () -> totalKind == TotalKind.EXACT
+                ? searchPage(criteria, sortedPageable)
+                : searchSlice(criteria, sortedPageable, totalKind));
+    }
+
+    /**
+     * Busca a página com a contagem exata do total.
+     */
+    private PageResponse<ProductResponse> searchPage(ProductSearchRequest criteria, Pageable sortedPageable) {
         // Executa a busca com os critérios fornecidos
         Page<Product> productsPage = productRepository.findBySearchCriteria(
-                searchRequest.getName(),
-                searchRequest.getMinPrice(),
-                searchRequest.getMaxPrice(),
+                criteria.getName(),
+                criteria.getMinPrice(),
+                criteria.getMaxPrice(),
                 sortedPageable
         );
         
@@ -65,15 +85,82 @@ public class ProductServiceImpl implements ProductService {
         return PageResponse.fromPage(productsPage, content);
     }
 
+    /**
+     * Busca a página com um produto a mais, para indicar se há próxima página, e obtém o total
+     * do cache de contagens, da estimativa do banco ou não o obtém.
+     */
+    private PageResponse<ProductResponse> searchSlice(ProductSearchRequest criteria, Pageable sortedPageable, TotalKind totalKind) {
+        List<Product> products = productRepository.findSliceBySearchCriteria(
+                criteria.getName(),
+                criteria.getMinPrice(),
+                criteria.getMaxPrice(),
+                sortedPageable
+        );
+        boolean hasNext = products.size() > sortedPageable.getPageSize();
+        List<ProductResponse> content = (hasNext ? products.subList(0, sortedPageable.getPageSize()) : products).stream()
+                .map(ProductResponse::fromEntity)
+                .collect(Collectors.toList());
+        
+        long total = switch (totalKind) {
+            case CACHED -> productCountCache.get(criteria, c ->
+                    productRepository.countBySearchCriteria(c.getName(), c.getMinPrice(), c.getMaxPrice()));
+            case ESTIMATED -> productRepository.estimateCountBySearchCriteria(
+                    criteria.getName(), criteria.getMinPrice(), criteria.getMaxPrice());
+            default -> PageResponse.TOTAL_NOT_COUNTED;
+        };
+        
+        log.debug("Encontrados {} produtos na página {}; próxima página: {}", 
+                content.size(), sortedPageable.getPageNumber() + 1, hasNext);
+        
+        return PageResponse.fromSlice(content, sortedPageable.getPageNumber(), sortedPageable.getPageSize(),
+                hasNext, total, totalKind);
+    }
+
     @Override
     @Transactional(readOnly = true)
+    public PageResponse<ProductResponse> searchProducts(ProductSearchRequest searchRequest, ProductCursor after, int size) {
+        log.debug("Buscando produtos com critérios: {}, após: {}", searchRequest, after);
+        if (size < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero");
+        }
+        
+        // Um produto além do tamanho da página indica se existe uma próxima página, sem contagem
+        List<Product> products = productRepository.findBySearchCriteriaAfter(
+                searchRequest.getName(),
+                searchRequest.getMinPrice(),
+                searchRequest.getMaxPrice(),
+                after,
+                size + 1
+        );
+        
+        boolean hasNext = products.size() > size;
+        List<Product> page = hasNext ? products.subList(0, size) : products;
+        String nextCursor = null;
+        if (hasNext) {
+            Product last = page.get(page.size() - 1);
+            nextCursor = new ProductCursor(last.getName(), last.getId()).encode();
+        }
+        
+        List<ProductResponse> content = page.stream()
+                .map(ProductResponse::fromEntity)
+                .collect(Collectors.toList());
+        
+        log.debug("Encontrados {} produtos; próxima página: {}", content.size(), hasNext);
+        
+        return PageResponse.fromCursor(content, size, nextCursor);
+    }
+
+    // Sem @Transactional: um acerto no cache não abre transação nem ocupa uma conexão do pool;
+    // a leitura do banco, na falta, usa a transação do próprio repositório
+    @Override
     public ProductResponse findById(Long id) {
         log.debug("Buscando produto com ID: {}", id);
         
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Produto", "id", id));
-        
-        return ProductResponse.fromEntity(product);
+        return productResponseCache.get(id, key -> {
+            Product product = productRepository.findById(key)
+                    .orElseThrow(() -> new ResourceNotFoundException("Produto", "id", key));
+            return ProductResponse.fromEntity(product);
+        });
     }
 
     @Override
@@ -100,7 +187,10 @@ public class ProductServiceImpl implements ProductService {
         Product savedProduct = productRepository.save(product);
         log.info("Produto criado com sucesso: ID={}", savedProduct.getId());
         
-        return ProductResponse.fromEntity(savedProduct);
+        ProductResponse response = ProductResponse.fromEntity(savedProduct);
+        productResponseCache.putAfterCommit(response);
+        productSearchCache.catalogChangedAfterCommit();
+        return response;
     }
 
     @Override
@@ -132,6 +222,8 @@ public class ProductServiceImpl implements ProductService {
         // Salva as alterações
         Product updatedProduct = productRepository.save(existingProduct);
         log.info("Produto atualizado com sucesso: ID={}", id);
+        productResponseCache.evictAfterCommit(id);
+        productSearchCache.catalogChangedAfterCommit();
         
         return ProductResponse.fromEntity(updatedProduct);
     }
@@ -149,6 +241,8 @@ public class ProductServiceImpl implements ProductService {
         // Exclui o produto
         productRepository.deleteById(id);
         log.info("Produto excluído com sucesso: ID={}", id);
+        productResponseCache.evictAfterCommit(id);
+        productSearchCache.catalogChangedAfterCommit();
     }
 
     @Override
@@ -0,0 +1,266 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportValidationReport;
+import br.com.boticario.agp.gestaoprodutos.dto.UploadImportResponse;
+import br.com.boticario.agp.gestaoprodutos.exception.ImportCapacityExceededException;
+import br.com.boticario.agp.gestaoprodutos.exception.ResourceNotFoundException;
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportRun;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Serviço que importa arquivos de produtos enviados por upload e acompanha cada importação.
+ * O corpo da requisição é copiado em blocos para um arquivo temporário, sem ser mantido em memória,
+ * e a importação roda em segundo plano no executor de uploads ({@code uploadExecutor}), de modo que a requisição
+ * retorna assim que o upload termina. Com o executor ocupado e a fila cheia, o upload é recusado com
+ * {@link ImportCapacityExceededException}. O arquivo temporário é removido ao final da importação ou na recusa.
+ */
+@Slf4j
+@Service
+public class UploadImportService {
+
+    public static final String DEFAULT_FILE_NAME = "upload.json";
+    static final long RETRY_AFTER_SECONDS = 30;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JsonFileProcessorService jsonFileProcessorService;
+    private final ImportRunService importRunService;
+    private final ThreadPoolTaskExecutor uploadExecutor;
+    private final long maxUploadBytes;
+    private final Duration jobRetention;
+
+    // As importações em andamento são limitadas pelo executor de uploads; as concluídas são
+    // descartadas depois de product-import.upload.job-retention
+    private final Map<UUID, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    public UploadImportService(JsonFileProcessorService jsonFileProcessorService, ImportRunService importRunService,
+                               ThreadPoolTaskExecutor uploadExecutor, MultipartProperties multipartProperties,
+                               ProductImportProperties importProperties) {
+        this.jsonFileProcessorService = jsonFileProcessorService;
+        this.importRunService = importRunService;
+        this.uploadExecutor = uploadExecutor;
+        this.maxUploadBytes = multipartProperties.getMaxFileSize().toBytes();
+        this.jobRetention = importProperties.upload().jobRetention();
+    }
+
+    /**
+     * Recebe um arquivo e agenda sua importação.
+     *
+     * @param originalFileName Nome do arquivo informado pelo cliente, usado no relatório de validação
+     * @param body Conteúdo do arquivo
+     * @return O estado inicial da importação, com o identificador para consulta
+     * @throws IOException Se o arquivo não puder ser gravado no diretório temporário
+     * @throws IllegalArgumentException Se o arquivo estiver vazio ou exceder o tamanho máximo
+     * @throws ImportCapacityExceededException Se o executor de uploads estiver ocupado e com a fila cheia
+     */
+    public UploadImportResponse submit(String originalFileName, InputStream body) throws IOException {
+        String fileName = sanitizeFileName(originalFileName);
+        Path directory = Files.createTempDirectory("product-upload-");
+        Path file = directory.resolve(fileName);
+        long bytes;
+        try {
+            bytes = copy(body, file);
+        } catch (IOException | RuntimeException e) {
+            FileSystemUtils.deleteRecursively(directory);
+            throw e;
+        }
+
+        evictFinishedJobs();
+        UploadJob job = new UploadJob(UUID.randomUUID(), fileName, bytes);
+        jobs.put(job.id, job);
+
+        CompletableFuture<JsonFileProcessorService.FileImportResult> future;
+        try {
+            future = jsonFileProcessorService.submitUpload(new FileSystemResource(file), job.progress, uploadExecutor);
+        } catch (RuntimeException e) {
+            jobs.remove(job.id);
+            deleteQuietly(directory);
+            if (e instanceof RejectedExecutionException) {
+                log.warn("Arquivo {} recusado: executor de uploads ocupado e com a fila cheia", fileName);
+                throw new ImportCapacityExceededException(
+                        "Limite de importações simultâneas atingido; tente novamente em instantes", RETRY_AFTER_SECONDS);
+            }
+            throw e;
+        }
+        log.info("Arquivo {} recebido por upload ({} bytes); importação {} agendada", fileName, bytes, job.id);
+
+        future.whenComplete((result, ex) -> {
+            try {
+                if (ex != null) {
+                    job.fail(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                } else {
+                    job.complete(result);
+                }
+            } finally {
+                deleteQuietly(directory);
+            }
+        });
+        return job.toResponse();
+    }
+
+    /**
+     * Descarta as importações concluídas há mais de {@code product-import.upload.job-retention}.
+     */
+    private void evictFinishedJobs() {
+        OffsetDateTime expiredBefore = OffsetDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiredBefore));
+    }
+
+    /**
+     * Retorna o andamento de uma importação.
+     *
+     * @param id Identificador da importação
+     * @return O estado e os contadores da importação
+     * @throws ResourceNotFoundException Se a importação não existir ou já tiver sido descartada
+     */
+    public UploadImportResponse getJob(UUID id) {
+        UploadJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Importação", "id", id);
+        }
+        return job.toResponse();
+    }
+
+    private long copy(InputStream body, Path file) throws IOException {
+        long total = 0;
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > maxUploadBytes) {
+                    throw new IllegalArgumentException("O arquivo excede o tamanho máximo de " + maxUploadBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("O arquivo enviado está vazio");
+        }
+        return total;
+    }
+
+    /**
+     * Mantém apenas o nome do arquivo, sem diretórios e com caracteres seguros.
+     */
+    static String sanitizeFileName(String originalFileName) {
+        if (originalFileName == null || originalFileName.isBlank()) {
+            return DEFAULT_FILE_NAME;
+        }
+        String name = originalFileName.replace('\\', '/');
+        name = name.substring(name.lastIndexOf('/') + 1).replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.isEmpty() || name.startsWith(".") ? DEFAULT_FILE_NAME : name;
+    }
+
+    private static void deleteQuietly(Path directory) {
+        try {
+            FileSystemUtils.deleteRecursively(directory);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o arquivo temporário {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Estado de uma importação por upload.
+     */
+    private final class UploadJob {
+
+        private final UUID id;
+        private final String fileName;
+        private final long bytesReceived;
+        private final OffsetDateTime submittedAt = OffsetDateTime.now();
+        private final ImportProgress progress = new ImportProgress();
+        private volatile ProductImportJob.Status status = ProductImportJob.Status.PENDING;
+        private volatile ImportValidationReport validation;
+        private volatile String errorMessage;
+        private volatile OffsetDateTime finishedAt;
+
+        private UploadJob(UUID id, String fileName, long bytesReceived) {
+            this.id = id;
+            this.fileName = fileName;
+            this.bytesReceived = bytesReceived;
+        }
+
+        private void complete(JsonFileProcessorService.FileImportResult result) {
+            validation = result.validation();
+            finishedAt = OffsetDateTime.now();
+            if (result.completed()) {
+                status = ProductImportJob.Status.COMPLETED;
+                log.info("Importação {} ({}) concluída: {} produtos gravados, {} linhas rejeitadas",
+                        id, fileName, result.productsSaved(), validation.getRowsRejected());
+            } else {
+                errorMessage = "Não foi possível ler o arquivo enviado: " + validation.getViolationCounts().keySet();
+                status = ProductImportJob.Status.FAILED;
+                log.warn("Importação {} ({}) falhou: {}", id, fileName, errorMessage);
+            }
+            recordRun(() -> importRunService.recordCompleted(ProductImportRun.Trigger.UPLOAD, progress.getStartedAt(),
+                    JsonFileProcessorService.summarize(List.of(result))));
+        }
+
+        private void fail(Throwable cause) {
+            errorMessage = cause.getMessage();
+            finishedAt = OffsetDateTime.now();
+            status = ProductImportJob.Status.FAILED;
+            log.error("Erro na importação {} ({}): {}", id, fileName, cause.getMessage(), cause);
+            recordRun(() -> importRunService.recordFailed(ProductImportRun.Trigger.UPLOAD,
+                    progress.getStartedAt() != null ? progress.getStartedAt() : submittedAt, errorMessage));
+        }
+
+        /**
+         * Registra a execução no histórico depois que o estado da importação já foi atualizado, para que uma
+         * falha no registro não impeça a consulta nem o descarte da importação pela retenção.
+         */
+        private void recordRun(Runnable record) {
+            try {
+                record.run();
+            } catch (RuntimeException e) {
+                log.error("Erro ao registrar no histórico a importação {} ({}): {}", id, fileName, e.getMessage(), e);
+            }
+        }
+
+        private UploadImportResponse toResponse() {
+            ProductImportJob.Status current = status;
+            if (current == ProductImportJob.Status.PENDING && progress.getStartedAt() != null) {
+                current = ProductImportJob.Status.RUNNING;
+            }
+            return UploadImportResponse.builder()
+                    .id(id)
+                    .status(current)
+                    .fileName(fileName)
+                    .bytesReceived(bytesReceived)
+                    .submittedAt(submittedAt)
+                    .startedAt(progress.getStartedAt())
+                    .finishedAt(finishedAt)
+                    .rowsParsed(progress.getRowsParsed())
+                    .rowsValid(progress.getRowsValid())
+                    .rowsRejected(progress.getRowsRejected())
+                    .rowsInserted(progress.getRowsInserted())
+                    .rowsUpdated(progress.getRowsUpdated())
+                    .rowsSkipped(progress.getRowsSkipped())
+                    .rowsPerSecond(progress.getRowsPerSecond())
+                    .validation(validation)
+                    .errorMessage(errorMessage)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,2 @@
+-- Per-file numbers of each import run; import metrics are no longer tagged by file name
+ALTER TABLE product_import_run ADD COLUMN IF NOT EXISTS files JSONB;
@@ -0,0 +1,9 @@
+-- Key the import ledger by source identity (kind + URI or absolute path) instead of the bare file name,
+-- so that files with the same name in different directories or sources no longer share an entry.
+-- Existing entries cannot be mapped to a source; they are dropped and each file is imported once more.
+DELETE FROM product_import_ledger;
+
+ALTER TABLE product_import_ledger DROP CONSTRAINT IF EXISTS uk_product_import_ledger_file_name;
+ALTER TABLE product_import_ledger ADD COLUMN source_kind VARCHAR(20) NOT NULL;
+ALTER TABLE product_import_ledger ADD COLUMN source_uri VARCHAR(1024) NOT NULL;
+ALTER TABLE product_import_ledger ADD CONSTRAINT uk_product_import_ledger_source UNIQUE (source_kind, source_uri);
@@ -0,0 +1,11 @@
+-- Key import checkpoints by source identity and content fingerprint instead of the bare file name,
+-- so that files with the same name (or new contents of the same file) no longer overwrite each other's progress.
+-- Existing checkpoints cannot be mapped to a source; they are dropped and interrupted imports restart from the beginning.
+DELETE FROM product_import_checkpoint;
+
+ALTER TABLE product_import_checkpoint DROP CONSTRAINT IF EXISTS uk_product_import_checkpoint_file_segment;
+ALTER TABLE product_import_checkpoint ADD COLUMN source_kind VARCHAR(20) NOT NULL;
+ALTER TABLE product_import_checkpoint ADD COLUMN source_uri VARCHAR(1024) NOT NULL;
+ALTER TABLE product_import_checkpoint ADD COLUMN file_size BIGINT NOT NULL;
+ALTER TABLE product_import_checkpoint ADD CONSTRAINT uk_product_import_checkpoint_source_segment
+    UNIQUE (source_kind, source_uri, content_hash, file_size, segment_index);
@@ -0,0 +1,11 @@
+-- Create product import ledger table: one row per imported file, used to skip unchanged files
+CREATE TABLE IF NOT EXISTS product_import_ledger (
+    id BIGSERIAL PRIMARY KEY,
+    file_name VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    products_read INTEGER NOT NULL,
+    products_saved INTEGER NOT NULL,
+    imported_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_product_import_ledger_file_name UNIQUE (file_name)
+);
@@ -0,0 +1,18 @@
+-- Create product import run table: one row per import, with the aggregated validation report
+CREATE TABLE IF NOT EXISTS product_import_run (
+    id BIGSERIAL PRIMARY KEY,
+    trigger_type VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    finished_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    files_imported INTEGER NOT NULL DEFAULT 0,
+    files_unchanged INTEGER NOT NULL DEFAULT 0,
+    files_failed INTEGER NOT NULL DEFAULT 0,
+    products_saved INTEGER NOT NULL DEFAULT 0,
+    rows_read BIGINT NOT NULL DEFAULT 0,
+    rows_rejected BIGINT NOT NULL DEFAULT 0,
+    validation_report JSONB,
+    error_message TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_import_run_started_at ON product_import_run (started_at DESC);
@@ -0,0 +1,11 @@
+-- Create product import checkpoint table: rows already committed per file segment, used to resume interrupted imports
+CREATE TABLE IF NOT EXISTS product_import_checkpoint (
+    id BIGSERIAL PRIMARY KEY,
+    file_name VARCHAR(255) NOT NULL,
+    segment_index INTEGER NOT NULL,
+    segment_count INTEGER NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    rows_committed BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_product_import_checkpoint_file_segment UNIQUE (file_name, segment_index)
+);
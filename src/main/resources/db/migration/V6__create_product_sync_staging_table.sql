@@ -0,0 +1,11 @@
+-- Create product sync staging table: desired catalog loaded via COPY by the sync mode and merged into products.
+-- UNLOGGED because the content is rebuilt on every sync and does not need to survive a crash
+CREATE UNLOGGED TABLE IF NOT EXISTS product_sync_staging (
+    seq BIGSERIAL PRIMARY KEY,
+    name VARCHAR(100),
+    type VARCHAR(50),
+    price NUMERIC(10, 2),
+    quantity INTEGER,
+    industry VARCHAR(100),
+    origin VARCHAR(50)
+);
@@ -0,0 +1,6 @@
+-- Create trigram index for the partial, case-insensitive name search (lower(name) LIKE '%term%').
+-- The B-tree idx_products_name only serves exact and prefix matches on the original case, so without it
+-- every name search is a sequential scan of products
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,6 @@
+-- Create composite index for the cursor (keyset) pagination of the product search: ORDER BY name, id with
+-- WHERE (name, id) > (?, ?) becomes an index range scan, whatever the depth of the page.
+-- It also serves every query idx_products_name did, which is dropped to avoid maintaining both on writes
+CREATE INDEX IF NOT EXISTS idx_products_name_id ON products (name, id);
+
+DROP INDEX IF EXISTS idx_products_name;
@@ -0,0 +1,9 @@
+-- Each sync stages its rows under its own run_id: instances syncing at the same time no longer truncate
+-- or merge each other's rows. staged_at lets a later sync purge rows left behind by a crashed run
+TRUNCATE product_sync_staging;
+
+ALTER TABLE product_sync_staging
+    ADD COLUMN run_id UUID NOT NULL,
+    ADD COLUMN staged_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_product_sync_staging_run_id ON product_sync_staging (run_id);
@@ -0,0 +1,71 @@
+package br.com.boticario.agp.gestaoprodutos.health;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportJobResponse;
+import br.com.boticario.agp.gestaoprodutos.service.ProductImportJob;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportHealthIndicatorTest {
+
+    @Mock
+    private ProductImportJob productImportJob;
+
+    private ProductImportHealthIndicator indicator(boolean requiredForReadiness) {
+        ProductImportProperties properties = new ProductImportProperties(0, true, requiredForReadiness, null, null, true,
+                null, null, null, null, null, null, null);
+        return new ProductImportHealthIndicator(productImportJob, properties);
+    }
+
+    @Test
+    void health_ShouldStayUpWithDetailsWhenImportFailed() {
+        // Arrange
+        when(productImportJob.getState()).thenReturn(ImportJobResponse.builder()
+                .status(ProductImportJob.Status.FAILED).errorMessage("banco indisponível").build());
+        when(productImportJob.isFirstRunFinished()).thenReturn(true);
+
+        // Act
+        Health health = indicator(true).health();
+
+        // Assert
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(ProductImportJob.Status.FAILED, health.getDetails().get("status"));
+        assertEquals("banco indisponível", health.getDetails().get("error"));
+    }
+
+    @Test
+    void health_ShouldBeOutOfServiceWhileRequiredStartupImportRuns() {
+        // Arrange
+        when(productImportJob.getState()).thenReturn(ImportJobResponse.builder()
+                .status(ProductImportJob.Status.RUNNING).build());
+        when(productImportJob.isFirstRunFinished()).thenReturn(false);
+
+        // Act
+        Health health = indicator(true).health();
+
+        // Assert
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+    }
+
+    @Test
+    void health_ShouldStayUpWhileImportRunsWhenNotRequired() {
+        // Arrange
+        when(productImportJob.getState()).thenReturn(ImportJobResponse.builder()
+                .status(ProductImportJob.Status.RUNNING).build());
+
+        // Act
+        Health health = indicator(false).health();
+
+        // Assert
+        assertEquals(Status.UP, health.getStatus());
+        verify(productImportJob, never()).isFirstRunFinished();
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.boticario.agp.gestaoprodutos.repository;
+
+import br.com.boticario.agp.gestaoprodutos.dto.CatalogSyncResult;
+import br.com.boticario.agp.gestaoprodutos.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogMergeTest {
+
+    @Test
+    void merge_ShouldWriteOnlyNewChangedAndMissingProducts() {
+        // Arrange
+        List<Product> desired = List.of(
+                product(null, "Batom", "Matte", "10.00", 5),
+                product(null, "Creme", "Corporal", "20.00", 3),
+                product(null, "Perfume", "Floral", "99.90", 1));
+        List<Product> current = List.of(
+                product(1L, "Batom", "Matte", "10.00", 5),
+                product(2L, "Colônia", "Cítrica", "30.00", 2),
+                product(3L, "Perfume", "Floral", "89.90", 1));
+        RecordingChanges changes = new RecordingChanges();
+
+        // Act
+        CatalogSyncResult result = CatalogMerge.merge(desired.iterator(), current.iterator(), true, changes);
+
+        // Assert
+        assertEquals(new CatalogSyncResult(1, 1, 1, 1), result);
+        assertEquals(List.of("Creme"), changes.inserted);
+        assertEquals(List.of("3:Perfume"), changes.updated);
+        assertEquals(List.of(2L), changes.deleted);
+    }
+
+    @Test
+    void merge_ShouldKeepMissingProductsAndFirstRepeatedKey() {
+        // Arrange
+        List<Product> desired = List.of(
+                product(null, "Perfume", "Floral", "50.00", 1),
+                product(null, "Perfume", "Floral", "70.00", 9));
+        List<Product> current = List.of(
+                product(1L, "Batom", "Matte", "10.00", 5),
+                product(2L, "Perfume", "Floral", "50.00", 1),
+                product(3L, "Sabonete", "Líquido", "8.00", 4));
+        RecordingChanges changes = new RecordingChanges();
+
+        // Act
+        CatalogSyncResult result = CatalogMerge.merge(desired.iterator(), current.iterator(), false, changes);
+
+        // Assert
+        assertEquals(new CatalogSyncResult(0, 0, 0, 1), result);
+        assertTrue(changes.inserted.isEmpty());
+        assertTrue(changes.updated.isEmpty());
+        assertTrue(changes.deleted.isEmpty());
+    }
+
+    @Test
+    void merge_ShouldIgnorePriceScaleWhenComparingValues() {
+        // Arrange
+        RecordingChanges changes = new RecordingChanges();
+
+        // Act
+        CatalogSyncResult result = CatalogMerge.merge(
+                List.of(product(null, "Batom", "Matte", "10.5", 5)).iterator(),
+                List.of(product(1L, "Batom", "Matte", "10.50", 5)).iterator(), true, changes);
+
+        // Assert
+        assertEquals(1, result.unchanged());
+        assertEquals(0, result.changed());
+    }
+
+    @Test
+    void compareText_ShouldFollowCodePointOrderLikeCollationC() {
+        // Act / Assert: maiúsculas antes de minúsculas, e caracteres fora do plano básico depois de U+FFFD
+        assertTrue(CatalogMerge.compareText("Z", "a") < 0);
+        assertTrue(CatalogMerge.compareText("abc", "abcd") < 0);
+        assertTrue(CatalogMerge.compareText("\uFFFD", "\uD83D\uDE00") < 0);
+        assertTrue("\uFFFD".compareTo("\uD83D\uDE00") > 0);
+        assertEquals(0, CatalogMerge.compareText("Perfume", "Perfume"));
+    }
+
+    private static Product product(Long id, String name, String type, String price, int quantity) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .type(type)
+                .price(new BigDecimal(price))
+                .quantity(quantity)
+                .build();
+    }
+
+    private static final class RecordingChanges implements CatalogMerge.Changes {
+
+        private final List<String> inserted = new ArrayList<>();
+        private final List<String> updated = new ArrayList<>();
+        private final List<Long> deleted = new ArrayList<>();
+
+        @Override
+        public void insert(Product desired) {
+            inserted.add(desired.getName());
+        }
+
+        @Override
+        public void update(Long id, Product desired) {
+            updated.add(id + ":" + desired.getName());
+        }
+
+        @Override
+        public void delete(Long id) {
+            deleted.add(id);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.boticario.agp.gestaoprodutos.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductRepositoryImplTest {
+
+    @Test
+    void escapeLike_ShouldEscapeWildcardsAndEscapeCharacter() {
+        // Act / Assert
+        assertEquals("perfume", ProductRepositoryImpl.escapeLike("perfume"));
+        assertEquals("100\\% algod\\_o", ProductRepositoryImpl.escapeLike("100% algod_o"));
+        assertEquals("a\\\\b", ProductRepositoryImpl.escapeLike("a\\b"));
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.boticario.agp.gestaoprodutos.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mede a latência (p50/p99) da busca por nome de {@link ProductRepositoryImpl#findBySearchCriteria}
+ * sem e com o índice de trigramas {@code idx_products_name_trgm}. As consultas são as mesmas geradas
+ * pelo Hibernate para a página e para a contagem.
+ * Não roda na suíte padrão; execute com
+ * {@code mvn test -Dtest=ProductSearchBenchmarkTest -Dbenchmark=true -Dbenchmark.rows=1000000}.
+ * Por padrão usa um PostgreSQL do Testcontainers; para outro banco, informe
+ * {@code -Dbenchmark.jdbc-url}, {@code -Dbenchmark.username} e {@code -Dbenchmark.password}.
+ * A tabela {@code products} do banco é completada até {@code benchmark.rows} produtos gerados.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductSearchBenchmarkTest {
+
+    private static final String JDBC_URL = System.getProperty("benchmark.jdbc-url", "jdbc:tc:postgresql:15.3:///benchmark");
+    private static final String USERNAME = System.getProperty("benchmark.username", "postgres");
+    private static final String PASSWORD = System.getProperty("benchmark.password", "postgres");
+    private static final long ROWS = Long.getLong("benchmark.rows", 1_000_000L);
+    private static final int SEARCHES = Integer.getInteger("benchmark.searches", 100);
+
+    private static final int INSERT_BATCH_ROWS = 1_000_000;
+
+    // Nomes como "Perfume Amadeirado 3F2A9C1B": dez produtos, dez linhas e um código de oito caracteres
+    private static final String FILL_SQL =
+            "INSERT INTO products (name, type, price, quantity, industry, origin) "
+            + "SELECT (ARRAY['Perfume','Batom','Creme','Colônia','Sabonete','Shampoo','Desodorante','Hidratante','Base','Máscara'])[1 + g % 10] "
+            + "|| ' ' || (ARRAY['Floral','Amadeirado','Cítrico','Matte','Intenso','Suave','Noturno','Fresh','Gold','Kids'])[1 + (g / 10) % 10] "
+            + "|| ' ' || upper(substr(md5(g::text), 1, 8)), 'Tipo ' || (g % 50), round((random() * 500)::numeric, 2), "
+            + "(random() * 1000)::int, 'Indústria', 'Brasil' "
+            + "FROM generate_series(?::bigint, ?::bigint) g ON CONFLICT (name, type) DO NOTHING";
+
+    private static final String PAGE_SQL =
+            "select p1_0.id,p1_0.created_at,p1_0.industry,p1_0.name,p1_0.origin,p1_0.price,p1_0.quantity,p1_0.type,p1_0.updated_at "
+            + "from products p1_0 where lower(p1_0.name) like ? escape '\\' order by coalesce(p1_0.name, p1_0.name) offset ? rows fetch first ? rows only";
+
+    private static final String COUNT_SQL =
+            "select count(p1_0.id) from products p1_0 where lower(p1_0.name) like ? escape '\\'";
+
+    private static final String CREATE_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING gin (lower(name) gin_trgm_ops)";
+
+    @Test
+    void compareNameSearch() throws SQLException {
+        Flyway.configure().dataSource(JDBC_URL, USERNAME, PASSWORD).locations("classpath:db/migration").load().migrate();
+
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, USERNAME, PASSWORD)) {
+            fill(connection);
+
+            execute(connection, "DROP INDEX IF EXISTS idx_products_name_trgm");
+            measureAll(connection, "sem índice");
+
+            long start = System.nanoTime();
+            execute(connection, CREATE_INDEX_SQL);
+            execute(connection, "ANALYZE products");
+            System.out.printf("Criação do índice de trigramas: %d s%n", (System.nanoTime() - start) / 1_000_000_000);
+            measureAll(connection, "com índice");
+        }
+    }
+
+    private static void measureAll(Connection connection, String label) throws SQLException {
+        Random random = new Random(42);
+        // Código de um produto existente: casa com um ou poucos produtos
+        measure(connection, label, "código", () -> productCode(random.nextLong(ROWS) + 1));
+        // Cerca de 1% do catálogo
+        measure(connection, label, "produto e linha", () -> "perfume floral");
+        // Cerca de 10% do catálogo
+        measure(connection, label, "linha", () -> "amadeirado");
+    }
+
+    private static void measure(Connection connection, String label, String kind, TermSupplier terms) throws SQLException {
+        long[] nanos = new long[SEARCHES];
+        long matches = 0;
+        try (PreparedStatement page = connection.prepareStatement(PAGE_SQL);
+             PreparedStatement count = connection.prepareStatement(COUNT_SQL)) {
+            for (int i = 0; i < SEARCHES; i++) {
+                String pattern = "%" + ProductRepositoryImpl.escapeLike(terms.next()) + "%";
+                long start = System.nanoTime();
+                page.setString(1, pattern);
+                page.setInt(2, 0);
+                page.setInt(3, 10);
+                try (ResultSet rs = page.executeQuery()) {
+                    while (rs.next()) {
+                        // consome a página
+                    }
+                }
+                count.setString(1, pattern);
+                try (ResultSet rs = count.executeQuery()) {
+                    rs.next();
+                    matches += rs.getLong(1);
+                }
+                nanos[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-10s %-16s p50 %8.2f ms  p99 %8.2f ms  (%d produtos por busca)%n", label, kind,
+                nanos[SEARCHES / 2] / 1e6, nanos[Math.min(SEARCHES - 1, SEARCHES * 99 / 100)] / 1e6, matches / SEARCHES);
+    }
+
+    /**
+     * Completa {@code products} até {@link #ROWS} produtos, em comandos de até {@value #INSERT_BATCH_ROWS} linhas.
+     */
+    private static void fill(Connection connection) throws SQLException {
+        long existing;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*) FROM products")) {
+            rs.next();
+            existing = rs.getLong(1);
+        }
+        List<long[]> ranges = new ArrayList<>();
+        for (long from = existing + 1; from <= ROWS; from += INSERT_BATCH_ROWS) {
+            ranges.add(new long[]{from, Math.min(ROWS, from + INSERT_BATCH_ROWS - 1)});
+        }
+        try (PreparedStatement insert = connection.prepareStatement(FILL_SQL)) {
+            for (long[] range : ranges) {
+                insert.setLong(1, range[0]);
+                insert.setLong(2, range[1]);
+                insert.executeUpdate();
+            }
+        }
+        execute(connection, "ANALYZE products");
+        System.out.printf("Produtos na tabela: %d%n", Math.max(existing, ROWS));
+    }
+
+    /**
+     * Seis primeiros caracteres do código gerado por {@link #FILL_SQL} para o produto {@code g}.
+     */
+    private static String productCode(long g) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(Long.toString(g).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 3);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TermSupplier {
+        String next();
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkPipelineTest {
+
+    private ExecutorService writerExecutor;
+
+    @BeforeEach
+    void setUp() {
+        writerExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-writer"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writerExecutor.shutdownNow();
+    }
+
+    @Test
+    void async_ShouldWriteChunksInOrderOnWriterThread() {
+        // Arrange
+        List<String> written = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        ChunkPipeline<Integer> pipeline = ChunkPipeline.async(0, chunk -> {
+            chunk.forEach(product -> written.add(product.getName()));
+            threads.add(Thread.currentThread().getName());
+            return chunk.size();
+        }, Integer::sum, 2, writerExecutor);
+
+        // Act
+        pipeline.accept(List.of(product("A"), product("B")));
+        pipeline.accept(List.of(product("C")));
+        int total = pipeline.finish();
+
+        // Assert
+        assertEquals(3, total);
+        assertEquals(List.of("A", "B", "C"), written);
+        assertTrue(threads.stream().allMatch("test-writer"::equals));
+    }
+
+    @Test
+    void async_ShouldBlockReaderWhenQueueIsFull() throws Exception {
+        // Arrange
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        ChunkPipeline<Integer> pipeline = ChunkPipeline.async(0, chunk -> {
+            await(releaseWriter);
+            return chunk.size();
+        }, Integer::sum, 1, writerExecutor);
+        pipeline.accept(List.of(product("A")));   // retirado da fila pela gravação, que fica bloqueada
+        pipeline.accept(List.of(product("B")));   // ocupa a única posição da fila
+
+        // Act
+        CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> pipeline.accept(List.of(product("C"))));
+
+        // Assert
+        assertThrows(TimeoutException.class, () -> reader.get(300, TimeUnit.MILLISECONDS));
+        releaseWriter.countDown();
+        reader.get(5, TimeUnit.SECONDS);
+        assertEquals(3, pipeline.finish());
+    }
+
+    @Test
+    void async_ShouldSurfaceWriterFailureToReader() {
+        // Arrange
+        ChunkPipeline<Integer> pipeline = ChunkPipeline.async(0, chunk -> {
+            throw new IllegalStateException("banco indisponível");
+        }, Integer::sum, 1, writerExecutor);
+
+        // Act
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            for (int i = 0; i < 10; i++) {
+                pipeline.accept(List.of(product("P" + i)));
+            }
+            pipeline.finish();
+        });
+
+        // Assert
+        assertEquals("banco indisponível", exception.getMessage());
+    }
+
+    @Test
+    void abort_ShouldReleaseWriterThreadWithoutWritingPendingChunks() throws Exception {
+        // Arrange
+        List<String> written = new CopyOnWriteArrayList<>();
+        ChunkPipeline<Integer> pipeline = ChunkPipeline.async(0, chunk -> {
+            chunk.forEach(product -> written.add(product.getName()));
+            return chunk.size();
+        }, Integer::sum, 2, writerExecutor);
+
+        // Act
+        pipeline.abort();
+
+        // Assert
+        CompletableFuture<String> next = CompletableFuture.supplyAsync(() -> "livre", writerExecutor);
+        assertEquals("livre", next.get(5, TimeUnit.SECONDS));
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void direct_ShouldWriteOnCallerThread() {
+        // Arrange
+        String caller = Thread.currentThread().getName();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        ChunkPipeline<Integer> pipeline = ChunkPipeline.direct(0, chunk -> {
+            threads.add(Thread.currentThread().getName());
+            return chunk.size();
+        }, Integer::sum);
+
+        // Act
+        pipeline.accept(List.of(product("A")));
+        int total = pipeline.finish();
+
+        // Assert
+        assertEquals(1, total);
+        assertEquals(List.of(caller), threads);
+    }
+
+    private static Product product(String name) {
+        return Product.builder().name(name).type("Tipo").build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
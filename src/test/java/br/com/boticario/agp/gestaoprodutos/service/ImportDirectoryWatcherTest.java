@@ -0,0 +1,188 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportValidationReport;
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportRun;
+import br.com.boticario.agp.gestaoprodutos.service.JsonFileProcessorService.FileImportResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportDirectoryWatcherTest {
+
+    @Mock
+    private JsonFileProcessorService jsonFileProcessorService;
+
+    @Mock
+    private ImportRunService importRunService;
+
+    @TempDir
+    Path inbox;
+
+    private ImportDirectoryWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        watcher = newWatcher(null);
+    }
+
+    private ImportDirectoryWatcher newWatcher(Duration rescanInterval) {
+        ProductImportProperties.Watch watch = new ProductImportProperties.Watch(true, inbox.toString(), null, null, null, rescanInterval);
+        ProductImportProperties properties = new ProductImportProperties(0, false, false, null, null, true, null, null, null, watch, null, null, null);
+        return new ImportDirectoryWatcher(jsonFileProcessorService, properties, importRunService);
+    }
+
+    private List<String> filesIn(String directory) throws IOException {
+        try (Stream<Path> files = Files.list(inbox.resolve(directory))) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private void awaitFileIn(String directory) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (filesIn(directory).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        watcher.stop();
+    }
+
+    @Test
+    void start_ShouldImportFilesAlreadyInInboxAndMoveThemToProcessed() throws Exception {
+        // Arrange
+        Files.writeString(inbox.resolve("data_1.json"), "[]");
+        Files.writeString(inbox.resolve("notes.txt"), "ignorado");
+        when(jsonFileProcessorService.submitFile(any(), eq(false), eq(ImportSource.WATCH)))
+                .thenReturn(CompletableFuture.completedFuture(new FileImportResult("data_1.json", OptionalInt.of(0), 0, false, new ImportValidationReport())));
+
+        // Act
+        watcher.start();
+
+        // Assert
+        List<String> processed = filesIn("processed");
+        assertEquals(1, processed.size());
+        assertTrue(processed.get(0).matches("data_1-\\d{8}T\\d{9}Z\\.json"), processed.get(0));
+        assertFalse(Files.exists(inbox.resolve("data_1.json")));
+        assertTrue(Files.exists(inbox.resolve("notes.txt")));
+        verify(jsonFileProcessorService, times(1)).submitFile(any(), eq(false), eq(ImportSource.WATCH));
+    }
+
+    @Test
+    void ingest_ShouldPickUpFilesCreatedAfterStart() throws Exception {
+        // Arrange
+        when(jsonFileProcessorService.submitFile(any(), eq(false), eq(ImportSource.WATCH)))
+                .thenReturn(CompletableFuture.completedFuture(new FileImportResult("data_1.json", OptionalInt.of(1), 1, false, new ImportValidationReport())));
+        watcher.start();
+
+        // Act
+        Path temporary = Files.writeString(inbox.resolve("data_2.json.tmp"), "[]");
+        Files.move(temporary, inbox.resolve("data_2.json"));
+
+        // Assert
+        awaitFileIn("processed");
+        assertTrue(filesIn("processed").get(0).startsWith("data_2-"));
+    }
+
+    @Test
+    void ingest_ShouldMoveUnreadableFilesToFailed() throws Exception {
+        // Arrange
+        Files.writeString(inbox.resolve("broken.json"), "{");
+        when(jsonFileProcessorService.submitFile(any(), eq(false), eq(ImportSource.WATCH)))
+                .thenReturn(CompletableFuture.completedFuture(new FileImportResult("data_1.json", OptionalInt.empty(), 0, false, new ImportValidationReport())));
+
+        // Act
+        watcher.start();
+
+        // Assert
+        assertTrue(filesIn("failed").get(0).startsWith("broken-"));
+        verify(importRunService).recordCompleted(eq(ProductImportRun.Trigger.WATCH), any(), argThat(summary -> summary.getFilesFailed() == 1));
+    }
+
+    @Test
+    void ingest_ShouldKeepFileInInboxWhenPersistenceFails() throws Exception {
+        // Arrange
+        Files.writeString(inbox.resolve("data_3.json"), "[]");
+        when(jsonFileProcessorService.submitFile(any(), eq(false), eq(ImportSource.WATCH)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("banco indisponível")));
+
+        // Act
+        watcher.start();
+
+        // Assert
+        assertTrue(Files.exists(inbox.resolve("data_3.json")));
+        assertTrue(filesIn("failed").isEmpty());
+    }
+
+    @Test
+    void scanInbox_ShouldRetryFileKeptAfterPersistenceFailure() throws Exception {
+        // Arrange
+        watcher = newWatcher(Duration.ofMillis(100));
+        Files.writeString(inbox.resolve("data_3.json"), "[]");
+        when(jsonFileProcessorService.submitFile(any(), eq(false), eq(ImportSource.WATCH)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("banco indisponível")))
+                .thenReturn(CompletableFuture.completedFuture(new FileImportResult("data_3.json", OptionalInt.of(0), 0, false, new ImportValidationReport())));
+
+        // Act
+        watcher.start();
+        awaitFileIn("processed");
+
+        // Assert
+        assertFalse(Files.exists(inbox.resolve("data_3.json")));
+        verify(jsonFileProcessorService, times(2)).submitFile(any(), eq(false), eq(ImportSource.WATCH));
+    }
+
+    @Test
+    void ingest_ShouldReleaseFileWhenSubmissionIsRejected() throws Exception {
+        // Arrange
+        Files.writeString(inbox.resolve("data_4.json"), "[]");
+        when(jsonFileProcessorService.submitFile(any(), eq(false), eq(ImportSource.WATCH)))
+                .thenThrow(new RejectedExecutionException("fila cheia"))
+                .thenReturn(CompletableFuture.completedFuture(new FileImportResult("data_4.json", OptionalInt.of(0), 0, false, new ImportValidationReport())));
+        watcher.start();
+
+        // Act
+        watcher.scanInbox();
+
+        // Assert
+        assertEquals(1, filesIn("processed").size());
+        verify(importRunService).recordFailed(eq(ProductImportRun.Trigger.WATCH), any(), eq("fila cheia"));
+    }
+
+    @Test
+    void uniqueTarget_ShouldNotOverwriteFilesWithTheSameName() throws Exception {
+        // Arrange
+        Instant movedAt = Instant.parse("2026-10-17T07:15:00.123Z");
+        Files.writeString(inbox.resolve("data_1-20261017T071500123Z.json"), "[]");
+
+        // Act
+        Path target = ImportDirectoryWatcher.uniqueTarget(inbox, "data_1.json", movedAt);
+
+        // Assert
+        assertEquals(inbox.resolve("data_1-20261017T071500123Z-1.json"), target);
+        assertEquals(inbox.resolve("LEIAME-20261017T071500123Z"), ImportDirectoryWatcher.uniqueTarget(inbox, "LEIAME", movedAt));
+    }
+}
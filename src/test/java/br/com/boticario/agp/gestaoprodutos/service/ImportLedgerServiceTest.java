@@ -0,0 +1,186 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportCheckpoint;
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportLedgerEntry;
+import br.com.boticario.agp.gestaoprodutos.repository.ProductImportCheckpointRepository;
+import br.com.boticario.agp.gestaoprodutos.repository.ProductImportLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportLedgerServiceTest {
+
+    @Mock
+    private ProductImportLedgerRepository ledgerRepository;
+
+    @Mock
+    private ProductImportCheckpointRepository checkpointRepository;
+
+    private ImportLedgerService importLedgerService;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        importLedgerService = new ImportLedgerService(ledgerRepository, checkpointRepository);
+    }
+
+    @Test
+    void fingerprint_ShouldHashWholeContent() throws Exception {
+        // Arrange
+        Resource resource = namedResource("data_1.json", "abc");
+
+        // Act
+        ImportLedgerService.FileFingerprint fingerprint = importLedgerService.fingerprint(resource, ImportSource.CATALOG);
+
+        // Assert
+        assertEquals(ImportSource.CATALOG, fingerprint.source());
+        assertEquals("data_1.json", fingerprint.fileName());
+        assertEquals(3, fingerprint.size());
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", fingerprint.contentHash());
+    }
+
+    @Test
+    void sourceUri_ShouldUseAbsolutePathOrJarEntry() throws Exception {
+        // Arrange
+        Path file = Files.writeString(directory.resolve("data_1.json"), "[]");
+        Resource packaged = new UrlResource("jar:file:/app/aplicacao.jar!/BOOT-INF/classes!/data/data_1.json");
+
+        // Act & Assert
+        assertEquals("file:" + file.toAbsolutePath(), ImportLedgerService.sourceUri(new FileSystemResource(file)));
+        assertEquals("classpath:data/data_1.json", ImportLedgerService.sourceUri(packaged));
+    }
+
+    @Test
+    void isUnchanged_ShouldCompareSizeAndHashWithLedger() throws Exception {
+        // Arrange
+        ImportLedgerService.FileFingerprint fingerprint = importLedgerService.fingerprint(namedResource("data_1.json", "abc"), ImportSource.CATALOG);
+        when(ledgerRepository.findBySourceKindAndSourceUri("CATALOG", fingerprint.sourceUri())).thenReturn(Optional.of(ProductImportLedgerEntry.builder()
+                .fileName("data_1.json")
+                .fileSize(3L)
+                .contentHash(fingerprint.contentHash())
+                .build()));
+        ImportLedgerService.FileFingerprint modified = importLedgerService.fingerprint(namedResource("data_1.json", "abd"), ImportSource.CATALOG);
+
+        // Act & Assert
+        assertTrue(importLedgerService.isUnchanged(fingerprint));
+        assertFalse(importLedgerService.isUnchanged(modified));
+    }
+
+    @Test
+    void isUnchanged_ShouldReturnFalseForUnknownFile() {
+        // Arrange
+        when(ledgerRepository.findBySourceKindAndSourceUri("CATALOG", "file:/data/novo.json")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(importLedgerService.isUnchanged(fingerprint("file:/data/novo.json", "novo.json", 3, "abc")));
+    }
+
+    @Test
+    void isUnchanged_ShouldKeepFilesWithTheSameNameFromDifferentDirectoriesApart() throws Exception {
+        // Arrange
+        Path first = Files.writeString(Files.createDirectories(directory.resolve("a")).resolve("data_1.json"), "abc");
+        Path second = Files.writeString(Files.createDirectories(directory.resolve("b")).resolve("data_1.json"), "abc");
+        ImportLedgerService.FileFingerprint imported = importLedgerService.fingerprint(new FileSystemResource(first), ImportSource.WATCH);
+        ImportLedgerService.FileFingerprint other = importLedgerService.fingerprint(new FileSystemResource(second), ImportSource.WATCH);
+        when(ledgerRepository.findBySourceKindAndSourceUri("WATCH", imported.sourceUri())).thenReturn(Optional.of(ProductImportLedgerEntry.builder()
+                .fileSize(3L)
+                .contentHash(imported.contentHash())
+                .build()));
+        when(ledgerRepository.findBySourceKindAndSourceUri("WATCH", other.sourceUri())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(importLedgerService.isUnchanged(imported));
+        assertFalse(importLedgerService.isUnchanged(other));
+    }
+
+    @Test
+    void record_ShouldUpsertLedgerEntry() {
+        // Arrange
+        ImportLedgerService.FileFingerprint fingerprint = fingerprint("file:/data/data_1.json", "data_1.json", 3, "abc");
+
+        // Act
+        importLedgerService.record(fingerprint, 10, 8);
+
+        // Assert
+        verify(ledgerRepository).upsert("CATALOG", "file:/data/data_1.json", "data_1.json", 3, "abc", 10, 8);
+        verify(checkpointRepository).deleteBySource("CATALOG", "file:/data/data_1.json");
+    }
+
+    @Test
+    void committedRows_ShouldReturnRowsPerSegmentForSameContentAndSplit() {
+        // Arrange
+        ImportLedgerService.FileFingerprint fingerprint = fingerprint("file:/data/grande.csv", "grande.csv", 300, "abc");
+        when(checkpointRepository.findBySourceKindAndSourceUriAndContentHashAndFileSizeAndSegmentCount("CATALOG", "file:/data/grande.csv", "abc", 300, 2)).thenReturn(List.of(
+                ProductImportCheckpoint.builder().segmentIndex(0).rowsCommitted(1000L).build(),
+                ProductImportCheckpoint.builder().segmentIndex(1).rowsCommitted(500L).build()));
+
+        // Act
+        Map<Integer, Long> committedRows = importLedgerService.committedRows(fingerprint, 2);
+
+        // Assert
+        assertEquals(Map.of(0, 1000L, 1, 500L), committedRows);
+    }
+
+    @Test
+    void committedRows_ShouldIgnoreCheckpointsOfAnotherContent() {
+        // Arrange
+        ImportLedgerService.FileFingerprint rewritten = fingerprint("file:/data/grande.csv", "grande.csv", 310, "def");
+        when(checkpointRepository.findBySourceKindAndSourceUriAndContentHashAndFileSizeAndSegmentCount("CATALOG", "file:/data/grande.csv", "def", 310, 2))
+                .thenReturn(List.of());
+
+        // Act
+        Map<Integer, Long> committedRows = importLedgerService.committedRows(rewritten, 2);
+
+        // Assert
+        assertTrue(committedRows.isEmpty());
+    }
+
+    @Test
+    void commitChunk_ShouldAdvanceCheckpointOnlyAfterWriting() {
+        // Arrange
+        ImportLedgerService.FileFingerprint fingerprint = fingerprint("file:/data/grande.csv", "grande.csv", 300, "abc");
+
+        // Act
+        int saved = importLedgerService.commitChunk(fingerprint, 1, 2, 1500, () -> {
+            verifyNoInteractions(checkpointRepository);
+            return 42;
+        });
+
+        // Assert
+        assertEquals(42, saved);
+        verify(checkpointRepository).upsert("CATALOG", "file:/data/grande.csv", "grande.csv", 300, "abc", 1, 2, 1500);
+    }
+
+    private static ImportLedgerService.FileFingerprint fingerprint(String sourceUri, String fileName, long size, String contentHash) {
+        return new ImportLedgerService.FileFingerprint(ImportSource.CATALOG, sourceUri, fileName, size, contentHash);
+    }
+
+    private static Resource namedResource(String filename, String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ImportMetrics importMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        importMetrics = new ImportMetrics(registry);
+    }
+
+    @Test
+    void fileMetrics_ShouldTrackValidRowsInFlightUntilWritten() {
+        // Arrange
+        ImportMetrics.FileMetrics first = importMetrics.forSource(ImportSource.CATALOG, "JDBC_BATCH");
+        ImportMetrics.FileMetrics second = importMetrics.forSource(ImportSource.WATCH, "JDBC_BATCH");
+
+        // Act
+        first.recordParsed(10, 8, 1_000);
+        second.recordParsed(5, 5, 1_000);
+        first.recordWritten(6, 0, 2);
+
+        // Assert
+        assertEquals(5, importMetrics.getRowsInFlight());
+        assertEquals(5, registry.get("product.import.rows.in.flight").gauge().value());
+        assertEquals(2, registry.get("product.import.rows").tags("source", "catalog", "loader", "JDBC_BATCH", "stage", "rejected").counter().count());
+    }
+
+    @Test
+    void close_ShouldReleaseRowsThatWereNeverWritten() {
+        // Arrange
+        ImportMetrics.FileMetrics failed = importMetrics.forSource(ImportSource.UPLOAD, "COPY");
+        ImportMetrics.FileMetrics running = importMetrics.forSource(ImportSource.CATALOG, "COPY");
+        failed.recordParsed(10, 10, 1_000);
+        running.recordParsed(3, 3, 1_000);
+        failed.recordWritten(4, 0, 0);
+
+        // Act
+        failed.close();
+
+        // Assert
+        assertEquals(3, importMetrics.getRowsInFlight());
+    }
+
+    @Test
+    void forSource_ShouldShareSeriesBetweenFilesOfTheSameSourceAndLoader() {
+        // Arrange
+        ImportMetrics.FileMetrics first = importMetrics.forSource(ImportSource.WATCH, "UPSERT");
+        ImportMetrics.FileMetrics second = importMetrics.forSource(ImportSource.WATCH, "UPSERT");
+
+        // Act
+        first.recordParsed(4, 4, 1_000);
+        second.recordParsed(6, 6, 1_000);
+
+        // Assert
+        assertEquals(1, registry.find("product.import.rows").tag("stage", "parsed").counters().size());
+        assertEquals(10, registry.get("product.import.rows").tags("source", "watch", "stage", "parsed").counter().count());
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ProductImportDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede o custo por linha da validação e conversão de preço: a abordagem anterior
+ * (duas chamadas a {@code replace("$", "")} e dois {@link BigDecimal}) contra {@link ImportRowValidator}.
+ * Não roda na suíte padrão; execute com
+ * {@code mvn test -Dtest=ImportRowValidationBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ImportRowValidationBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int ROUNDS = 10;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void comparePriceHandling() {
+        ProductImportDto[] rows = new ProductImportDto[ROWS];
+        long expected = 0;
+        for (int i = 0; i < ROWS; i++) {
+            int cents = i % 100_000 + 1;
+            rows[i] = new ProductImportDto("PRODUTO" + i, i % 100, String.format("$%d.%02d", cents / 100, cents % 100), "M", "X", "SP");
+            expected += cents;
+        }
+
+        ImportRowValidator.Result result = new ImportRowValidator.Result();
+        ToLongFunction<ProductImportDto> current = dto ->
+                ImportRowValidator.validate(dto, result) ? result.priceCents() : 0;
+        ToLongFunction<ProductImportDto> previous = dto -> {
+            // Validação: converte o preço para verificar o formato e o sinal
+            BigDecimal validated = new BigDecimal(dto.getPrice().replace("$", ""));
+            if (validated.compareTo(BigDecimal.ZERO) <= 0) {
+                return 0;
+            }
+            // Conversão: converte novamente para a entidade
+            return new BigDecimal(dto.getPrice().replace("$", "")).movePointRight(2).longValueExact();
+        };
+
+        measure("anterior", rows, previous, expected);
+        measure("atual", rows, current, expected);
+        measure("anterior", rows, previous, expected);
+        measure("atual", rows, current, expected);
+    }
+
+    private static void measure(String name, ProductImportDto[] rows, ToLongFunction<ProductImportDto> handler, long expected) {
+        long bestNanos = Long.MAX_VALUE;
+        long allocated = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long threadId = Thread.currentThread().getId();
+            long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            long sum = 0;
+            for (ProductImportDto row : rows) {
+                sum += handler.applyAsLong(row);
+            }
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            allocated = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+            assertEquals(expected, sum);
+        }
+        System.out.printf("%-8s %.1f ns/linha, %.1f bytes alocados/linha%n",
+                name, (double) bestNanos / rows.length, (double) allocated / rows.length);
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ProductImportDto;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportRowValidatorTest {
+
+    private final ImportRowValidator.Result result = new ImportRowValidator.Result();
+
+    @Test
+    void validate_ShouldAcceptValidRowAndKeepPriceInCents() {
+        // Arrange
+        ProductImportDto dto = new ProductImportDto("Produto", 10, "$12.34", "M", null, null);
+
+        // Act
+        boolean valid = ImportRowValidator.validate(dto, result);
+
+        // Assert
+        assertTrue(valid);
+        assertTrue(result.isValid());
+        assertEquals(1234, result.priceCents());
+    }
+
+    @Test
+    void validate_ShouldReportFieldAndCodeOfFirstViolation() {
+        // Act & Assert
+        assertFalse(ImportRowValidator.validate(new ProductImportDto("  ", 1, "$1.00", "M", null, null), result));
+        assertEquals(ImportRowValidator.FIELD_PRODUCT, result.field());
+        assertEquals(ImportRowValidator.Code.REQUIRED, result.code());
+
+        assertFalse(ImportRowValidator.validate(new ProductImportDto("Produto", 1, "R$1,00", "M", null, null), result));
+        assertEquals(ImportRowValidator.FIELD_PRICE, result.field());
+        assertEquals(ImportRowValidator.Code.INVALID_FORMAT, result.code());
+
+        assertFalse(ImportRowValidator.validate(new ProductImportDto("Produto", 1, "$0.00", "M", null, null), result));
+        assertEquals(ImportRowValidator.Code.NOT_POSITIVE, result.code());
+
+        assertFalse(ImportRowValidator.validate(new ProductImportDto("Produto", -1, "$1.00", "M", null, null), result));
+        assertEquals(ImportRowValidator.FIELD_QUANTITY, result.field());
+        assertEquals(ImportRowValidator.Code.NEGATIVE, result.code());
+    }
+
+    @Test
+    void validate_ShouldResetResultBetweenRows() {
+        // Arrange
+        ImportRowValidator.validate(new ProductImportDto("Produto", null, "$1.00", "M", null, null), result);
+
+        // Act
+        boolean valid = ImportRowValidator.validate(new ProductImportDto("Produto", 1, "$1.00", "M", null, null), result);
+
+        // Assert
+        assertTrue(valid);
+        assertNull(result.code());
+        assertNull(result.field());
+    }
+
+    @Test
+    void describe_ShouldBuildMessageOnlyForRejectedRow() {
+        // Arrange
+        ProductImportDto dto = new ProductImportDto("Produto", 1, "$1.00", null, null, null);
+        ImportRowValidator.validate(dto, result);
+
+        // Act
+        String message = result.describe("data_1.json", 3, dto);
+
+        // Assert
+        assertEquals("Erro no arquivo data_1.json, produto 'Produto': O campo 'type' é obrigatório.", message);
+    }
+}
@@ -1,32 +1,66 @@
 package br.com.boticario.agp.gestaoprodutos.service;
 
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties;
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties.OnConflict;
+import br.com.boticario.agp.gestaoprodutos.dto.BulkLoadResult;
+import br.com.boticario.agp.gestaoprodutos.dto.CatalogSyncResult;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportFileSummary;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportSummary;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportValidationReport;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductImportDto;
+import br.com.boticario.agp.gestaoprodutos.dto.RowViolation;
 import br.com.boticario.agp.gestaoprodutos.model.Product;
+import br.com.boticario.agp.gestaoprodutos.model.ProductKey;
 import br.com.boticario.agp.gestaoprodutos.repository.ProductRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.unit.DataSize;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,14 +72,51 @@ class JsonFileProcessorServiceTest {
     @Mock
     private ResourcePatternResolver resourcePatternResolver;
 
-    @InjectMocks
+    @Mock
+    private ImportLedgerService importLedgerService;
+
+    @Mock
+    private ProductResponseCache productResponseCache;
+
+    @Mock
+    private ProductSearchCache productSearchCache;
+
+    private ThreadPoolTaskExecutor importExecutor;
+
+    private ThreadPoolTaskExecutor importWriterExecutor;
+
+    private ForkJoinPool importParsePool;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ImportMetrics importMetrics;
+
     private JsonFileProcessorService jsonFileProcessorService;
 
     private static final String SAMPLE_JSON = "[{\"product\":\"Produto Teste\",\"type\":\"Tipo Teste\",\"price\":10.50,\"quantity\":100}]";
 
     @BeforeEach
     void setUp() {
-        // Configuração comum para os testes, se necessário
+        importExecutor = new ThreadPoolTaskExecutor();
+        importExecutor.setCorePoolSize(2);
+        importExecutor.setThreadNamePrefix("test-import-");
+        importExecutor.initialize();
+        importWriterExecutor = new ThreadPoolTaskExecutor();
+        importWriterExecutor.setCorePoolSize(2);
+        importWriterExecutor.setThreadNamePrefix("test-import-writer-");
+        importWriterExecutor.initialize();
+        importParsePool = new ForkJoinPool(4);
+        meterRegistry = new SimpleMeterRegistry();
+        importMetrics = new ImportMetrics(meterRegistry);
+        jsonFileProcessorService = new JsonFileProcessorService(
+                productRepository, resourcePatternResolver, new ProductImportProperties(2, true, false, null, null, false, null, null, null, null, null, null, null), importExecutor, importWriterExecutor, importParsePool, importLedgerService, importMetrics, productResponseCache, productSearchCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importExecutor.shutdown();
+        importWriterExecutor.shutdown();
+        importParsePool.shutdown();
     }
 
     @Test
@@ -70,6 +141,515 @@ class JsonFileProcessorServiceTest {
         assertEquals(100, product.getQuantity());
     }
 
+    @Test
+    void testStreamFile_DeliversProductsInChunks() throws Exception {
+        // Arrange
+        String json = "{\"meta\":{\"source\":\"erp\",\"tags\":[1,2]},\"data\":["
+                + "{\"product\":\"A\",\"type\":\"S\",\"price\":\"$1.00\",\"quantity\":1},"
+                + "{\"product\":\"B\",\"type\":\"S\",\"price\":\"$2.00\",\"quantity\":2},"
+                + "{\"product\":\"\",\"type\":\"S\",\"price\":\"$3.00\",\"quantity\":3},"
+                + "{\"product\":\"D\",\"type\":\"M\",\"price\":\"$4.00\",\"quantity\":4}]}";
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream())
+                .thenReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("chunks.json");
+        List<List<Product>> chunks = new ArrayList<>();
+
+        // Act
+        int validCount = jsonFileProcessorService.streamFile(resource, chunk -> chunks.add(new ArrayList<>(chunk)));
+
+        // Assert
+        assertEquals(3, validCount);
+        assertEquals(2, chunks.size());
+        assertEquals(Arrays.asList("A", "B"), chunks.get(0).stream().map(Product::getName).toList());
+        assertEquals(Collections.singletonList("D"), chunks.get(1).stream().map(Product::getName).toList());
+    }
+
+    @Test
+    void testStreamFile_ReportsRejectedRowsWithoutStoppingTheFile() throws Exception {
+        // Arrange
+        String json = "["
+                + "{\"product\":\"A\",\"type\":\"S\",\"price\":\"$1.00\",\"quantity\":1},"
+                + "{\"product\":\"\",\"type\":\"S\",\"price\":\"$2.00\",\"quantity\":2},"
+                + "{\"product\":\"C\",\"type\":\"S\",\"price\":\"abc\",\"quantity\":3},"
+                + "{\"product\":\"D\",\"type\":\"S\",\"price\":\"$4.00\",\"quantity\":-4}]";
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream())
+                .thenReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("rejected.json");
+        ImportValidationReport report = new ImportValidationReport();
+
+        // Act
+        int validCount = jsonFileProcessorService.streamFile(resource, chunk -> { }, report);
+
+        // Assert
+        assertEquals(1, validCount);
+        assertEquals(4, report.getRowsRead());
+        assertEquals(3, report.getRowsRejected());
+        assertEquals(Map.of("product.REQUIRED", 1L, "price.INVALID_FORMAT", 1L, "quantity.NEGATIVE", 1L),
+                report.getViolationCounts());
+        assertEquals(new RowViolation("rejected.json", 2, "product", "REQUIRED"), report.getSamples().get(0));
+    }
+
+    @Test
+    void testStreamFile_ReadsCsvFilesWithTheSameValidation() throws Exception {
+        // Arrange
+        String csv = "product,type,price,quantity,industry\n"
+                + "A,S,$1.00,1,Beleza\n"
+                + "B,S,$0.00,2,Beleza\n"
+                + "C,S,$3.00,três,Beleza\n";
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream())
+                .thenReturn(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("catalogo.csv");
+        List<Product> products = new ArrayList<>();
+        ImportValidationReport report = new ImportValidationReport();
+
+        // Act
+        int validCount = jsonFileProcessorService.streamFile(resource, products::addAll, report);
+
+        // Assert
+        assertEquals(1, validCount);
+        assertEquals("Beleza", products.get(0).getIndustry());
+        assertEquals(Map.of("price.NOT_POSITIVE", 1L, "quantity.INVALID_FORMAT", 1L), report.getViolationCounts());
+    }
+
+    @Test
+    void testStreamFile_SplitsLargeLineFilesKeepingRowPositions(@TempDir Path dir) throws Exception {
+        // Arrange
+        StringBuilder csv = new StringBuilder("product,type,price,quantity\n");
+        for (int row = 1; row <= 2000; row++) {
+            // Uma linha a cada 250 é rejeitada; as posições esperadas são as da leitura sequencial
+            csv.append("Produto ").append(row).append(",Tipo,").append(row % 250 == 0 ? "$0.00" : "$1.00").append(",1\n");
+        }
+        Path file = Files.writeString(dir.resolve("grande.csv"), csv);
+        ProductImportProperties properties = new ProductImportProperties(100, true, false, null, null, false, null, null, null, null,
+                new ProductImportProperties.Pipeline(true, 0, 0, 4, DataSize.ofBytes(1024)), null, null);
+        JsonFileProcessorService parallelService = new JsonFileProcessorService(productRepository, resourcePatternResolver,
+                properties, importExecutor, importWriterExecutor, importParsePool, importLedgerService, importMetrics, productResponseCache, productSearchCache);
+        Set<String> parserThreads = ConcurrentHashMap.newKeySet();
+        List<Product> products = new ArrayList<>();
+        ImportValidationReport report = new ImportValidationReport();
+
+        // Act
+        int validCount = parallelService.streamFile(new FileSystemResource(file), chunk -> {
+            parserThreads.add(Thread.currentThread().getName());
+            products.addAll(chunk);
+        }, report);
+
+        // Assert
+        assertEquals(1992, validCount);
+        assertEquals(1992, products.size());
+        assertEquals(1992, products.stream().map(Product::getName).distinct().count());
+        assertEquals(2000, report.getRowsRead());
+        assertEquals(List.of(250, 500, 750, 1000, 1250, 1500, 1750, 2000),
+                report.getSamples().stream().map(RowViolation::getRow).toList());
+        assertTrue(parserThreads.size() > 1);
+    }
+
+    @Test
+    void testSummarize_CombinesFileReportsWithBoundedSamples() {
+        // Arrange
+        ImportValidationReport first = new ImportValidationReport();
+        ImportValidationReport second = new ImportValidationReport();
+        for (int row = 1; row <= ImportValidationReport.MAX_SAMPLES; row++) {
+            first.recordViolation("a.json", row, "price", "INVALID_FORMAT");
+            second.recordViolation("b.json", row, "price", "INVALID_FORMAT");
+        }
+        ImportValidationReport failed = new ImportValidationReport();
+        failed.recordFileError("c.json", 1, "INVALID_JSON");
+
+        // Act
+        ImportSummary summary = JsonFileProcessorService.summarize(List.of(
+                new JsonFileProcessorService.FileImportResult("a.json", OptionalInt.of(0), 0, false, first),
+                new JsonFileProcessorService.FileImportResult("b.json", OptionalInt.of(0), 0, false, second),
+                new JsonFileProcessorService.FileImportResult("c.json", OptionalInt.empty(), 0, false, failed),
+                new JsonFileProcessorService.FileImportResult("d.json", OptionalInt.of(0), 0, true, new ImportValidationReport())));
+
+        // Assert
+        assertEquals(2, summary.getFilesImported());
+        assertEquals(1, summary.getFilesFailed());
+        assertEquals(1, summary.getFilesUnchanged());
+        assertEquals(List.of("a.json", "b.json", "c.json", "d.json"),
+                summary.getFiles().stream().map(ImportFileSummary::file).toList());
+        assertEquals(ImportFileSummary.Status.FAILED, summary.getFiles().get(2).status());
+        assertEquals(ImportValidationReport.MAX_SAMPLES, summary.getFiles().get(0).rowsRejected());
+        ImportValidationReport validation = summary.getValidation();
+        assertEquals(2L * ImportValidationReport.MAX_SAMPLES, validation.getRowsRejected());
+        assertEquals(2L * ImportValidationReport.MAX_SAMPLES, validation.getViolationCounts().get("price.INVALID_FORMAT"));
+        assertEquals(1L, validation.getViolationCounts().get("INVALID_JSON"));
+        assertEquals(ImportValidationReport.MAX_SAMPLES, validation.getSamples().size());
+        assertTrue(validation.isSamplesTruncated());
+    }
+
+    @Test
+    void testProcessFile_InvalidStructureReturnsEmptyList() throws Exception {
+        // Arrange
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream())
+                .thenReturn(new ByteArrayInputStream("{\"items\":[]}".getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("invalid.json");
+
+        // Act
+        List<Product> products = jsonFileProcessorService.processFile(resource).get();
+
+        // Assert
+        assertTrue(products.isEmpty());
+    }
+
+    @Test
+    void testProcessJsonFiles_SyncModeStagesFilesAndMergesOnce() throws Exception {
+        // Arrange
+        JsonFileProcessorService syncService = new JsonFileProcessorService(productRepository, resourcePatternResolver,
+                new ProductImportProperties(2, true, false, null, null, true, null, null, null, null, null,
+                        new ProductImportProperties.Sync(true, true), null),
+                importExecutor, importWriterExecutor, importParsePool, importLedgerService, importMetrics, productResponseCache, productSearchCache);
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream())
+                .thenReturn(new ByteArrayInputStream(SAMPLE_JSON.getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("data_1.json");
+        when(resource.exists()).thenReturn(true);
+        when(resourcePatternResolver.getResources(anyString())).thenReturn(new Resource[]{resource});
+        when(productRepository.copyToSyncStaging(any(UUID.class), anyList())).thenAnswer(invocation -> (long) invocation.<List<Product>>getArgument(1).size());
+        when(productRepository.syncFromStaging(any(UUID.class), eq(1L), eq(true))).thenReturn(new CatalogSyncResult(1, 2, 3, 4));
+
+        // Act
+        ImportSummary summary = syncService.processJsonFiles().get(10, TimeUnit.SECONDS);
+
+        // Assert
+        // A mesma execução copia, sincroniza e, ao final, remove as suas linhas da staging
+        ArgumentCaptor<UUID> runId = ArgumentCaptor.forClass(UUID.class);
+        verify(productRepository).copyToSyncStaging(runId.capture(), anyList());
+        verify(productRepository).syncFromStaging(runId.getValue(), 1L, true);
+        verify(productRepository).clearSyncStaging(runId.getValue());
+        verify(productRepository, never()).batchInsert(anyList());
+        verifyNoInteractions(importLedgerService);
+        assertEquals(new CatalogSyncResult(1, 2, 3, 4), summary.getSync());
+        assertEquals(3, summary.getProductsSaved());
+        assertEquals(1, summary.getFilesImported());
+        verify(productResponseCache).invalidateAll();
+    }
+
+    @Test
+    void testProcessJsonFiles_SyncModeFailsAndClearsStagingWhenStagedRowsAreMissing() throws Exception {
+        // Arrange
+        JsonFileProcessorService syncService = new JsonFileProcessorService(productRepository, resourcePatternResolver,
+                new ProductImportProperties(2, true, false, null, null, true, null, null, null, null, null,
+                        new ProductImportProperties.Sync(true, true), null),
+                importExecutor, importWriterExecutor, importParsePool, importLedgerService, importMetrics, productResponseCache, productSearchCache);
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream())
+                .thenReturn(new ByteArrayInputStream(SAMPLE_JSON.getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("data_1.json");
+        when(resource.exists()).thenReturn(true);
+        when(resourcePatternResolver.getResources(anyString())).thenReturn(new Resource[]{resource});
+        when(productRepository.copyToSyncStaging(any(UUID.class), anyList())).thenReturn(1L);
+        when(productRepository.syncFromStaging(any(UUID.class), eq(1L), eq(true)))
+                .thenThrow(new IllegalStateException("Staging da sincronização com 0 linhas, esperadas 1"));
+
+        // Act
+        CompletableFuture<ImportSummary> future = syncService.processJsonFiles();
+
+        // Assert
+        assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        verify(productRepository).clearSyncStaging(any(UUID.class));
+        verify(productSearchCache, never()).catalogChanged();
+    }
+
+    @Test
+    void testProcessJsonFiles_SyncModeKeepsMissingProductsWhenAFileFails() throws Exception {
+        // Arrange
+        JsonFileProcessorService syncService = new JsonFileProcessorService(productRepository, resourcePatternResolver,
+                new ProductImportProperties(2, true, false, null, null, true, null, null, null, null, null,
+                        new ProductImportProperties.Sync(true, true), null),
+                importExecutor, importWriterExecutor, importParsePool, importLedgerService, importMetrics, productResponseCache, productSearchCache);
+        Resource valid = mock(Resource.class);
+        when(valid.getInputStream())
+                .thenReturn(new ByteArrayInputStream(SAMPLE_JSON.getBytes(StandardCharsets.UTF_8)));
+        when(valid.getFilename()).thenReturn("data_1.json");
+        when(valid.exists()).thenReturn(true);
+        Resource broken = mock(Resource.class);
+        when(broken.getInputStream()).thenThrow(new IOException("disco indisponível"));
+        when(broken.getFilename()).thenReturn("data_2.json");
+        when(broken.exists()).thenReturn(true);
+        when(resourcePatternResolver.getResources(anyString())).thenReturn(new Resource[]{valid, broken});
+        when(productRepository.copyToSyncStaging(any(UUID.class), anyList())).thenReturn(1L);
+        when(productRepository.syncFromStaging(any(UUID.class), eq(1L), eq(false))).thenReturn(new CatalogSyncResult(0, 0, 0, 1));
+
+        // Act
+        ImportSummary summary = syncService.processJsonFiles().get(10, TimeUnit.SECONDS);
+
+        // Assert
+        verify(productRepository).syncFromStaging(any(UUID.class), eq(1L), eq(false));
+        assertEquals(1, summary.getFilesFailed());
+        assertEquals(0, summary.getProductsSaved());
+        verify(productSearchCache, never()).catalogChanged();
+        verify(productResponseCache, never()).invalidateAll();
+    }
+
+    @Test
+    void testProcessJsonFiles_ProcessesFilesOnImportExecutor() throws Exception {
+        // Arrange
+        Resource first = mock(Resource.class);
+        when(first.getInputStream())
+                .thenReturn(new ByteArrayInputStream(SAMPLE_JSON.getBytes(StandardCharsets.UTF_8)));
+        when(first.getFilename()).thenReturn("data_1.json");
+        when(first.exists()).thenReturn(true);
+        Resource second = mock(Resource.class);
+        when(second.getInputStream())
+                .thenReturn(new ByteArrayInputStream(SAMPLE_JSON.replace("Produto Teste", "Outro Produto").getBytes(StandardCharsets.UTF_8)));
+        when(second.getFilename()).thenReturn("data_2.json");
+        when(second.exists()).thenReturn(true);
+        when(resourcePatternResolver.getResources(anyString())).thenReturn(new Resource[]{first, second});
+
+        Set<String> workerThreads = ConcurrentHashMap.newKeySet();
+        when(productRepository.batchInsert(anyList())).thenAnswer(invocation -> {
+            workerThreads.add(Thread.currentThread().getName());
+            return invocation.<List<Product>>getArgument(0).size();
+        });
+
+        // Act
+        ImportSummary summary = jsonFileProcessorService.processJsonFiles().get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, summary.getProductsSaved());
+        assertEquals(2, summary.getFilesImported());
+        assertEquals(2, summary.getValidation().getRowsRead());
+        assertTrue(workerThreads.stream().allMatch(name -> name.startsWith("test-import-")));
+    }
+
+    @Test
+    void testImportFile_WithCopyLoaderMergesWithoutPreRead() throws Exception {
+        // Arrange
+        JsonFileProcessorService copyService = new JsonFileProcessorService(productRepository, resourcePatternResolver,
+                new ProductImportProperties(2, true, false, ProductImportProperties.Loader.COPY, null, false, null, null, null, null, null, null, null), importExecutor, importWriterExecutor, importParsePool, importLedgerService, importMetrics, productResponseCache, productSearchCache);
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream())
+                .thenReturn(new ByteArrayInputStream(SAMPLE_JSON.getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("copy.json");
+        when(productRepository.copyMerge(anyList(), eq(OnConflict.KEEP_EXISTING))).thenReturn(new BulkLoadResult(1, 1, 0));
+
+        // Act
+        int savedCount = copyService.importFile(resource, false, ImportSource.CATALOG).productsSaved();
+
+        // Assert
+        assertEquals(1, savedCount);
+        verify(productRepository, never()).findExistingKeys(anyCollection());
+        verify(productRepository, never()).batchInsert(anyList());
+        // Produtos só inseridos mudam as buscas, mas não estavam no cache por ID
+        verify(productSearchCache).catalogChanged();
+        verify(productResponseCache, never()).invalidateAll();
+    }
+
+    @Test
+    void testImportFile_WithUpsertLoaderSendsDistinctKeysWithoutPreRead() throws Exception {
+        // Arrange
+        JsonFileProcessorService upsertService = new JsonFileProcessorService(productRepository, resourcePatternResolver,
+                new ProductImportProperties(10, true, false, ProductImportProperties.Loader.UPSERT, OnConflict.REFRESH, false, null, null, null, null, null, null, null),
+                importExecutor, importWriterExecutor, importParsePool, importLedgerService, importMetrics, productResponseCache, productSearchCache);
+        String json = "[{\"product\":\"Produto A\",\"type\":\"Tipo\",\"price\":\"$10.50\",\"quantity\":1},"
+                + "{\"product\":\"Produto A\",\"type\":\"Tipo\",\"price\":\"$11.00\",\"quantity\":2},"
+                + "{\"product\":\"Produto B\",\"type\":\"Tipo\",\"price\":\"$5.00\",\"quantity\":3}]";
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("upsert.json");
+        when(productRepository.upsert(anyList(), eq(OnConflict.REFRESH))).thenReturn(new BulkLoadResult(2, 1, 1));
+
+        // Act
+        int savedCount = upsertService.importFile(resource, false, ImportSource.CATALOG).productsSaved();
+
+        // Assert
+        assertEquals(2, savedCount);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Product>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(productRepository).upsert(batchCaptor.capture(), eq(OnConflict.REFRESH));
+        assertEquals(List.of("Produto A", "Produto B"), batchCaptor.getValue().stream().map(Product::getName).toList());
+        verify(productRepository, never()).findExistingKeys(anyCollection());
+        verify(productRepository, never()).batchInsert(anyList());
+        verify(productResponseCache).invalidateAll();
+    }
+
+    @Test
+    void testSubmitUpload_TracksProgressWithoutLedger() throws Exception {
+        // Arrange
+        String json = "[{\"product\":\"A\",\"type\":\"S\",\"price\":\"$1.00\",\"quantity\":1},"
+                + "{\"product\":\"B\",\"type\":\"S\",\"price\":\"$2.00\",\"quantity\":2},"
+                + "{\"product\":\"C\",\"type\":\"S\",\"price\":\"abc\",\"quantity\":3}]";
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream())
+                .thenReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("upload.json");
+        when(productRepository.findExistingKeys(anyCollection())).thenReturn(Set.of(new ProductKey("A", "S")));
+        when(productRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.<List<Product>>getArgument(0).size());
+        ImportProgress progress = new ImportProgress();
+
+        // Act
+        JsonFileProcessorService.FileImportResult result =
+                jsonFileProcessorService.submitUpload(resource, progress, importExecutor).get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1, result.productsSaved());
+        assertEquals(3, progress.getRowsParsed());
+        assertEquals(2, progress.getRowsValid());
+        assertEquals(1, progress.getRowsRejected());
+        assertEquals(1, progress.getRowsInserted());
+        assertEquals(1, progress.getRowsSkipped());
+        assertNotNull(progress.getFinishedAt());
+        verifyNoInteractions(importLedgerService);
+    }
+
+    @Test
+    void testImportFile_RecordsRowCountersAndTimersPerSourceAndLoader() throws Exception {
+        // Arrange
+        String json = "[{\"product\":\"A\",\"type\":\"S\",\"price\":\"$1.00\",\"quantity\":1},"
+                + "{\"product\":\"B\",\"type\":\"S\",\"price\":\"$0.00\",\"quantity\":1},"
+                + "{\"product\":\"C\",\"type\":\"S\",\"price\":\"$3.00\",\"quantity\":1}]";
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("metricas.json");
+        when(productRepository.findExistingKeys(anyCollection())).thenReturn(Set.of(new ProductKey("C", "S")));
+        when(productRepository.batchInsert(anyList())).thenReturn(1);
+
+        // Act
+        jsonFileProcessorService.importFile(resource, false, ImportSource.WATCH);
+
+        // Assert
+        assertEquals(3, rows("parsed"));
+        assertEquals(2, rows("valid"));
+        assertEquals(1, rows("rejected"));
+        assertEquals(1, rows("inserted"));
+        assertEquals(1, rows("skipped"));
+        assertEquals(1, meterRegistry.get("product.import.parse").tags("source", "watch", "loader", "JDBC_BATCH").timer().count());
+        assertTrue(meterRegistry.find("product.import.rows").tagKeys("file").counters().isEmpty());
+        assertEquals(1, meterRegistry.get("product.import.dedup.query").timer().count());
+        assertEquals(1, meterRegistry.get("product.import.insert").tag("loader", "JDBC_BATCH").timer().count());
+        assertEquals(0, meterRegistry.get("product.import.rows.in.flight").gauge().value());
+    }
+
+    private double rows(String stage) {
+        return meterRegistry.get("product.import.rows")
+                .tags("source", "watch", "loader", "JDBC_BATCH", "stage", stage).counter().count();
+    }
+
+    @Test
+    void testImportFile_SkipsFileUnchangedSinceLastImport() throws Exception {
+        // Arrange
+        JsonFileProcessorService ledgerService = new JsonFileProcessorService(productRepository, resourcePatternResolver,
+                ProductImportProperties.defaults(), importExecutor, importWriterExecutor, importParsePool, importLedgerService, importMetrics, productResponseCache, productSearchCache);
+        Resource resource = mock(Resource.class);
+        ImportLedgerService.FileFingerprint fingerprint = new ImportLedgerService.FileFingerprint(ImportSource.CATALOG, "file:/data/data.json", "data.json", 10, "abc");
+        when(importLedgerService.fingerprint(resource, ImportSource.CATALOG)).thenReturn(fingerprint);
+        when(importLedgerService.isUnchanged(fingerprint)).thenReturn(true);
+
+        // Act
+        int savedCount = ledgerService.importFile(resource, false, ImportSource.CATALOG).productsSaved();
+
+        // Assert
+        assertEquals(0, savedCount);
+        verify(resource, never()).getInputStream();
+        verify(importLedgerService, never()).record(any(), anyInt(), anyInt());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void testImportFile_ForcedImportRecordsFileInLedger() throws Exception {
+        // Arrange
+        JsonFileProcessorService ledgerService = new JsonFileProcessorService(productRepository, resourcePatternResolver,
+                ProductImportProperties.defaults(), importExecutor, importWriterExecutor, importParsePool, importLedgerService, importMetrics, productResponseCache, productSearchCache);
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream())
+                .thenReturn(new ByteArrayInputStream(SAMPLE_JSON.getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("data.json");
+        ImportLedgerService.FileFingerprint fingerprint = new ImportLedgerService.FileFingerprint(ImportSource.CATALOG, "file:/data/data.json", "data.json", 10, "abc");
+        when(importLedgerService.fingerprint(resource, ImportSource.CATALOG)).thenReturn(fingerprint);
+        when(importLedgerService.commitChunk(eq(fingerprint), anyInt(), anyInt(), anyLong(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
+        when(productRepository.findExistingKeys(anyCollection())).thenReturn(Set.of());
+        when(productRepository.batchInsert(anyList())).thenReturn(1);
+
+        // Act
+        int savedCount = ledgerService.importFile(resource, true, ImportSource.CATALOG).productsSaved();
+
+        // Assert
+        assertEquals(1, savedCount);
+        verify(importLedgerService, never()).isUnchanged(any());
+        verify(importLedgerService).commitChunk(eq(fingerprint), eq(0), eq(1), eq(1L), any());
+        verify(importLedgerService).record(fingerprint, 1, 1);
+    }
+
+    @Test
+    void testImportFile_ResumesAfterRowsCommittedByInterruptedImport() throws Exception {
+        // Arrange
+        JsonFileProcessorService ledgerService = new JsonFileProcessorService(productRepository, resourcePatternResolver,
+                new ProductImportProperties(2, true, false, ProductImportProperties.Loader.UPSERT, null, false, null, null, null, null, null, null, null),
+                importExecutor, importWriterExecutor, importParsePool, importLedgerService, importMetrics, productResponseCache, productSearchCache);
+        String ndjson = "{\"product\":\"A\",\"type\":\"S\",\"price\":\"$1.00\",\"quantity\":1}\n"
+                + "{\"product\":\"B\",\"type\":\"S\",\"price\":\"$1.00\",\"quantity\":1}\n"
+                + "{\"product\":\"C\",\"type\":\"S\",\"price\":\"$0.00\",\"quantity\":1}\n"
+                + "{\"product\":\"D\",\"type\":\"S\",\"price\":\"$1.00\",\"quantity\":1}\n";
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("catalogo.ndjson");
+        ImportLedgerService.FileFingerprint fingerprint = new ImportLedgerService.FileFingerprint(ImportSource.CATALOG, "file:/data/catalogo.ndjson", "catalogo.ndjson", 10, "abc");
+        when(importLedgerService.fingerprint(resource, ImportSource.CATALOG)).thenReturn(fingerprint);
+        when(importLedgerService.committedRows(fingerprint, 1)).thenReturn(Map.of(0, 2L));
+        when(importLedgerService.commitChunk(eq(fingerprint), anyInt(), anyInt(), anyLong(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
+        ArgumentCaptor<List<Product>> written = ArgumentCaptor.forClass(List.class);
+        when(productRepository.upsert(written.capture(), eq(OnConflict.KEEP_EXISTING))).thenReturn(new BulkLoadResult(1, 1, 0));
+
+        // Act
+        JsonFileProcessorService.FileImportResult result = ledgerService.importFile(resource, false, ImportSource.CATALOG);
+
+        // Assert
+        assertEquals(List.of("D"), written.getValue().stream().map(Product::getName).toList());
+        verify(importLedgerService).commitChunk(eq(fingerprint), eq(0), eq(1), eq(4L), any());
+        assertEquals(new RowViolation("catalogo.ndjson", 3, "price", "NOT_POSITIVE"), result.validation().getSamples().get(0));
+        verify(importLedgerService).record(fingerprint, 1, 1);
+    }
+
+    @Test
+    void testImportFile_CheckpointLookupFailureDoesNotHoldWriterThread() throws Exception {
+        // Arrange
+        Resource resource = mock(Resource.class);
+        when(resource.getFilename()).thenReturn("catalogo.ndjson");
+        ImportLedgerService.FileFingerprint fingerprint = new ImportLedgerService.FileFingerprint(ImportSource.CATALOG, "file:/data/catalogo.ndjson", "catalogo.ndjson", 10, "abc");
+        when(importLedgerService.fingerprint(resource, ImportSource.CATALOG)).thenReturn(fingerprint);
+        when(importLedgerService.committedRows(fingerprint, 1)).thenThrow(new QueryTimeoutException("banco indisponível"));
+
+        // Act
+        assertThrows(QueryTimeoutException.class, () -> jsonFileProcessorService.importFile(resource, false, ImportSource.CATALOG));
+
+        // Assert
+        assertEquals(0, importWriterExecutor.getActiveCount());
+        verify(resource, never()).getInputStream();
+    }
+
+    @Test
+    void testImportFile_DirectWriteTransactionFailureIsPropagated() throws Exception {
+        // Arrange
+        JsonFileProcessorService directService = new JsonFileProcessorService(productRepository, resourcePatternResolver,
+                new ProductImportProperties(2, true, false, ProductImportProperties.Loader.UPSERT, null, false, null, null, null, null,
+                        new ProductImportProperties.Pipeline(false, 0, 0, 1, null), null, null),
+                importExecutor, importWriterExecutor, importParsePool, importLedgerService, importMetrics, productResponseCache, productSearchCache);
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(SAMPLE_JSON.getBytes(StandardCharsets.UTF_8)));
+        when(resource.getFilename()).thenReturn("test.json");
+        ImportLedgerService.FileFingerprint fingerprint = new ImportLedgerService.FileFingerprint(ImportSource.WATCH, "file:/inbox/test.json", "test.json", 10, "abc");
+        when(importLedgerService.fingerprint(resource, ImportSource.WATCH)).thenReturn(fingerprint);
+        when(importLedgerService.committedRows(fingerprint, 1)).thenReturn(Map.of());
+        when(importLedgerService.commitChunk(eq(fingerprint), anyInt(), anyInt(), anyLong(), any()))
+                .thenThrow(new CannotCreateTransactionException("sem conexão disponível"));
+
+        // Act
+        CannotCreateTransactionException exception = assertThrows(CannotCreateTransactionException.class,
+                () -> directService.importFile(resource, false, ImportSource.WATCH));
+
+        // Assert
+        assertEquals("sem conexão disponível", exception.getMessage());
+        verify(importLedgerService, never()).record(any(), anyInt(), anyInt());
+    }
+
     @Test
     void testSaveUniqueProducts_WithNewProducts() {
         // Arrange
@@ -80,14 +660,31 @@ class JsonFileProcessorServiceTest {
                 .quantity(10)
                 .build();
 
-        when(productRepository.saveAll(anyList())).thenReturn(Collections.singletonList(newProduct));
+        when(productRepository.batchInsert(anyList())).thenReturn(1);
 
         // Act
         int savedCount = jsonFileProcessorService.saveUniqueProducts(Collections.singletonList(newProduct));
 
         // Assert
         assertEquals(1, savedCount);
-        verify(productRepository, times(1)).saveAll(anyList());
+        verify(productRepository, times(1)).batchInsert(anyList());
+    }
+
+    @Test
+    void testSaveUniqueProducts_SkipsExactKeysAlreadyInDatabase() {
+        // Arrange
+        Product existing = Product.builder().name("A").type("S").price(BigDecimal.ONE).quantity(1).build();
+        Product sameNameOtherType = Product.builder().name("A").type("M").price(BigDecimal.ONE).quantity(1).build();
+        when(productRepository.findExistingKeys(anyCollection()))
+                .thenReturn(Collections.singleton(new ProductKey("A", "S")));
+        when(productRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.<List<Product>>getArgument(0).size());
+
+        // Act
+        int savedCount = jsonFileProcessorService.saveUniqueProducts(Arrays.asList(existing, sameNameOtherType, existing));
+
+        // Assert
+        assertEquals(1, savedCount);
+        verify(productRepository).batchInsert(Collections.singletonList(sameNameOtherType));
     }
 
     @Test
@@ -0,0 +1,91 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties;
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties.ReadMode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara a leitura por stream com a leitura mapeada em memória em um arquivo grande.
+ * Não roda na suíte padrão; execute com
+ * {@code mvn test -Dtest=JsonFileReadBenchmarkTest -Dbenchmark=true [-Dbenchmark.file.mb=300]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JsonFileReadBenchmarkTest {
+
+    private static final int ITERATIONS = 5;
+
+    @TempDir
+    static Path directory;
+
+    private static Path file;
+    private static int rows;
+
+    @BeforeAll
+    static void createFile() throws Exception {
+        long targetBytes = Long.getLong("benchmark.file.mb", 300) * 1024 * 1024;
+        file = directory.resolve("benchmark.json");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("{\"data\":[");
+            long written = 0;
+            while (written < targetBytes) {
+                String row = String.format(
+                        "%s{\"product\":\"PRODUTO%d\",\"quantity\":%d,\"price\":\"$%d.%02d\",\"type\":\"T%d\",\"industry\":\"Industrial Specialties\",\"origin\":\"SP\"}%n",
+                        rows == 0 ? "" : ",", rows, rows % 100, rows % 1000 + 1, rows % 100, rows % 7);
+                writer.write(row);
+                written += row.length();
+                rows++;
+            }
+            writer.write("]}");
+        }
+    }
+
+    @Test
+    void compareReadModes() throws Exception {
+        FileSystemResource resource = new FileSystemResource(file);
+        long mb = Files.size(file) / (1024 * 1024);
+
+        for (ReadMode mode : ReadMode.values()) {
+            JsonFileProcessorService service = new JsonFileProcessorService(null, null, new ProductImportProperties(
+                    0, false, false, null, null, false, null, mode, null, null, null, null, null), null, null, null, null, null, null, null);
+            service.streamFile(resource, chunk -> { });
+
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                int parsed = service.streamFile(resource, chunk -> { });
+                best = Math.min(best, System.nanoTime() - start);
+                assertEquals(rows, parsed);
+            }
+            System.out.printf("parse %-13s %d MB, %d linhas: melhor %.0f ms (%.0f MB/s)%n",
+                    mode, mb, rows, best / 1e6, mb / (best / 1e9));
+        }
+
+        for (ReadMode mode : ReadMode.values()) {
+            long best = Long.MAX_VALUE;
+            byte[] buffer = new byte[8000];
+            for (int i = 0; i < ITERATIONS + 1; i++) {
+                long start = System.nanoTime();
+                try (InputStream in = mode == ReadMode.STREAM ? resource.getInputStream() : new MappedFileInputStream(file)) {
+                    while (in.read(buffer, 0, buffer.length) != -1) {
+                        // Apenas percorre os bytes, com o mesmo tamanho de bloco usado pelo parser do Jackson
+                    }
+                }
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            System.out.printf("leitura %-11s %d MB: melhor %.0f ms (%.0f MB/s)%n",
+                    mode, mb, best / 1e6, mb / (best / 1e9));
+        }
+    }
+}
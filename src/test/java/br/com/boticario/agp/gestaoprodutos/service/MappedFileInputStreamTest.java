@@ -0,0 +1,63 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileInputStreamTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_ShouldReturnWholeFileAcrossSegments() throws Exception {
+        // Arrange
+        String content = "[{\"product\":\"Produto\",\"type\":\"Tipo\"}]";
+        Path file = Files.writeString(directory.resolve("data.json"), content);
+
+        // Act
+        byte[] read;
+        try (InputStream inputStream = new MappedFileInputStream(file, 7)) {
+            read = inputStream.readAllBytes();
+        }
+
+        // Assert
+        assertEquals(content, new String(read, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void skip_ShouldMoveAcrossSegments() throws Exception {
+        // Arrange
+        Path file = Files.writeString(directory.resolve("data.json"), "0123456789abcdef");
+
+        try (InputStream inputStream = new MappedFileInputStream(file, 4)) {
+            // Act
+            assertEquals('0', inputStream.read());
+            long skipped = inputStream.skip(9);
+
+            // Assert
+            assertEquals(9, skipped);
+            assertEquals('a', inputStream.read());
+            assertEquals(5, inputStream.skip(100));
+            assertEquals(-1, inputStream.read());
+        }
+    }
+
+    @Test
+    void read_ShouldReturnEndOfStreamForEmptyFile() throws Exception {
+        // Arrange
+        Path file = Files.createFile(directory.resolve("empty.json"));
+
+        // Act & Assert
+        try (InputStream inputStream = new MappedFileInputStream(file)) {
+            assertEquals(-1, inputStream.read());
+            assertEquals(-1, inputStream.read(new byte[8], 0, 8));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PriceParserTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "$1.99, 199",
+        "$0.67, 67",
+        "$10.5, 1050",
+        "$10, 1000",
+        "10.50, 1050",
+        "$007.01, 701",
+        "$0.00, 0",
+        "$99999999.99, 9999999999"
+    })
+    void parseCents_ShouldConvertValidPrices(String text, long expectedCents) {
+        assertEquals(expectedCents, PriceParser.parseCents(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "$", "abc", "$1.999", "$1.", "$.50", "$-1.00", "1,50", " $1.00", "$1.00 ", "$$1", "1e3"})
+    void parseCents_ShouldRejectInvalidFormats(String text) {
+        assertEquals(PriceParser.INVALID_FORMAT, PriceParser.parseCents(text));
+    }
+
+    @Test
+    void parseCents_ShouldRejectPricesAboveColumnLimit() {
+        assertEquals(PriceParser.OUT_OF_RANGE, PriceParser.parseCents("$100000000.00"));
+        assertEquals(PriceParser.INVALID_FORMAT, PriceParser.parseCents("$100000000.0x"));
+    }
+}
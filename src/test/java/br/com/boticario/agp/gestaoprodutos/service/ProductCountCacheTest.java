@@ -0,0 +1,35 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductSearchProperties;
+import br.com.boticario.agp.gestaoprodutos.dto.ProductSearchRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCountCacheTest {
+
+    @Test
+    void get_ShouldCountOnceForEquivalentCriteria() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ProductCountCache cache = new ProductCountCache(ProductSearchProperties.defaults(), registry);
+        AtomicInteger counts = new AtomicInteger();
+        ProductSearchRequest first = ProductSearchRequest.builder().name(" Perfume ").maxPrice(new BigDecimal("50.00")).build();
+        ProductSearchRequest second = ProductSearchRequest.builder().name("PERFUME").maxPrice(new BigDecimal("50")).build();
+
+        // Act
+        long firstTotal = cache.get(first.normalized(), c -> 42L + counts.getAndIncrement());
+        long secondTotal = cache.get(second.normalized(), c -> 42L + counts.getAndIncrement());
+
+        // Assert
+        assertEquals(42L, firstTotal);
+        assertEquals(42L, secondTotal);
+        assertEquals(1, counts.get());
+        assertEquals(1, registry.get("cache.gets").tag("cache", ProductCountCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count());
+    }
+}
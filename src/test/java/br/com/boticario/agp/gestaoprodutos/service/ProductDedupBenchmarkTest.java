@@ -0,0 +1,92 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede o custo por produto da remoção de repetidos em um lote: o filtro anterior
+ * ({@code distinctByKeys}, com uma lista de chaves por produto em um {@link ConcurrentHashMap})
+ * contra {@link ProductKeySet}.
+ * Não roda na suíte padrão; execute com
+ * {@code mvn test -Dtest=ProductDedupBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductDedupBenchmarkTest {
+
+    private static final int CHUNK_SIZE = 1_000;
+    private static final int CHUNKS = 1_000;
+    private static final int ROUNDS = 10;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compareDedup() {
+        // Um produto a cada dez se repete dentro do próprio lote
+        List<List<Product>> chunks = new ArrayList<>(CHUNKS);
+        for (int c = 0; c < CHUNKS; c++) {
+            List<Product> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                int id = i % 10 == 9 ? i - 1 : i;
+                chunk.add(Product.builder().name("PRODUTO " + c + "-" + id).type("TIPO " + id % 50).build());
+            }
+            chunks.add(chunk);
+        }
+        long expected = (long) CHUNKS * CHUNK_SIZE * 9 / 10;
+
+        UnaryOperator<List<Product>> previous = chunk -> chunk.stream()
+                .filter(distinctByKeys(Product::getName, Product::getType))
+                .collect(Collectors.toList());
+        UnaryOperator<List<Product>> current = ProductKeySet::distinct;
+
+        measure("anterior", chunks, previous, expected);
+        measure("atual", chunks, current, expected);
+        measure("anterior", chunks, previous, expected);
+        measure("atual", chunks, current, expected);
+    }
+
+    private static void measure(String name, List<List<Product>> chunks, UnaryOperator<List<Product>> dedup, long expected) {
+        long bestNanos = Long.MAX_VALUE;
+        long allocated = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long threadId = Thread.currentThread().getId();
+            long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            long unique = 0;
+            for (List<Product> chunk : chunks) {
+                unique += dedup.apply(chunk).size();
+            }
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            allocated = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+            assertEquals(expected, unique);
+        }
+        long rows = (long) CHUNKS * CHUNK_SIZE;
+        System.out.printf("%-8s %.1f ns/produto, %.1f bytes alocados/produto%n",
+                name, (double) bestNanos / rows, (double) allocated / rows);
+    }
+
+    @SafeVarargs
+    private static <T> Predicate<T> distinctByKeys(Function<? super T, ?>... keyExtractors) {
+        final Map<List<?>, Boolean> seen = new ConcurrentHashMap<>();
+        return t -> {
+            List<?> keys = Arrays.stream(keyExtractors)
+                    .map(ke -> ke.apply(t))
+                    .collect(Collectors.toList());
+            return seen.putIfAbsent(keys, Boolean.TRUE) == null;
+        };
+    }
+}
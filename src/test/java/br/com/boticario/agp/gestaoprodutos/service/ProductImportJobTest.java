@@ -0,0 +1,127 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportJobResponse;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportSummary;
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportRun;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportJobTest {
+
+    @Mock
+    private JsonFileProcessorService jsonFileProcessorService;
+
+    @Mock
+    private ImportRunService importRunService;
+
+    private ProductImportJob productImportJob;
+
+    @BeforeEach
+    void setUp() {
+        productImportJob = new ProductImportJob(jsonFileProcessorService, ProductImportProperties.defaults(), importRunService);
+    }
+
+    @Test
+    void start_ShouldMoveFromRunningToCompleted() {
+        // Arrange
+        CompletableFuture<ImportSummary> result = new CompletableFuture<>();
+        when(jsonFileProcessorService.processJsonFiles(false)).thenReturn(result);
+        assertEquals(ProductImportJob.Status.PENDING, productImportJob.getStatus());
+
+        // Act
+        assertTrue(productImportJob.start());
+
+        // Assert
+        assertEquals(ProductImportJob.Status.RUNNING, productImportJob.getStatus());
+        ImportSummary summary = ImportSummary.builder().filesImported(1).productsSaved(42).build();
+        result.complete(summary);
+        ImportJobResponse state = productImportJob.getState();
+        assertEquals(ProductImportJob.Status.COMPLETED, state.getStatus());
+        assertEquals(42, state.getProductsSaved());
+        assertSame(summary, state.getSummary());
+        verify(importRunService).recordCompleted(ProductImportRun.Trigger.FULL_IMPORT, state.getStartedAt(), summary);
+        assertNotNull(state.getStartedAt());
+        assertNotNull(state.getFinishedAt());
+    }
+
+    @Test
+    void start_ShouldBeIgnoredWhileRunning() {
+        // Arrange
+        when(jsonFileProcessorService.processJsonFiles(false)).thenReturn(new CompletableFuture<>());
+        productImportJob.start();
+
+        // Act
+        boolean started = productImportJob.start();
+
+        // Assert
+        assertFalse(started);
+        verify(jsonFileProcessorService, times(1)).processJsonFiles(false);
+    }
+
+    @Test
+    void start_ShouldMoveToFailedWhenImportFails() {
+        // Arrange
+        when(jsonFileProcessorService.processJsonFiles(false))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("banco indisponível")));
+
+        // Act
+        productImportJob.start();
+
+        // Assert
+        ImportJobResponse state = productImportJob.getState();
+        assertEquals(ProductImportJob.Status.FAILED, state.getStatus());
+        assertEquals("banco indisponível", state.getErrorMessage());
+        verify(importRunService).recordFailed(ProductImportRun.Trigger.FULL_IMPORT, state.getStartedAt(), "banco indisponível");
+    }
+
+    @Test
+    void isFirstRunFinished_ShouldBecomeTrueOnlyAfterRunEnds() {
+        // Arrange
+        CompletableFuture<ImportSummary> result = new CompletableFuture<>();
+        when(jsonFileProcessorService.processJsonFiles(false)).thenReturn(result);
+
+        // Act
+        productImportJob.start();
+
+        // Assert
+        assertFalse(productImportJob.isFirstRunFinished());
+        result.completeExceptionally(new IllegalStateException("banco indisponível"));
+        assertTrue(productImportJob.isFirstRunFinished());
+    }
+
+    @Test
+    void start_ShouldForwardForceFlag() {
+        // Arrange
+        when(jsonFileProcessorService.processJsonFiles(true)).thenReturn(CompletableFuture.completedFuture(ImportSummary.builder().productsSaved(7).build()));
+
+        // Act
+        productImportJob.start(true);
+
+        // Assert
+        verify(jsonFileProcessorService).processJsonFiles(true);
+        assertEquals(7, productImportJob.getState().getProductsSaved());
+    }
+
+    @Test
+    void onApplicationReady_ShouldNotStartWhenDisabled() {
+        // Arrange
+        productImportJob = new ProductImportJob(jsonFileProcessorService, new ProductImportProperties(0, false, false, null, null, true, null, null, null, null, null, null, null), importRunService);
+
+        // Act
+        productImportJob.onApplicationReady();
+
+        // Assert
+        assertEquals(ProductImportJob.Status.PENDING, productImportJob.getStatus());
+        verifyNoInteractions(jsonFileProcessorService);
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductKeySetTest {
+
+    @Test
+    void add_ShouldRejectRepeatedNameAndType() {
+        // Arrange
+        ProductKeySet keys = new ProductKeySet(4);
+
+        // Act / Assert
+        assertTrue(keys.add(product("Perfume", "Floral")));
+        assertTrue(keys.add(product("Perfume", "Amadeirado")));
+        assertTrue(keys.add(product("Floral", "Perfume")));
+        assertFalse(keys.add(product("Perfume", "Floral")));
+        assertEquals(3, keys.size());
+    }
+
+    @Test
+    void add_ShouldTellApartKeysWithTheSameHash() {
+        // Arrange: "Aa" e "BB" têm o mesmo String.hashCode, então as chaves colidem nos 64 bits
+        ProductKeySet keys = new ProductKeySet(2);
+        assertEquals(ProductKeySet.hash("Aa", "BB"), ProductKeySet.hash("BB", "Aa"));
+        assertEquals(ProductKeySet.hash("Aa", "Aa"), ProductKeySet.hash("BB", "BB"));
+
+        // Act / Assert
+        assertTrue(keys.add(product("Aa", "BB")));
+        assertTrue(keys.add(product("BB", "Aa")));
+        assertTrue(keys.add(product("Aa", "Aa")));
+        assertTrue(keys.add(product("BB", "BB")));
+        assertFalse(keys.add(product("BB", "Aa")));
+        assertFalse(keys.add(product("Aa", "Aa")));
+    }
+
+    @Test
+    void add_ShouldGrowBeyondTheExpectedSize() {
+        // Arrange
+        ProductKeySet keys = new ProductKeySet(1);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(keys.add(product("Produto " + i, "Tipo")));
+        }
+
+        // Assert
+        assertEquals(10_000, keys.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(keys.add(product("Produto " + i, "Tipo")));
+        }
+    }
+
+    @Test
+    void distinct_ShouldKeepFirstOccurrenceInOrderAndReuseListWithoutRepeats() {
+        // Arrange
+        Product first = product("A", "S");
+        Product repeated = product("A", "S");
+        List<Product> unique = List.of(first, product("B", "S"));
+        List<Product> withRepeats = new ArrayList<>(List.of(first, product("B", "S"), repeated, product("C", "S")));
+
+        // Act
+        List<Product> distinctUnique = ProductKeySet.distinct(unique);
+        List<Product> distinctWithRepeats = ProductKeySet.distinct(withRepeats);
+
+        // Assert
+        assertSame(unique, distinctUnique);
+        assertEquals(List.of("A", "B", "C"), distinctWithRepeats.stream().map(Product::getName).toList());
+        assertSame(first, distinctWithRepeats.get(0));
+    }
+
+    private static Product product(String name, String type) {
+        return Product.builder().name(name).type(type).build();
+    }
+}
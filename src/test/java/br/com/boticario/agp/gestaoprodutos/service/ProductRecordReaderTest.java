@@ -0,0 +1,156 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.dto.ProductImportDto;
+import br.com.boticario.agp.gestaoprodutos.exception.InvalidCsvFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductRecordReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void forFileName_ShouldDetectFormatByExtension() {
+        // Act & Assert
+        assertEquals(ImportFormat.JSON, ImportFormat.forFileName("data_1.json"));
+        assertEquals(ImportFormat.NDJSON, ImportFormat.forFileName("data_1.NDJSON"));
+        assertEquals(ImportFormat.NDJSON, ImportFormat.forFileName("data_1.jsonl"));
+        assertEquals(ImportFormat.CSV, ImportFormat.forFileName("data_1.csv"));
+        assertEquals(ImportFormat.JSON, ImportFormat.forFileName("upload"));
+    }
+
+    @Test
+    void ndjson_ShouldReadOneProductPerLineSkippingBlankLines() throws IOException {
+        // Arrange
+        String content = "{\"product\":\"A\",\"type\":\"S\",\"price\":\"$1.00\",\"quantity\":1}\n\n"
+                + "{\"product\":\"B\",\"type\":\"M\",\"price\":\"$2.00\",\"quantity\":2}";
+
+        // Act
+        List<ProductImportDto> records = readAll(ImportFormat.NDJSON.open(stream(content), "data.ndjson"));
+
+        // Assert
+        assertEquals(List.of("A", "B"), records.stream().map(ProductImportDto::getProduct).toList());
+        assertEquals(2, records.get(1).getQuantity());
+    }
+
+    @Test
+    void csv_ShouldMapColumnsByHeaderAndHandleQuotes() throws IOException {
+        // Arrange
+        String content = "\uFEFFquantity,Product,type,price,origin\r\n"
+                + "5,\"Batom, \"\"Matte\"\"\",M,$10.50,SP\r\n"
+                + " 7 , Perfume ,L, $99.90 ,\r\n";
+        ProductRecordReader reader = ImportFormat.CSV.open(stream(content), "data.csv");
+
+        // Act
+        List<ProductImportDto> records = readAll(reader);
+
+        // Assert
+        assertEquals(2, records.size());
+        assertEquals("Batom, \"Matte\"", records.get(0).getProduct());
+        assertEquals(5, records.get(0).getQuantity());
+        assertEquals("SP", records.get(0).getOrigin());
+        assertEquals("Perfume", records.get(1).getProduct());
+        assertEquals("$99.90", records.get(1).getPrice());
+        assertEquals(7, records.get(1).getQuantity());
+        assertNull(records.get(1).getOrigin());
+        assertNull(records.get(1).getIndustry());
+    }
+
+    @Test
+    void csv_ShouldFlagUnparsableQuantityWithoutFailingTheFile() throws IOException {
+        // Arrange
+        String content = "product,type,price,quantity\nA,S,$1.00,dez\nB,S,$2.00,2\n";
+        ProductRecordReader reader = ImportFormat.CSV.open(stream(content), "data.csv");
+
+        // Act
+        ProductImportDto first = reader.next();
+        String firstMalformed = reader.malformedField();
+        ProductImportDto second = reader.next();
+
+        // Assert
+        assertNull(first.getQuantity());
+        assertEquals(ImportRowValidator.FIELD_QUANTITY, firstMalformed);
+        assertEquals(2, second.getQuantity());
+        assertNull(reader.malformedField());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void csv_ShouldRejectHeaderWithoutRequiredColumns() {
+        // Act & Assert
+        InvalidCsvFormatException exception = assertThrows(InvalidCsvFormatException.class,
+                () -> ImportFormat.CSV.open(stream("product,type\nA,S\n"), "data.csv"));
+        assertTrue(exception.getMessage().contains("[price, quantity]"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 50, 500})
+    void openRange_ShouldReadEveryLineExactlyOnceAcrossRanges(int parts) throws IOException {
+        // Arrange
+        StringBuilder ndjson = new StringBuilder();
+        StringBuilder csv = new StringBuilder("product,type,price,quantity\n");
+        for (int i = 1; i <= 40; i++) {
+            ndjson.append("{\"product\":\"P").append(i).append("\",\"type\":\"S\",\"price\":\"$1.00\",\"quantity\":").append(i).append("}\n");
+            csv.append("P").append(i).append(",S,$1.00,").append(i).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Path ndjsonFile = Files.writeString(directory.resolve("data.ndjson"), ndjson);
+        Path csvFile = Files.writeString(directory.resolve("data.csv"), csv.toString().stripTrailing());
+
+        // Act
+        List<String> ndjsonProducts = readRanges(ImportFormat.NDJSON, ndjsonFile, parts);
+        List<String> csvProducts = readRanges(ImportFormat.CSV, csvFile, parts);
+
+        // Assert
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            expected.add("P" + i);
+        }
+        assertEquals(expected, ndjsonProducts);
+        assertEquals(expected, csvProducts);
+    }
+
+    @Test
+    void openRange_ShouldNotSplitJson() throws IOException {
+        // Arrange
+        Path file = Files.writeString(directory.resolve("data.json"), "[]");
+
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> ImportFormat.JSON.openRange(file, new ByteRange(0, 2)));
+    }
+
+    private static List<String> readRanges(ImportFormat format, Path file, int parts) throws IOException {
+        List<String> products = new ArrayList<>();
+        for (ByteRange range : ByteRange.split(Files.size(file), parts)) {
+            readAll(format.openRange(file, range)).forEach(dto -> products.add(dto.getProduct()));
+        }
+        return products;
+    }
+
+    private static List<ProductImportDto> readAll(ProductRecordReader reader) throws IOException {
+        List<ProductImportDto> records = new ArrayList<>();
+        try (reader) {
+            ProductImportDto dto;
+            while ((dto = reader.next()) != null) {
+                records.add(dto);
+            }
+        }
+        return records;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
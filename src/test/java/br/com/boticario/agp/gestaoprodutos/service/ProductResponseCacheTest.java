@@ -0,0 +1,88 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductCacheProperties;
+import br.com.boticario.agp.gestaoprodutos.dto.ProductResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductResponseCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private ProductResponseCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new ProductResponseCache(ProductCacheProperties.defaults(), registry);
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictAfterCommit_ShouldKeepEntryUntilTransactionCommits() {
+        // Arrange
+        cache.get(1L, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        cache.evictAfterCommit(1L);
+        cache.get(1L, this::load);
+        int loadsBeforeCommit = loads.get();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.get(1L, this::load);
+
+        // Assert
+        assertEquals(1, loadsBeforeCommit);
+        assertEquals(2, loads.get());
+        assertEquals(2, registry.get("cache.gets").tag("cache", ProductResponseCache.CACHE_NAME).tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void get_ShouldNotCacheMissingProducts() {
+        // Arrange
+        IllegalStateException notFound = new IllegalStateException("não encontrado");
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> cache.get(2L, id -> { throw notFound; }));
+        ProductResponse product = cache.get(2L, this::load);
+
+        // Assert
+        assertEquals(2L, product.getId());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_ShouldAlwaysLoadWhenDisabled() {
+        // Arrange
+        ProductResponseCache disabled = new ProductResponseCache(new ProductCacheProperties(false, null, 0), registry);
+
+        // Act
+        disabled.get(1L, this::load);
+        disabled.putAfterCommit(ProductResponse.builder().id(1L).build());
+        disabled.get(1L, this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    private ProductResponse load(Long id) {
+        loads.incrementAndGet();
+        return ProductResponse.builder().id(id).name("Produto " + id).build();
+    }
+}
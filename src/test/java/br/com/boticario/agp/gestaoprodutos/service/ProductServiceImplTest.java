@@ -1,16 +1,25 @@
+import br.com.boticario.agp.gestaoprodutos.config.ProductCacheProperties;
+import br.com.boticario.agp.gestaoprodutos.config.ProductSearchProperties;
 import br.com.boticario.agp.gestaoprodutos.dto.PageResponse;
+import br.com.boticario.agp.gestaoprodutos.dto.ProductCursor;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductRequest;
 import br.com.boticario.agp.gestaoprodutos.dto.ProductSearchRequest;
+import br.com.boticario.agp.gestaoprodutos.dto.TotalKind;
 import br.com.boticario.agp.gestaoprodutos.exception.ResourceAlreadyExistsException;
 import br.com.boticario.agp.gestaoprodutos.exception.ResourceNotFoundException;
 import br.com.boticario.agp.gestaoprodutos.model.Product;
 import br.com.boticario.agp.gestaoprodutos.repository.ProductRepository;
+import br.com.boticario.agp.gestaoprodutos.service.ProductCountCache;
+import br.com.boticario.agp.gestaoprodutos.service.ProductResponseCache;
+import br.com.boticario.agp.gestaoprodutos.service.ProductSearchCache;
 import br.com.boticario.agp.gestaoprodutos.service.ProductServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -19,10 +28,13 @@ import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +43,17 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductCountCache productCountCache;
+
+    @Spy
+    private ProductResponseCache productResponseCache =
+            new ProductResponseCache(ProductCacheProperties.defaults(), new SimpleMeterRegistry());
+
+    @Spy
+    private ProductSearchCache productSearchCache =
+            new ProductSearchCache(ProductSearchProperties.defaults(), new SimpleMeterRegistry());
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -102,6 +125,108 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).findBySearchCriteria(any(), any(), any(), any(Pageable.class));
     }
 
+    @Test
+    void searchProducts_shouldServeRepeatedSearchFromCacheUntilCatalogChanges() {
+        Page<Product> productPage = new PageImpl<>(Collections.singletonList(product));
+        when(productRepository.findBySearchCriteria(eq("test"), isNull(), isNull(), any(Pageable.class))).thenReturn(productPage);
+        when(productRepository.existsById(1L)).thenReturn(true);
+
+        productService.searchProducts(ProductSearchRequest.builder().name("Test").build(), pageable);
+        PageResponse<?> cached = productService.searchProducts(ProductSearchRequest.builder().name(" test ").build(), pageable);
+        productService.deleteProduct(1L);
+        productService.searchProducts(ProductSearchRequest.builder().name("Test").build(), pageable);
+
+        assertEquals(1, cached.getContent().size());
+        // A segunda busca vem do cache; a exclusão muda a versão do catálogo e a terceira consulta o banco
+        verify(productRepository, times(2)).findBySearchCriteria(any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void searchProducts_shouldSkipCount_whenTotalKindIsNone() {
+        ProductSearchRequest searchRequest = ProductSearchRequest.builder().name("Test").build();
+        Product second = Product.builder().id(2L).name("Test Product 2").type("Test Type").price(BigDecimal.ONE).quantity(1).build();
+        when(productRepository.findSliceBySearchCriteria(eq("test"), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(product, second));
+
+        PageResponse<?> result = productService.searchProducts(searchRequest, PageRequest.of(0, 1), TotalKind.NONE);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(TotalKind.NONE, result.getTotalKind());
+        assertEquals(PageResponse.TOTAL_NOT_COUNTED, result.getTotalElements());
+        verify(productRepository, never()).countBySearchCriteria(any(), any(), any());
+        verify(productRepository, never()).findBySearchCriteria(any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void searchProducts_shouldUseCountCacheWithNormalizedCriteria_whenTotalKindIsCached() {
+        ProductSearchRequest searchRequest = ProductSearchRequest.builder().name("  Test ").minPrice(new BigDecimal("10.00")).build();
+        ProductSearchRequest criteria = ProductSearchRequest.builder().name("test").minPrice(BigDecimal.TEN).build();
+        when(productRepository.findSliceBySearchCriteria(eq("test"), eq(BigDecimal.TEN), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(product));
+        when(productCountCache.get(eq(criteria), any())).thenReturn(25L);
+
+        PageResponse<?> result = productService.searchProducts(searchRequest, pageable, TotalKind.CACHED);
+
+        assertEquals(25L, result.getTotalElements());
+        assertEquals(3, result.getTotalPages());
+        assertFalse(result.isHasNext());
+        assertEquals(TotalKind.CACHED, result.getTotalKind());
+    }
+
+    @Test
+    void searchProducts_shouldNotReportLessThanSeen_whenEstimateIsLow() {
+        ProductSearchRequest searchRequest = ProductSearchRequest.allProducts();
+        Product second = Product.builder().id(2L).name("Test Product 2").type("Test Type").price(BigDecimal.ONE).quantity(1).build();
+        when(productRepository.findSliceBySearchCriteria(isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(product, second));
+        when(productRepository.estimateCountBySearchCriteria(null, null, null)).thenReturn(1L);
+
+        PageResponse<?> result = productService.searchProducts(searchRequest, PageRequest.of(2, 5), TotalKind.ESTIMATED);
+
+        assertEquals(12L, result.getTotalElements());
+        assertEquals(3, result.getTotalPages());
+        assertTrue(result.isLast());
+        assertEquals(TotalKind.ESTIMATED, result.getTotalKind());
+    }
+
+    @Test
+    void searchProductsByCursor_shouldReturnNextCursor_whenMoreProductsExist() {
+        ProductSearchRequest searchRequest = ProductSearchRequest.builder().name("Test").build();
+        Product second = Product.builder().id(2L).name("Test Product 2").type("Test Type").price(BigDecimal.ONE).quantity(1).build();
+        Product third = Product.builder().id(3L).name("Test Product 3").type("Test Type").price(BigDecimal.ONE).quantity(1).build();
+        ProductCursor after = new ProductCursor("Test", 0L);
+        when(productRepository.findBySearchCriteriaAfter("Test", null, null, after, 3)).thenReturn(List.of(product, second, third));
+
+        PageResponse<?> result = productService.searchProducts(searchRequest, after, 2);
+
+        assertEquals(2, result.getContent().size());
+        assertFalse(result.isLast());
+        assertEquals(new ProductCursor("Test Product 2", 2L), ProductCursor.decode(result.getNextCursor()));
+        assertEquals(PageResponse.TOTAL_NOT_COUNTED, result.getTotalElements());
+    }
+
+    @Test
+    void searchProductsByCursor_shouldReturnLastPage_whenNoMoreProductsExist() {
+        ProductSearchRequest searchRequest = ProductSearchRequest.allProducts();
+        when(productRepository.findBySearchCriteriaAfter(null, null, null, null, 11)).thenReturn(List.of(product));
+
+        PageResponse<?> result = productService.searchProducts(searchRequest, null, 10);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isLast());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void productCursor_shouldRoundTripAndRejectForeignValues() {
+        ProductCursor cursor = new ProductCursor("Perfume: edição 100% natural", 42L);
+
+        assertEquals(cursor, ProductCursor.decode(cursor.encode()));
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.decode("não é um cursor"));
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.decode("YWJj"));
+    }
+
     @Test
     void findById_shouldReturnProduct_whenProductExists() {
         when(productRepository.findById(anyLong())).thenReturn(Optional.of(product));
@@ -123,6 +248,23 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).findById(anyLong());
     }
 
+    @Test
+    void findById_shouldServeFromCacheUntilProductIsUpdated() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.existsByNameAndTypeAndIdNot(anyString(), anyString(), anyLong())).thenReturn(false);
+        when(productRepository.save(any(Product.class))).thenReturn(product);
+
+        productService.findById(1L);
+        productService.findById(1L);
+        productService.updateProduct(1L, productRequest);
+        var result = productService.findById(1L);
+
+        assertEquals(productRequest.getName(), result.getName());
+        // Uma leitura para as duas primeiras buscas, uma da atualização e uma depois da invalidação
+        verify(productRepository, times(3)).findById(1L);
+        verify(productResponseCache).evictAfterCommit(1L);
+    }
+
     @Test
     void createProduct_shouldCreateProduct_whenProductDoesNotExist() {
         when(productRepository.existsByNameAndType(anyString(), anyString())).thenReturn(false);
@@ -0,0 +1,187 @@
+package br.com.boticario.agp.gestaoprodutos.service;
+
+import br.com.boticario.agp.gestaoprodutos.config.ProductImportProperties;
+import br.com.boticario.agp.gestaoprodutos.dto.ImportValidationReport;
+import br.com.boticario.agp.gestaoprodutos.dto.UploadImportResponse;
+import br.com.boticario.agp.gestaoprodutos.exception.ImportCapacityExceededException;
+import br.com.boticario.agp.gestaoprodutos.exception.ResourceNotFoundException;
+import br.com.boticario.agp.gestaoprodutos.model.ProductImportRun;
+import br.com.boticario.agp.gestaoprodutos.service.JsonFileProcessorService.FileImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadImportServiceTest {
+
+    private static final String SAMPLE_JSON = "[{\"product\":\"Produto Teste\",\"type\":\"Tipo Teste\",\"price\":10.50,\"quantity\":100}]";
+
+    @Mock
+    private JsonFileProcessorService jsonFileProcessorService;
+
+    @Mock
+    private ImportRunService importRunService;
+
+    @Mock
+    private ThreadPoolTaskExecutor uploadExecutor;
+
+    private UploadImportService uploadImportService;
+
+    @BeforeEach
+    void setUp() {
+        uploadImportService = newService(null);
+    }
+
+    private UploadImportService newService(Duration jobRetention) {
+        MultipartProperties multipartProperties = new MultipartProperties();
+        multipartProperties.setMaxFileSize(DataSize.ofBytes(1024));
+        ProductImportProperties properties = new ProductImportProperties(0, false, false, null, null, true, null, null, null, null, null, null,
+                new ProductImportProperties.Upload(1, 1, jobRetention));
+        return new UploadImportService(jsonFileProcessorService, importRunService, uploadExecutor, multipartProperties, properties);
+    }
+
+    @Test
+    void submit_ShouldReturnPendingJobAndTrackItUntilCompletion() throws Exception {
+        // Arrange
+        CompletableFuture<FileImportResult> result = new CompletableFuture<>();
+        ArgumentCaptor<Resource> resourceCaptor = ArgumentCaptor.forClass(Resource.class);
+        when(jsonFileProcessorService.submitUpload(resourceCaptor.capture(), any(), eq(uploadExecutor))).thenReturn(result);
+
+        // Act
+        UploadImportResponse submitted = uploadImportService.submit("../catalogo 1.json", body(SAMPLE_JSON));
+
+        // Assert
+        assertEquals(ProductImportJob.Status.PENDING, submitted.getStatus());
+        assertEquals("catalogo_1.json", submitted.getFileName());
+        assertEquals(SAMPLE_JSON.length(), submitted.getBytesReceived());
+        Path uploaded = resourceCaptor.getValue().getFile().toPath();
+        assertEquals(SAMPLE_JSON, Files.readString(uploaded));
+
+        result.complete(new FileImportResult("data_1.json", OptionalInt.of(1), 1, false, new ImportValidationReport()));
+        UploadImportResponse finished = uploadImportService.getJob(submitted.getId());
+        assertEquals(ProductImportJob.Status.COMPLETED, finished.getStatus());
+        assertFalse(Files.exists(uploaded));
+        verify(importRunService).recordCompleted(eq(ProductImportRun.Trigger.UPLOAD), any(), any());
+    }
+
+    @Test
+    void submit_ShouldReportFailureWhenImportFails() throws Exception {
+        // Arrange
+        when(jsonFileProcessorService.submitUpload(any(), any(), eq(uploadExecutor)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("banco indisponível")));
+
+        // Act
+        UploadImportResponse submitted = uploadImportService.submit("data.json", body(SAMPLE_JSON));
+
+        // Assert
+        UploadImportResponse state = uploadImportService.getJob(submitted.getId());
+        assertEquals(ProductImportJob.Status.FAILED, state.getStatus());
+        assertEquals("banco indisponível", state.getErrorMessage());
+    }
+
+    @Test
+    void submit_ShouldRefuseAndDeleteSpooledFileWhenUploadExecutorIsFull() throws Exception {
+        // Arrange
+        ArgumentCaptor<Resource> resourceCaptor = ArgumentCaptor.forClass(Resource.class);
+        when(jsonFileProcessorService.submitUpload(resourceCaptor.capture(), any(), eq(uploadExecutor)))
+                .thenThrow(new TaskRejectedException("fila cheia"));
+
+        // Act
+        ImportCapacityExceededException refused = assertThrows(ImportCapacityExceededException.class,
+                () -> uploadImportService.submit("data.json", body(SAMPLE_JSON)));
+
+        // Assert
+        assertEquals(UploadImportService.RETRY_AFTER_SECONDS, refused.getRetryAfterSeconds());
+        assertFalse(Files.exists(resourceCaptor.getValue().getFile().toPath().getParent()));
+        verifyNoInteractions(importRunService);
+    }
+
+    @Test
+    void submit_ShouldEvictFinishedJobsAfterRetention() throws Exception {
+        // Arrange
+        uploadImportService = newService(Duration.ofMillis(1));
+        when(jsonFileProcessorService.submitUpload(any(), any(), eq(uploadExecutor)))
+                .thenReturn(CompletableFuture.completedFuture(new FileImportResult("data.json", OptionalInt.of(1), 1, false, new ImportValidationReport())))
+                .thenReturn(new CompletableFuture<>());
+        UploadImportResponse finished = uploadImportService.submit("data.json", body(SAMPLE_JSON));
+        Thread.sleep(20);
+
+        // Act
+        UploadImportResponse running = uploadImportService.submit("data.json", body(SAMPLE_JSON));
+
+        // Assert
+        assertThrows(ResourceNotFoundException.class, () -> uploadImportService.getJob(finished.getId()));
+        assertEquals(ProductImportJob.Status.PENDING, uploadImportService.getJob(running.getId()).getStatus());
+    }
+
+    @Test
+    void submit_ShouldFinishAndEvictJobEvenWhenRunRecordFails() throws Exception {
+        // Arrange
+        uploadImportService = newService(Duration.ofMillis(1));
+        doThrow(new CannotCreateTransactionException("sem conexão disponível"))
+                .when(importRunService).recordCompleted(eq(ProductImportRun.Trigger.UPLOAD), any(), any());
+        when(jsonFileProcessorService.submitUpload(any(), any(), eq(uploadExecutor)))
+                .thenReturn(CompletableFuture.completedFuture(new FileImportResult("data.json", OptionalInt.of(1), 1, false, new ImportValidationReport())))
+                .thenReturn(new CompletableFuture<>());
+
+        // Act
+        UploadImportResponse finished = uploadImportService.submit("data.json", body(SAMPLE_JSON));
+
+        // Assert
+        UploadImportResponse state = uploadImportService.getJob(finished.getId());
+        assertEquals(ProductImportJob.Status.COMPLETED, state.getStatus());
+        assertNotNull(state.getFinishedAt());
+        Thread.sleep(20);
+        uploadImportService.submit("data.json", body(SAMPLE_JSON));
+        assertThrows(ResourceNotFoundException.class, () -> uploadImportService.getJob(finished.getId()));
+    }
+
+    @Test
+    void submit_ShouldRejectEmptyAndOversizedFiles() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> uploadImportService.submit("data.json", body("")));
+        assertThrows(IllegalArgumentException.class, () -> uploadImportService.submit("data.json", body("x".repeat(2048))));
+        verifyNoInteractions(jsonFileProcessorService);
+    }
+
+    @Test
+    void getJob_ShouldThrowWhenJobIsUnknown() {
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> uploadImportService.getJob(UUID.randomUUID()));
+    }
+
+    @Test
+    void sanitizeFileName_ShouldKeepOnlySafeFileName() {
+        // Act & Assert
+        assertEquals("data_1.json", UploadImportService.sanitizeFileName("C:\\temp\\data_1.json"));
+        assertEquals(UploadImportService.DEFAULT_FILE_NAME, UploadImportService.sanitizeFileName(null));
+        assertEquals(UploadImportService.DEFAULT_FILE_NAME, UploadImportService.sanitizeFileName("/tmp/.."));
+    }
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}